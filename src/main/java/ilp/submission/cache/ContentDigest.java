@@ -0,0 +1,67 @@
+package ilp.submission.cache;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Feeds fields into SHA-256 with type and length framing, so different field splits never collide.
+ * The digest depends only on the values fed in, so it is the same in every process.
+ */
+public final class ContentDigest {
+
+    private final MessageDigest digest;
+    private final ByteBuffer scratch = ByteBuffer.allocate(Long.BYTES);
+
+    public ContentDigest() {
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform is required to provide SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public void putBoolean(boolean value) {
+        digest.update((byte) (value ? 1 : 0));
+    }
+
+    public void putFlag(Boolean value) {
+        digest.update((byte) (value == null ? 2 : value ? 1 : 0));
+    }
+
+    public void putInt(int value) {
+        scratch.clear();
+        digest.update(scratch.putInt(value).array(), 0, Integer.BYTES);
+    }
+
+    public void putDouble(double value) {
+        scratch.clear();
+        digest.update(scratch.putLong(Double.doubleToLongBits(value)).array(), 0, Long.BYTES);
+    }
+
+    public void putNullableDouble(Double value) {
+        putBoolean(value != null);
+        if (value != null) {
+            putDouble(value);
+        }
+    }
+
+    public void putString(String value) {
+        if (value == null) {
+            putInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        putInt(bytes.length);
+        digest.update(bytes);
+    }
+
+    /**
+     * Completes the digest; this object must not be used afterwards.
+     */
+    public byte[] finish() {
+        return digest.digest();
+    }
+}
@@ -0,0 +1,42 @@
+package ilp.submission.cache;
+
+import java.util.Arrays;
+
+/**
+ * Version number for a set of reference datasets, for keying results that
+ * were derived from them. The version only moves when the content changes:
+ * the same instances (as served by a cache) are recognised by identity, and
+ * freshly fetched copies are compared with equals.
+ */
+public final class ReferenceDataVersion {
+
+    private Object[] current;
+    private long version;
+
+    /**
+     * Returns the version of the given datasets, advancing it if they differ
+     * from the ones seen last.
+     */
+    public synchronized long of(Object... datasets) {
+        if (current != null && sameInstances(current, datasets)) {
+            return version;
+        }
+        if (current == null || !Arrays.equals(current, datasets)) {
+            version++;
+        }
+        current = datasets.clone();
+        return version;
+    }
+
+    private static boolean sameInstances(Object[] a, Object[] b) {
+        if (a.length != b.length) {
+            return false;
+        }
+        for (int i = 0; i < a.length; i++) {
+            if (a[i] != b[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
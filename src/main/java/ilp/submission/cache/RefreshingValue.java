@@ -0,0 +1,166 @@
+package ilp.submission.cache;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * A single cached value loaded from a slow source.
+ *
+ * - Within the TTL the cached value is returned as is.
+ * - Past the TTL but within the stale window the cached value is still
+ *   returned, and one background refresh is started.
+ * - Past the stale window (or before the first load) the caller loads the
+ *   value itself.
+ *
+ * At most one load runs at a time; concurrent callers that need a value wait
+ * for that load instead of hitting the source again.
+ */
+public class RefreshingValue<T> {
+
+    private final String name;
+    private final Supplier<T> loader;
+    private final long ttlNanos;
+    private final long staleNanos;
+    private final Executor refreshExecutor;
+    private final LongSupplier nanoClock;
+
+    private volatile Entry<T> entry;
+    private final AtomicReference<CompletableFuture<T>> inFlight = new AtomicReference<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder staleHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder refreshFailures = new LongAdder();
+
+    public RefreshingValue(String name, Supplier<T> loader, Duration ttl, Duration staleWindow,
+                           Executor refreshExecutor) {
+        this(name, loader, ttl, staleWindow, refreshExecutor, System::nanoTime);
+    }
+
+    RefreshingValue(String name, Supplier<T> loader, Duration ttl, Duration staleWindow,
+                    Executor refreshExecutor, LongSupplier nanoClock) {
+        if (ttl.isNegative() || staleWindow.isNegative()) {
+            throw new IllegalArgumentException("Cache durations for " + name + " must not be negative");
+        }
+        this.name = name;
+        this.loader = loader;
+        this.ttlNanos = ttl.toNanos();
+        this.staleNanos = staleWindow.toNanos();
+        this.refreshExecutor = refreshExecutor;
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Returns the cached value, refreshing or loading it as described above.
+     * Exceptions from a load done on the caller's behalf are rethrown.
+     */
+    public T get() {
+        Entry<T> current = entry;
+        if (current != null) {
+            long age = nanoClock.getAsLong() - current.loadedAt();
+            if (age < ttlNanos) {
+                hits.increment();
+                return current.value();
+            }
+            if (age < ttlNanos + staleNanos) {
+                staleHits.increment();
+                refreshInBackground();
+                return current.value();
+            }
+        }
+        misses.increment();
+        return load();
+    }
+
+    /**
+     * Drops the cached value so the next call loads it again.
+     */
+    public void invalidate() {
+        entry = null;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    public long staleHitCount() {
+        return staleHits.sum();
+    }
+
+    public long missCount() {
+        return misses.sum();
+    }
+
+    public long refreshFailureCount() {
+        return refreshFailures.sum();
+    }
+
+    private T load() {
+        CompletableFuture<T> flight = new CompletableFuture<>();
+        CompletableFuture<T> existing = inFlight.compareAndExchange(null, flight);
+        if (existing != null) {
+            return join(existing);
+        }
+        run(flight);
+        return join(flight);
+    }
+
+    private void refreshInBackground() {
+        CompletableFuture<T> flight = new CompletableFuture<>();
+        if (!inFlight.compareAndSet(null, flight)) {
+            return;
+        }
+        try {
+            refreshExecutor.execute(() -> {
+                run(flight);
+                if (flight.isCompletedExceptionally()) {
+                    refreshFailures.increment();
+                    System.out.println("WARNING: Background refresh of " + name + " failed, serving cached data");
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            inFlight.compareAndSet(flight, null);
+            flight.completeExceptionally(e);
+        }
+    }
+
+    private void run(CompletableFuture<T> flight) {
+        try {
+            T value = loader.get();
+            entry = new Entry<>(value, nanoClock.getAsLong());
+            flight.complete(value);
+        } catch (Throwable e) {
+            flight.completeExceptionally(e);
+        } finally {
+            inFlight.compareAndSet(flight, null);
+        }
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    private record Entry<T>(T value, long loadedAt) {
+    }
+}
@@ -1,10 +1,28 @@
 package ilp.submission.config;
 
+import ilp.submission.cache.RefreshingValue;
+import ilp.submission.http.GzipDecodingInterceptor;
+import ilp.submission.http.InFlightRequestInterceptor;
+import ilp.submission.service.IlpRestClient;
+import ilp.submission.service.impl.CachingIlpRestClient;
+import ilp.submission.service.impl.IlpRestClientImpl;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
 /**
  * Configuration for ILP service connection.
  */
@@ -14,9 +32,91 @@ public class IlpServiceConfig {
     @Value("${ilp.endpoint:#{systemEnvironment['ILP_ENDPOINT'] ?: 'https://ilp-rest-2025-bvh6e9hschfagrgy.ukwest-01.azurewebsites.net/'}}")
     private String ilpEndpoint;
 
+    @Value("${ilp.cache.drones.ttl:5m}")
+    private Duration dronesTtl;
+
+    @Value("${ilp.cache.service-points.ttl:1h}")
+    private Duration servicePointsTtl;
+
+    @Value("${ilp.cache.restricted-areas.ttl:1h}")
+    private Duration restrictedAreasTtl;
+
+    @Value("${ilp.cache.drone-availability.ttl:5m}")
+    private Duration droneAvailabilityTtl;
+
+    @Value("${ilp.cache.central-area.ttl:1h}")
+    private Duration centralAreaTtl;
+
+    /** How long past its TTL a dataset may still be served while it refreshes. */
+    @Value("${ilp.cache.stale-while-revalidate:10m}")
+    private Duration staleWindow;
+
+    @Value("${ilp.http.connect-timeout:5s}")
+    private Duration connectTimeout;
+
+    @Value("${ilp.http.read-timeout:10s}")
+    private Duration readTimeout;
+
+    @Value("${ilp.http.http2:false}")
+    private boolean http2;
+
+    /**
+     * Shared JDK HttpClient for the ILP upstream. It keeps connections alive
+     * and reuses them across requests; with HTTP/2 enabled requests are
+     * multiplexed over a single connection.
+     * The JDK's HTTP/1.1 connection pool is JVM-wide and has no per-client
+     * settings, so its idle timeout and size are launch flags
+     * (-Djdk.httpclient.keepalive.timeout, -Djdk.httpclient.connectionPoolSize),
+     * not application properties.
+     */
+    @Bean
+    public HttpClient ilpHttpClient() {
+        return HttpClient.newBuilder()
+                .version(http2 ? HttpClient.Version.HTTP_2 : HttpClient.Version.HTTP_1_1)
+                .connectTimeout(connectTimeout)
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+    }
+
+    @Bean
+    public InFlightRequestInterceptor ilpInFlightRequests() {
+        return new InFlightRequestInterceptor();
+    }
+
+    /**
+     * Built from Spring Boot's RestTemplateBuilder so upstream calls are also
+     * timed under /actuator/metrics/http.client.requests.
+     */
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public RestTemplate restTemplate(RestTemplateBuilder builder, HttpClient ilpHttpClient,
+                                     InFlightRequestInterceptor ilpInFlightRequests) {
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(ilpHttpClient);
+        requestFactory.setReadTimeout(readTimeout);
+        return builder
+                .requestFactory(() -> requestFactory)
+                .additionalInterceptors(ilpInFlightRequests, new GzipDecodingInterceptor())
+                .build();
+    }
+
+    /**
+     * Publishes upstream request pressure under /actuator/metrics/ilp.http.client.*
+     * The JDK HttpClient exposes no pool or connection statistics, so these
+     * count requests rather than connections.
+     */
+    @Bean
+    public MeterBinder ilpHttpClientMetrics(InFlightRequestInterceptor ilpInFlightRequests) {
+        return registry -> {
+            Gauge.builder("ilp.http.client.active", ilpInFlightRequests, InFlightRequestInterceptor::activeCount)
+                    .description("Upstream requests waiting on a connection or response")
+                    .register(registry);
+            Gauge.builder("ilp.http.client.active.peak", ilpInFlightRequests, InFlightRequestInterceptor::peakCount)
+                    .description("Most upstream requests in flight at once")
+                    .register(registry);
+            FunctionCounter.builder("ilp.http.client.failures", ilpInFlightRequests,
+                            InFlightRequestInterceptor::failureCount)
+                    .description("Upstream requests that failed with an I/O error or timeout")
+                    .register(registry);
+        };
     }
 
     @Bean
@@ -28,4 +128,66 @@ public class IlpServiceConfig {
         }
         return ilpEndpoint.endsWith("/") ? ilpEndpoint : ilpEndpoint + "/";
     }
+
+    /**
+     * Runs blocking upstream fetches for AsyncIlpRestClient; one virtual
+     * thread per fetch, since they spend their time waiting on the network.
+     */
+    @Bean
+    public ExecutorService ilpFetchExecutor() {
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("ilp-fetch-", 0).factory());
+    }
+
+    /**
+     * Single daemon thread for stale-while-revalidate refreshes.
+     */
+    @Bean
+    public ExecutorService ilpCacheRefreshExecutor() {
+        return Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "ilp-cache-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * The client services are given: reference data comes from memory and is
+     * refreshed from the ILP service per dataset TTL.
+     */
+    @Bean
+    @Primary
+    public CachingIlpRestClient cachingIlpRestClient(IlpRestClientImpl upstream,
+                                                     @Qualifier("ilpCacheRefreshExecutor") ExecutorService refreshExecutor) {
+        CachingIlpRestClient.Ttls ttls = new CachingIlpRestClient.Ttls(
+                dronesTtl, servicePointsTtl, restrictedAreasTtl, droneAvailabilityTtl, centralAreaTtl);
+        return new CachingIlpRestClient(upstream, ttls, staleWindow, refreshExecutor);
+    }
+
+    /**
+     * Publishes reference data cache statistics under /actuator/metrics/cache.*
+     */
+    @Bean
+    public MeterBinder ilpCacheMetrics(CachingIlpRestClient client) {
+        return registry -> {
+            for (RefreshingValue<?> dataset : client.datasets()) {
+                String cache = "ilp." + dataset.getName();
+                FunctionCounter.builder("cache.gets", dataset, RefreshingValue::hitCount)
+                        .tag("cache", cache).tag("result", "hit")
+                        .description("Reference data cache lookups")
+                        .register(registry);
+                FunctionCounter.builder("cache.gets", dataset, RefreshingValue::staleHitCount)
+                        .tag("cache", cache).tag("result", "stale")
+                        .description("Reference data cache lookups")
+                        .register(registry);
+                FunctionCounter.builder("cache.gets", dataset, RefreshingValue::missCount)
+                        .tag("cache", cache).tag("result", "miss")
+                        .description("Reference data cache lookups")
+                        .register(registry);
+                FunctionCounter.builder("cache.refresh.failures", dataset, RefreshingValue::refreshFailureCount)
+                        .tag("cache", cache)
+                        .description("Background refreshes that failed")
+                        .register(registry);
+            }
+        };
+    }
 }
@@ -1,12 +1,16 @@
 package ilp.submission.config;
 
 import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
 
 /**
  * @author AnJiang
@@ -27,10 +31,25 @@ public class JacksonConfig {
         // Don't serialize dates as timestamps
         mapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
 
-        mapper.enable(SerializationFeature.INDENT_OUTPUT);
+        // Compact output by default; see PrettyPrint for the per-request opt-in
+        mapper.disable(SerializationFeature.INDENT_OUTPUT);
 
         mapper.configure(DeserializationFeature.FAIL_ON_NULL_FOR_PRIMITIVES, false);
 
         return mapper;
     }
+
+    /**
+     * JSON converter for controller responses that indents only when the
+     * request asks for it.
+     */
+    @Bean
+    public MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(ObjectMapper objectMapper) {
+        return new MappingJackson2HttpMessageConverter(objectMapper) {
+            @Override
+            protected ObjectWriter customizeWriter(ObjectWriter writer, JavaType javaType, MediaType contentType) {
+                return PrettyPrint.requested() ? writer.withDefaultPrettyPrinter() : writer;
+            }
+        };
+    }
 }
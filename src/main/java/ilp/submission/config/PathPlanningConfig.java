@@ -0,0 +1,130 @@
+package ilp.submission.config;
+
+import ilp.submission.pathfinding.LegCache;
+import ilp.submission.pathfinding.PlanCache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Configuration for path planning caches, the planning thread pool and their
+ * actuator metrics.
+ */
+@Configuration
+public class PathPlanningConfig {
+
+    @Value("${ilp.path.leg-cache.max-legs:4096}")
+    private int legCacheMaxLegs;
+
+    @Value("${ilp.path.leg-cache.max-points:1000000}")
+    private long legCacheMaxPoints;
+
+    @Value("${ilp.path.plan-cache.max-plans:256}")
+    private int planCacheMaxPlans;
+
+    @Value("${ilp.path.plan-cache.max-points:2000000}")
+    private long planCacheMaxPoints;
+
+    /** Planner threads; 0 means one per available processor, 1 plans serially. */
+    @Value("${ilp.path.planning.threads:0}")
+    private int planningThreads;
+
+    @Bean
+    public LegCache legCache() {
+        return new LegCache(legCacheMaxLegs, legCacheMaxPoints);
+    }
+
+    @Bean
+    public PlanCache planCache() {
+        return new PlanCache(planCacheMaxPlans, planCacheMaxPoints);
+    }
+
+    /**
+     * Publishes plan cache statistics under /actuator/metrics/cache.*
+     */
+    @Bean
+    public MeterBinder planCacheMetrics(PlanCache planCache) {
+        return registry -> {
+            FunctionCounter.builder("cache.gets", planCache, PlanCache::hitCount)
+                    .tag("cache", "deliveryPlans").tag("result", "hit")
+                    .description("Plan cache lookups")
+                    .register(registry);
+            FunctionCounter.builder("cache.gets", planCache, PlanCache::missCount)
+                    .tag("cache", "deliveryPlans").tag("result", "miss")
+                    .description("Plan cache lookups")
+                    .register(registry);
+            FunctionCounter.builder("cache.evictions", planCache, PlanCache::evictionCount)
+                    .tag("cache", "deliveryPlans")
+                    .description("Plans evicted from the cache")
+                    .register(registry);
+            Gauge.builder("cache.size", planCache, PlanCache::size)
+                    .tag("cache", "deliveryPlans")
+                    .description("Number of cached plans")
+                    .register(registry);
+            Gauge.builder("cache.weight", planCache, PlanCache::pointCount)
+                    .tag("cache", "deliveryPlans")
+                    .description("Total path points held by the plan cache")
+                    .register(registry);
+        };
+    }
+
+    /**
+     * Publishes leg cache statistics under /actuator/metrics/cache.*
+     */
+    @Bean
+    public MeterBinder legCacheMetrics(LegCache legCache) {
+        return registry -> {
+            FunctionCounter.builder("cache.gets", legCache, LegCache::hitCount)
+                    .tag("cache", "pathLegs").tag("result", "hit")
+                    .description("Leg cache lookups")
+                    .register(registry);
+            FunctionCounter.builder("cache.gets", legCache, LegCache::missCount)
+                    .tag("cache", "pathLegs").tag("result", "miss")
+                    .description("Leg cache lookups")
+                    .register(registry);
+            FunctionCounter.builder("cache.evictions", legCache, LegCache::evictionCount)
+                    .tag("cache", "pathLegs")
+                    .description("Legs evicted from the cache")
+                    .register(registry);
+            Gauge.builder("cache.size", legCache, LegCache::size)
+                    .tag("cache", "pathLegs")
+                    .description("Number of cached legs")
+                    .register(registry);
+            Gauge.builder("cache.weight", legCache, LegCache::pointCount)
+                    .tag("cache", "pathLegs")
+                    .description("Total path points held by the leg cache")
+                    .register(registry);
+        };
+    }
+
+    /**
+     * Bounded pool that plans each drone's flight independently. With a
+     * single thread configured, planning runs on the request thread.
+     */
+    @Bean(name = "pathPlanningExecutor")
+    public Executor pathPlanningExecutor() {
+        return planningExecutor(planningThreads);
+    }
+
+    public static Executor planningExecutor(int threads) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        if (poolSize == 1) {
+            return Runnable::run;
+        }
+        AtomicInteger counter = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, "path-planner-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        return Executors.newFixedThreadPool(poolSize, threadFactory);
+    }
+}
@@ -0,0 +1,55 @@
+package ilp.submission.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/**
+ * JSON responses are compact by default. A client can ask for indented
+ * output with either:
+ * - the query parameter {@code ?pretty} or {@code ?pretty=true}, or
+ * - an Accept parameter, e.g. {@code Accept: application/json;pretty=true}.
+ */
+public final class PrettyPrint {
+
+    public static final String PARAMETER = "pretty";
+
+    private PrettyPrint() {
+    }
+
+    /**
+     * Whether the request being handled on this thread asked for pretty output.
+     */
+    public static boolean requested() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes instanceof ServletRequestAttributes servletAttributes) {
+            return requested(servletAttributes.getRequest());
+        }
+        return false;
+    }
+
+    public static boolean requested(HttpServletRequest request) {
+        String parameter = request.getParameter(PARAMETER);
+        if (parameter != null) {
+            return parameter.isEmpty() || Boolean.parseBoolean(parameter);
+        }
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        if (accept == null || !accept.contains(PARAMETER)) {
+            return false;
+        }
+        try {
+            for (MediaType mediaType : MediaType.parseMediaTypes(accept)) {
+                if (Boolean.parseBoolean(mediaType.getParameter(PARAMETER))) {
+                    return true;
+                }
+            }
+        } catch (InvalidMediaTypeException e) {
+            // Content negotiation reports a bad Accept header; it just isn't a pretty-print request
+        }
+        return false;
+    }
+}
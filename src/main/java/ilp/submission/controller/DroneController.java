@@ -1,12 +1,25 @@
 package ilp.submission.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import ilp.submission.config.PrettyPrint;
+import ilp.submission.geojson.GeoJsonWriter;
 import ilp.submission.model.*;
 import ilp.submission.service.DroneAvailabilityService;
 import ilp.submission.service.DroneQueryService;
 import ilp.submission.service.PathCalculationService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 //REST controller for drone-related endpoints (CW2).
@@ -17,13 +30,16 @@ public class DroneController {
     private final DroneQueryService queryService;
     private final DroneAvailabilityService availabilityService;
     private final PathCalculationService pathService;
+    private final ObjectMapper objectMapper;
 
     public DroneController(DroneQueryService queryService,
                            DroneAvailabilityService availabilityService,
-                           PathCalculationService pathService) {
+                           PathCalculationService pathService,
+                           ObjectMapper objectMapper) {
         this.queryService = queryService;
         this.availabilityService = availabilityService;
         this.pathService = pathService;
+        this.objectMapper = objectMapper;
     }
 
 
@@ -34,10 +50,14 @@ public class DroneController {
     }
 
 
+    /**
+     * Tagged with the drone list version; Spring answers a matching
+     * If-None-Match with 304 Not Modified before the body is written.
+     */
     @GetMapping("/droneDetails/{id}")
     public ResponseEntity<Drone> getDroneDetails(@PathVariable String id) {
-        return queryService.findDroneById(id)
-                .map(ResponseEntity::ok)
+        return queryService.findVersionedDroneById(id)
+                .map(found -> ResponseEntity.ok().eTag(found.version()).body(found.drone()))
                 .orElse(ResponseEntity.notFound().build());
     }
 
@@ -83,19 +103,109 @@ public class DroneController {
         }
     }
 
+    /**
+     * The calcDeliveryPath result with every path delta-encoded (see
+     * CompactDeliveryPathResult): JSON with base64 steps by default, or the
+     * binary form when the client accepts application/octet-stream.
+     */
+    @PostMapping(value = "/calcDeliveryPathCompact",
+            produces = {MediaType.APPLICATION_JSON_VALUE, CompactDeliveryPathResult.MEDIA_TYPE})
+    public void calcDeliveryPathCompact(
+            @RequestBody List<MedDispatchRec> dispatches,
+            HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        if (dispatches == null || dispatches.isEmpty()) {
+            response.setStatus(HttpStatus.BAD_REQUEST.value());
+            return;
+        }
+        DeliveryPathResult result;
+        try {
+            result = pathService.calculateDeliveryPaths(dispatches);
+        } catch (Exception e) {
+            // Return empty result on error
+            result = new DeliveryPathResult(0, 0, List.of());
+        }
+        CompactDeliveryPathResult compact = CompactDeliveryPathResult.encode(result);
+        if (acceptsBinary(request)) {
+            response.setContentType(CompactDeliveryPathResult.MEDIA_TYPE);
+            compact.writeTo(response.getOutputStream());
+            return;
+        }
+        ObjectWriter writer = objectMapper.writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        if (PrettyPrint.requested(request)) {
+            writer = writer.withDefaultPrettyPrinter();
+        }
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        writer.writeValue(response.getOutputStream(), compact);
+    }
+
+    private static boolean acceptsBinary(HttpServletRequest request) {
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        if (accept == null) {
+            return false;
+        }
+        MediaType binary = MediaType.parseMediaType(CompactDeliveryPathResult.MEDIA_TYPE);
+        // An explicit binary type wins over JSON; wildcards alone keep the JSON default
+        return MediaType.parseMediaTypes(accept).stream()
+                .anyMatch(mediaType -> !mediaType.isWildcardType() && !mediaType.isWildcardSubtype()
+                        && mediaType.isCompatibleWith(binary));
+    }
+
   
     @PostMapping(value = "/calcDeliveryPathAsGeoJson", produces = "application/json")
-    public ResponseEntity<String> calcDeliveryPathAsGeoJson(
-            @RequestBody List<MedDispatchRec> dispatches) {
+    public void calcDeliveryPathAsGeoJson(
+            @RequestBody List<MedDispatchRec> dispatches,
+            HttpServletResponse response) throws IOException {
         if (dispatches == null || dispatches.isEmpty()) {
-            return ResponseEntity.badRequest().build();
+            response.setStatus(HttpStatus.BAD_REQUEST.value());
+            return;
         }
+        DeliveryPathResult result;
         try {
-            String geoJson = pathService.generateGeoJson(dispatches);
-            return ResponseEntity.ok(geoJson);
+            result = pathService.calculateDeliveryPaths(dispatches);
         } catch (Exception e) {
             // Return empty GeoJSON on error
-            return ResponseEntity.ok("{\"type\":\"FeatureCollection\",\"features\":[]}");
+            result = new DeliveryPathResult(0, 0, List.of());
+        }
+        // Planning is done before the first byte, so errors above still get a clean response
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        GeoJsonWriter.write(result, response.getOutputStream());
+    }
+
+    /**
+     * Both representations of one plan in a single response:
+     * {"deliveryPaths": <calcDeliveryPath result>, "geoJson": <FeatureCollection>}.
+     */
+    @PostMapping(value = "/calcDeliveryPathWithGeoJson", produces = "application/json")
+    public void calcDeliveryPathWithGeoJson(
+            @RequestBody List<MedDispatchRec> dispatches,
+            HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        if (dispatches == null || dispatches.isEmpty()) {
+            response.setStatus(HttpStatus.BAD_REQUEST.value());
+            return;
+        }
+        DeliveryPathResult result;
+        try {
+            result = pathService.calculateDeliveryPaths(dispatches);
+        } catch (Exception e) {
+            // Return empty result on error
+            result = new DeliveryPathResult(0, 0, List.of());
+        }
+        ObjectWriter writer = objectMapper.writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        if (PrettyPrint.requested(request)) {
+            writer = writer.withDefaultPrettyPrinter();
         }
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        OutputStream out = response.getOutputStream();
+        out.write("{\"deliveryPaths\":".getBytes(StandardCharsets.UTF_8));
+        writer.writeValue(out, result);
+        out.write(",\"geoJson\":".getBytes(StandardCharsets.UTF_8));
+        GeoJsonWriter.write(result, out);
+        out.write('}');
+        out.flush();
     }
 }
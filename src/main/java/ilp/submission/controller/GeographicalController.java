@@ -1,21 +1,45 @@
 package ilp.submission.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import ilp.submission.config.PrettyPrint;
 import ilp.submission.dto.CloseToRequest;
 import ilp.submission.dto.DistanceRequest;
 import ilp.submission.dto.NextPositionRequest;
+import ilp.submission.dto.RegionBatchRequest;
 import ilp.submission.dto.RegionRequest;
+import ilp.submission.dto.RegionsBatchRequest;
 import ilp.submission.model.LngLat;
 import ilp.submission.service.GeographicalService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
 @RestController
 @RequestMapping("/api/v1")
 public class GeographicalController {
+    // Batch elements read, validated and computed together
+    private static final int BATCH_CHUNK = 1024;
+
     private final GeographicalService geographicalService;
+    private final ObjectMapper objectMapper;
 
-    public GeographicalController(GeographicalService geographicalService) {
+    public GeographicalController(GeographicalService geographicalService, ObjectMapper objectMapper) {
         this.geographicalService = geographicalService;
+        this.objectMapper = objectMapper;
     }
 
     @GetMapping("/uid")
@@ -62,4 +86,198 @@ public class GeographicalController {
         );
         return ResponseEntity.ok(inRegion);
     }
+
+    /**
+     * Many points against one region: result[i] is for positions[i].
+     */
+    @PostMapping("/isInRegionBatch")
+    public ResponseEntity<boolean[]> isInRegionBatch(@RequestBody RegionBatchRequest request) {
+        request.validate();
+        boolean[] inRegion = geographicalService.isInRegion(
+                request.getPositions(),
+                request.getRegion()
+        );
+        return ResponseEntity.ok(inRegion);
+    }
+
+    /**
+     * Many points against many regions: result[r][i] is for regions[r] and positions[i].
+     */
+    @PostMapping("/isInRegionsBatch")
+    public ResponseEntity<boolean[][]> isInRegionsBatch(@RequestBody RegionsBatchRequest request) {
+        request.validate();
+        boolean[][] inRegions = geographicalService.isInRegions(
+                request.getPositions(),
+                request.getRegions()
+        );
+        return ResponseEntity.ok(inRegions);
+    }
+
+    /**
+     * distanceTo for a JSON array of distanceTo requests; returns the
+     * distances as a number array in the same order.
+     */
+    @PostMapping("/distanceToBatch")
+    public void distanceToBatch(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        streamBatch(request, response, DistanceRequest.class, DistanceRequest::validate, (chunk, json) -> {
+            PairColumns pairs = new PairColumns(chunk, DistanceRequest::getPosition1, DistanceRequest::getPosition2);
+            for (double distance : geographicalService.calculateDistances(
+                    pairs.fromLngs, pairs.fromLats, pairs.toLngs, pairs.toLats)) {
+                json.writeNumber(distance);
+            }
+        });
+    }
+
+    /**
+     * isCloseTo for a JSON array of isCloseTo requests; returns a boolean array.
+     */
+    @PostMapping("/isCloseToBatch")
+    public void isCloseToBatch(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        streamBatch(request, response, CloseToRequest.class, CloseToRequest::validate, (chunk, json) -> {
+            PairColumns pairs = new PairColumns(chunk, CloseToRequest::getPosition1, CloseToRequest::getPosition2);
+            for (boolean close : geographicalService.areCloseTo(
+                    pairs.fromLngs, pairs.fromLats, pairs.toLngs, pairs.toLats)) {
+                json.writeBoolean(close);
+            }
+        });
+    }
+
+    /**
+     * nextPosition for a JSON array of nextPosition requests; returns one
+     * [lng, lat] pair per request.
+     */
+    @PostMapping("/nextPositionBatch")
+    public void nextPositionBatch(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        streamBatch(request, response, NextPositionRequest.class, NextPositionRequest::validate, (chunk, json) -> {
+            double[] lngs = new double[chunk.size()];
+            double[] lats = new double[chunk.size()];
+            double[] angles = new double[chunk.size()];
+            for (int i = 0; i < chunk.size(); i++) {
+                NextPositionRequest element = chunk.get(i);
+                lngs[i] = element.getStart().lng();
+                lats[i] = element.getStart().lat();
+                angles[i] = element.getAngle();
+            }
+            double[] next = geographicalService.calculateNextPositions(lngs, lats, angles);
+            for (int i = 0; i < next.length; i += 2) {
+                json.writeArray(next, i, 2);
+            }
+        });
+    }
+
+    /**
+     * Answers a JSON array request body with a JSON array, BATCH_CHUNK elements
+     * at a time: each chunk is read, validated, computed and appended to the
+     * response before the next is read, so memory does not grow with the batch.
+     * A body that is not exactly one JSON array, or an invalid element, gets a
+     * 400 whose message is prefixed with the element's index. The 400 is clean
+     * while no output has been committed, which always holds within the first
+     * chunk; after that the status has been sent, and the response ends early
+     * without closing the array.
+     */
+    private <T> void streamBatch(HttpServletRequest request, HttpServletResponse response, Class<T> type,
+                                 Consumer<T> validator, ChunkWriter<T> writer) throws IOException {
+        ObjectReader reader = objectMapper.readerFor(type);
+        List<T> chunk = new ArrayList<>(BATCH_CHUNK);
+        JsonGenerator json = null;
+        int index = 0;
+        try (JsonParser parser = objectMapper.getFactory().createParser(request.getInputStream())) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IllegalArgumentException("Request body must be a JSON array");
+            }
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                T element = reader.readValue(parser);
+                if (element == null) {
+                    throw new IllegalArgumentException("[" + index + "] cannot be null");
+                }
+                try {
+                    validator.accept(element);
+                } catch (IllegalArgumentException e) {
+                    throw new IllegalArgumentException("[" + index + "] " + e.getMessage(), e);
+                }
+                chunk.add(element);
+                index++;
+                if (chunk.size() == BATCH_CHUNK) {
+                    if (json == null) {
+                        json = startArray(request, response);
+                    }
+                    writer.write(chunk, json);
+                    json.flush();
+                    chunk.clear();
+                }
+            }
+            if (parser.nextToken() != null) {
+                throw new IllegalArgumentException("Request body must be a single JSON array");
+            }
+        } catch (JsonProcessingException e) {
+            throw discardOutput(response,
+                    new IllegalArgumentException("Invalid request body at [" + index + "]: " + e.getOriginalMessage(), e));
+        } catch (IllegalArgumentException e) {
+            throw discardOutput(response, e);
+        }
+
+        if (json == null) {
+            json = startArray(request, response);
+        }
+        try (JsonGenerator output = json) {
+            writer.write(chunk, output);
+            output.writeEndArray();
+        }
+    }
+
+    /**
+     * Drops buffered output so the error handler can still answer; once the
+     * response is committed that is no longer possible.
+     */
+    private static IllegalArgumentException discardOutput(HttpServletResponse response, IllegalArgumentException e) {
+        if (!response.isCommitted()) {
+            response.reset();
+        }
+        return e;
+    }
+
+    private JsonGenerator startArray(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        JsonGenerator json = objectMapper.getFactory().createGenerator(response.getOutputStream());
+        if (PrettyPrint.requested(request)) {
+            json.useDefaultPrettyPrinter();
+        }
+        json.writeStartArray();
+        return json;
+    }
+
+    /**
+     * Computes one chunk of a batch and writes its results as array elements.
+     */
+    @FunctionalInterface
+    private interface ChunkWriter<T> {
+        void write(List<T> chunk, JsonGenerator json) throws IOException;
+    }
+
+    /**
+     * One chunk's pairs of positions unboxed into four primitive columns.
+     */
+    private static final class PairColumns {
+        final double[] fromLngs;
+        final double[] fromLats;
+        final double[] toLngs;
+        final double[] toLats;
+
+        <T> PairColumns(List<T> chunk, Function<T, LngLat> from, Function<T, LngLat> to) {
+            int size = chunk.size();
+            fromLngs = new double[size];
+            fromLats = new double[size];
+            toLngs = new double[size];
+            toLats = new double[size];
+            for (int i = 0; i < size; i++) {
+                LngLat start = from.apply(chunk.get(i));
+                LngLat end = to.apply(chunk.get(i));
+                fromLngs[i] = start.lng();
+                fromLats[i] = start.lat();
+                toLngs[i] = end.lng();
+                toLats[i] = end.lat();
+            }
+        }
+    }
 }
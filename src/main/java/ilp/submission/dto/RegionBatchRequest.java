@@ -0,0 +1,65 @@
+package ilp.submission.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import ilp.submission.model.LngLat;
+import ilp.submission.model.Region;
+
+import java.util.List;
+
+public class RegionBatchRequest {
+    @JsonProperty("positions")
+    private List<LngLat> positions;
+
+    @JsonProperty("region")
+    private Region region;
+
+    public RegionBatchRequest() {
+    }
+
+    public RegionBatchRequest(List<LngLat> positions, Region region) {
+        this.positions = positions;
+        this.region = region;
+    }
+
+    public List<LngLat> getPositions() {
+        return positions;
+    }
+
+    public void setPositions(List<LngLat> positions) {
+        this.positions = positions;
+    }
+
+    public Region getRegion() {
+        return region;
+    }
+
+    public void setRegion(Region region) {
+        this.region = region;
+    }
+
+    public void validate() {
+        validatePositions(positions);
+        validateRegion(region, "region");
+    }
+
+    static void validatePositions(List<LngLat> positions) {
+        if (positions == null) {
+            throw new IllegalArgumentException("positions cannot be null");
+        }
+        for (int i = 0; i < positions.size(); i++) {
+            if (positions.get(i) == null) {
+                throw new IllegalArgumentException("positions[" + i + "] cannot be null");
+            }
+        }
+    }
+
+    static void validateRegion(Region region, String name) {
+        if (region == null) {
+            throw new IllegalArgumentException(name + " cannot be null");
+        }
+        if (!region.isValid()) {
+            throw new IllegalArgumentException(
+                    name + " must be a valid closed polygon with at least 4 vertices");
+        }
+    }
+}
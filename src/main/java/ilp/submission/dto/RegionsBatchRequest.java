@@ -0,0 +1,49 @@
+package ilp.submission.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import ilp.submission.model.LngLat;
+import ilp.submission.model.Region;
+
+import java.util.List;
+
+public class RegionsBatchRequest {
+    @JsonProperty("positions")
+    private List<LngLat> positions;
+
+    @JsonProperty("regions")
+    private List<Region> regions;
+
+    public RegionsBatchRequest() {
+    }
+
+    public RegionsBatchRequest(List<LngLat> positions, List<Region> regions) {
+        this.positions = positions;
+        this.regions = regions;
+    }
+
+    public List<LngLat> getPositions() {
+        return positions;
+    }
+
+    public void setPositions(List<LngLat> positions) {
+        this.positions = positions;
+    }
+
+    public List<Region> getRegions() {
+        return regions;
+    }
+
+    public void setRegions(List<Region> regions) {
+        this.regions = regions;
+    }
+
+    public void validate() {
+        RegionBatchRequest.validatePositions(positions);
+        if (regions == null) {
+            throw new IllegalArgumentException("regions cannot be null");
+        }
+        for (int i = 0; i < regions.size(); i++) {
+            RegionBatchRequest.validateRegion(regions.get(i), "regions[" + i + "]");
+        }
+    }
+}
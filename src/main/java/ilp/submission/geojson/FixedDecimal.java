@@ -0,0 +1,89 @@
+package ilp.submission.geojson;
+
+import java.util.Locale;
+
+/**
+ * Formats doubles with a fixed number of decimal places, producing the same
+ * text as {@code String.format(Locale.ROOT, "%.6f", value)} without the
+ * parsing and allocation of a Formatter.
+ *
+ * Values below 1e4 in magnitude, which covers every coordinate, are scaled
+ * and rounded in binary, and only those that land too close to a rounding
+ * tie to decide that way fall back to String.format. Larger values always
+ * fall back: the error of value * SCALE grows past TIE_MARGIN, and Formatter
+ * rounds the shortest decimal form of the value rather than the exact
+ * double, so binary rounding can no longer reproduce it.
+ */
+public final class FixedDecimal {
+
+    /** Decimal places written by {@link #format}. */
+    public static final int DECIMALS = 6;
+
+    /** Longest output (-Double.MAX_VALUE): sign, 309 integer digits, point and decimals. */
+    public static final int MAX_LENGTH = 1 + 309 + 1 + DECIMALS;
+
+    private static final double SCALE = 1_000_000.0;
+    private static final long SCALE_LONG = 1_000_000L;
+    // Below this, scaled values stay under 1e10, where rounding error is within TIE_MARGIN
+    private static final double MAX_MAGNITUDE = 1e4;
+    // Above the error of value * SCALE and of the shortest decimal form, far below one unit of the last decimal
+    private static final double TIE_MARGIN = 1e-6;
+
+    private FixedDecimal() {
+    }
+
+    /**
+     * Writes the value into dest at pos; dest needs MAX_LENGTH free characters.
+     *
+     * @return the position after the last character written
+     */
+    public static int format(double value, char[] dest, int pos) {
+        double magnitude = Math.abs(value);
+        if (!(magnitude < MAX_MAGNITUDE)) {
+            // NaN, infinities and values too large to round in binary
+            return fallback(value, dest, pos);
+        }
+        double scaled = magnitude * SCALE;
+        long whole = (long) scaled;
+        double fraction = scaled - whole;
+        if (Math.abs(fraction - 0.5) < TIE_MARGIN) {
+            return fallback(value, dest, pos);
+        }
+        long units = fraction > 0.5 ? whole + 1 : whole;
+
+        // Negative values (including -0.0) keep their sign, as %f does
+        if (Double.doubleToRawLongBits(value) < 0) {
+            dest[pos++] = '-';
+        }
+        pos = writeLong(units / SCALE_LONG, dest, pos);
+        dest[pos++] = '.';
+        long decimals = units % SCALE_LONG;
+        for (int i = pos + DECIMALS - 1; i >= pos; i--) {
+            dest[i] = (char) ('0' + decimals % 10);
+            decimals /= 10;
+        }
+        return pos + DECIMALS;
+    }
+
+    private static int writeLong(long value, char[] dest, int pos) {
+        if (value == 0) {
+            dest[pos] = '0';
+            return pos + 1;
+        }
+        int digits = 0;
+        for (long v = value; v > 0; v /= 10) {
+            digits++;
+        }
+        for (int i = pos + digits - 1; i >= pos; i--) {
+            dest[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+        return pos + digits;
+    }
+
+    private static int fallback(double value, char[] dest, int pos) {
+        String text = String.format(Locale.ROOT, "%.6f", value);
+        text.getChars(0, text.length(), dest, pos);
+        return pos + text.length();
+    }
+}
@@ -0,0 +1,145 @@
+package ilp.submission.geojson;
+
+import ilp.submission.model.DeliveryPathResult;
+import ilp.submission.model.LngLat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Writes delivery paths as a GeoJSON FeatureCollection with one LineString
+ * per drone. Output goes through a fixed-size buffer straight to the target
+ * stream, so memory use does not grow with the length of the paths.
+ */
+public final class GeoJsonWriter {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private final Writer out;
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private int pos;
+
+    private GeoJsonWriter(Writer out) {
+        this.out = out;
+    }
+
+    /**
+     * Writes the result as UTF-8 to the stream and flushes it. The stream is
+     * left open.
+     */
+    public static void write(DeliveryPathResult result, OutputStream out) throws IOException {
+        Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+        write(result, writer);
+    }
+
+    /**
+     * Writes the result to the writer and flushes it. The writer is left open.
+     */
+    public static void write(DeliveryPathResult result, Writer out) throws IOException {
+        GeoJsonWriter writer = new GeoJsonWriter(out);
+        writer.featureCollection(result);
+        writer.flushBuffer();
+        out.flush();
+    }
+
+    /**
+     * Returns the result as a GeoJSON string.
+     */
+    public static String toString(DeliveryPathResult result) {
+        StringWriter text = new StringWriter();
+        try {
+            write(result, text);
+        } catch (IOException e) {
+            // StringWriter does not throw
+            throw new IllegalStateException(e);
+        }
+        return text.toString();
+    }
+
+    private void featureCollection(DeliveryPathResult result) throws IOException {
+        raw("{\"type\":\"FeatureCollection\",\"features\":[");
+
+        boolean firstFeature = true;
+        for (DeliveryPathResult.DronePathInfo dronePath : result.getDronePaths()) {
+            List<LngLat> path = dronePath.getPath();
+            if (path == null || path.isEmpty()) {
+                continue;
+            }
+
+            if (!firstFeature) {
+                raw(",");
+            }
+            firstFeature = false;
+
+            raw("{\"type\":\"Feature\",\"geometry\":{\"type\":\"LineString\",\"coordinates\":[");
+            for (int i = 0; i < path.size(); i++) {
+                if (i > 0) {
+                    raw(",");
+                }
+                coordinate(path.get(i));
+            }
+            raw("]},\"properties\":{\"droneId\":");
+            string(dronePath.getDroneId() != null ? dronePath.getDroneId() : "1");
+            raw("}}");
+        }
+
+        raw("]}");
+    }
+
+    private void coordinate(LngLat point) throws IOException {
+        ensureCapacity(2 * FixedDecimal.MAX_LENGTH + 3);
+        buffer[pos++] = '[';
+        pos = FixedDecimal.format(point.lng(), buffer, pos);
+        buffer[pos++] = ',';
+        pos = FixedDecimal.format(point.lat(), buffer, pos);
+        buffer[pos++] = ']';
+    }
+
+    private void string(String value) throws IOException {
+        raw("\"");
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                ensureCapacity(2);
+                buffer[pos++] = '\\';
+                buffer[pos++] = c;
+            } else if (c < 0x20) {
+                raw(String.format("\\u%04x", (int) c));
+            } else {
+                ensureCapacity(1);
+                buffer[pos++] = c;
+            }
+        }
+        raw("\"");
+    }
+
+    private void raw(String text) throws IOException {
+        int length = text.length();
+        if (length > BUFFER_SIZE) {
+            flushBuffer();
+            out.write(text);
+            return;
+        }
+        ensureCapacity(length);
+        text.getChars(0, length, buffer, pos);
+        pos += length;
+    }
+
+    private void ensureCapacity(int length) throws IOException {
+        if (pos + length > BUFFER_SIZE) {
+            flushBuffer();
+        }
+    }
+
+    private void flushBuffer() throws IOException {
+        if (pos > 0) {
+            out.write(buffer, 0, pos);
+            pos = 0;
+        }
+    }
+}
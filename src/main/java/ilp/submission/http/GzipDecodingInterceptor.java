@@ -0,0 +1,88 @@
+package ilp.submission.http;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PushbackInputStream;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Asks the upstream for gzip and inflates gzip responses. The JDK HttpClient
+ * does neither on its own.
+ */
+public class GzipDecodingInterceptor implements ClientHttpRequestInterceptor {
+
+    private static final String GZIP = "gzip";
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        if (!request.getHeaders().containsKey(HttpHeaders.ACCEPT_ENCODING)) {
+            request.getHeaders().set(HttpHeaders.ACCEPT_ENCODING, GZIP);
+        }
+        ClientHttpResponse response = execution.execute(request, body);
+        String encoding = response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING);
+        if (encoding == null || !encoding.trim().equalsIgnoreCase(GZIP)) {
+            return response;
+        }
+        return new GzipResponse(response);
+    }
+
+    private static final class GzipResponse implements ClientHttpResponse {
+
+        private final ClientHttpResponse delegate;
+        private final HttpHeaders headers;
+        private InputStream body;
+
+        GzipResponse(ClientHttpResponse delegate) {
+            this.delegate = delegate;
+            // The body handed on is the decoded one
+            this.headers = new HttpHeaders();
+            this.headers.putAll(delegate.getHeaders());
+            this.headers.remove(HttpHeaders.CONTENT_ENCODING);
+            this.headers.remove(HttpHeaders.CONTENT_LENGTH);
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() throws IOException {
+            return delegate.getStatusCode();
+        }
+
+        @Override
+        public String getStatusText() throws IOException {
+            return delegate.getStatusText();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            if (body == null) {
+                // An empty body (e.g. 204) carries no gzip header to read
+                PushbackInputStream raw = new PushbackInputStream(delegate.getBody(), 1);
+                int first = raw.read();
+                if (first == -1) {
+                    body = InputStream.nullInputStream();
+                } else {
+                    raw.unread(first);
+                    body = new GZIPInputStream(raw);
+                }
+            }
+            return body;
+        }
+
+        @Override
+        public void close() {
+            delegate.close();
+        }
+    }
+}
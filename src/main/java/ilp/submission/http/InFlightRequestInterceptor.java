@@ -0,0 +1,47 @@
+package ilp.submission.http;
+
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Tracks upstream requests that are waiting on a connection or a response,
+ * and the peak seen, so pool pressure is visible in metrics.
+ */
+public class InFlightRequestInterceptor implements ClientHttpRequestInterceptor {
+
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicInteger peak = new AtomicInteger();
+    private final LongAdder failures = new LongAdder();
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        peak.accumulateAndGet(active.incrementAndGet(), Math::max);
+        try {
+            return execution.execute(request, body);
+        } catch (IOException | RuntimeException e) {
+            failures.increment();
+            throw e;
+        } finally {
+            active.decrementAndGet();
+        }
+    }
+
+    public int activeCount() {
+        return active.get();
+    }
+
+    public int peakCount() {
+        return peak.get();
+    }
+
+    public long failureCount() {
+        return failures.sum();
+    }
+}
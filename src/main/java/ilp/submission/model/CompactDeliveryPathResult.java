@@ -0,0 +1,337 @@
+package ilp.submission.model;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A DeliveryPathResult with every path delta-encoded as a CompactPath.
+ * A delivery's flight path is a slice of its drone's path, so it is sent as
+ * the index range [from, to) of that path. Only a flight path that is not a
+ * slice is encoded on its own.
+ *
+ * Served as JSON, or as the binary form from writeTo/readFrom under
+ * MEDIA_TYPE.
+ */
+public class CompactDeliveryPathResult {
+
+    public static final String MEDIA_TYPE = "application/octet-stream";
+
+    private static final int BINARY_VERSION = 1;
+
+    @JsonProperty("totalCost")
+    private final double totalCost;
+
+    @JsonProperty("totalMoves")
+    private final int totalMoves;
+
+    @JsonProperty("dronePaths")
+    private final List<DronePath> dronePaths;
+
+    @JsonCreator
+    public CompactDeliveryPathResult(
+            @JsonProperty("totalCost") double totalCost,
+            @JsonProperty("totalMoves") int totalMoves,
+            @JsonProperty("dronePaths") List<DronePath> dronePaths
+    ) {
+        this.totalCost = totalCost;
+        this.totalMoves = totalMoves;
+        this.dronePaths = dronePaths != null ? List.copyOf(dronePaths) : List.of();
+    }
+
+    public static CompactDeliveryPathResult encode(DeliveryPathResult result) {
+        List<DronePath> dronePaths = new ArrayList<>();
+        for (DeliveryPathResult.DronePathInfo info : result.getDronePaths()) {
+            List<LngLat> path = info.getPath();
+            List<Delivery> deliveries = new ArrayList<>();
+            int searchFrom = 0;
+            for (DeliveryPathResult.DeliveryInfo delivery : info.getDeliveries()) {
+                List<LngLat> flightPath = delivery.getFlightPath();
+                int from = indexOfSlice(path, flightPath, searchFrom);
+                if (from < 0) {
+                    deliveries.add(new Delivery(delivery.getDeliveryId(), -1, -1, CompactPath.encode(flightPath)));
+                } else {
+                    deliveries.add(new Delivery(delivery.getDeliveryId(), from, from + flightPath.size(), null));
+                    searchFrom = from;
+                }
+            }
+            dronePaths.add(new DronePath(info.getDroneId(), CompactPath.encode(path), deliveries));
+        }
+        return new CompactDeliveryPathResult(result.getTotalCost(), result.getTotalMoves(), dronePaths);
+    }
+
+    private static int indexOfSlice(List<LngLat> path, List<LngLat> slice, int searchFrom) {
+        if (slice.isEmpty()) {
+            return -1;
+        }
+        for (int from = searchFrom; from + slice.size() <= path.size(); from++) {
+            if (path.get(from).equals(slice.get(0))
+                    && path.subList(from, from + slice.size()).equals(slice)) {
+                return from;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Rebuilds the full result. Service points are taken to be the start of
+     * each drone's path.
+     */
+    public DeliveryPathResult decode() {
+        List<DeliveryPathResult.DronePathInfo> infos = new ArrayList<>();
+        for (DronePath dronePath : dronePaths) {
+            List<LngLat> path = dronePath.getPath().decode();
+            List<DeliveryPathResult.DeliveryInfo> deliveries = new ArrayList<>();
+            int moves = 0;
+            for (Delivery delivery : dronePath.getDeliveries()) {
+                List<LngLat> flightPath = delivery.getFlightPath() != null
+                        ? delivery.getFlightPath().decode()
+                        : path.subList(delivery.getFrom(), delivery.getTo());
+                deliveries.add(new DeliveryPathResult.DeliveryInfo(delivery.getDeliveryId(), flightPath));
+                moves += Math.max(0, flightPath.size() - 1);
+            }
+            infos.add(new DeliveryPathResult.DronePathInfo(dronePath.getDroneId(),
+                    dronePath.getPath().getStart(), deliveries, path, moves));
+        }
+        return new DeliveryPathResult(totalCost, totalMoves, infos);
+    }
+
+    /**
+     * Writes the binary form; big-endian, versioned by a leading byte.
+     */
+    public void writeTo(OutputStream stream) throws IOException {
+        DataOutputStream out = new DataOutputStream(stream);
+        out.writeByte(BINARY_VERSION);
+        out.writeDouble(totalCost);
+        out.writeInt(totalMoves);
+        out.writeInt(dronePaths.size());
+        for (DronePath dronePath : dronePaths) {
+            out.writeBoolean(dronePath.getDroneId() != null);
+            if (dronePath.getDroneId() != null) {
+                out.writeUTF(dronePath.getDroneId());
+            }
+            writePath(out, dronePath.getPath());
+            out.writeInt(dronePath.getDeliveries().size());
+            for (Delivery delivery : dronePath.getDeliveries()) {
+                out.writeInt(delivery.getDeliveryId());
+                out.writeInt(delivery.getFrom());
+                out.writeInt(delivery.getTo());
+                if (delivery.getFlightPath() != null) {
+                    writePath(out, delivery.getFlightPath());
+                }
+            }
+        }
+        out.flush();
+    }
+
+    /**
+     * Reads the binary form written by writeTo.
+     *
+     * @throws IOException if the stream ends early or has an unknown version
+     */
+    public static CompactDeliveryPathResult readFrom(InputStream stream) throws IOException {
+        DataInputStream in = new DataInputStream(stream);
+        int version = in.readUnsignedByte();
+        if (version != BINARY_VERSION) {
+            throw new IOException("Unsupported compact path version: " + version);
+        }
+        double totalCost = in.readDouble();
+        int totalMoves = in.readInt();
+        int droneCount = in.readInt();
+        List<DronePath> dronePaths = new ArrayList<>(droneCount);
+        for (int d = 0; d < droneCount; d++) {
+            String droneId = in.readBoolean() ? in.readUTF() : null;
+            CompactPath path = readPath(in);
+            int deliveryCount = in.readInt();
+            List<Delivery> deliveries = new ArrayList<>(deliveryCount);
+            for (int i = 0; i < deliveryCount; i++) {
+                int deliveryId = in.readInt();
+                int from = in.readInt();
+                int to = in.readInt();
+                CompactPath flightPath = from < 0 ? readPath(in) : null;
+                deliveries.add(new Delivery(deliveryId, from, to, flightPath));
+            }
+            dronePaths.add(new DronePath(droneId, path, deliveries));
+        }
+        return new CompactDeliveryPathResult(totalCost, totalMoves, dronePaths);
+    }
+
+    private static void writePath(DataOutputStream out, CompactPath path) throws IOException {
+        out.writeBoolean(path.getStart() != null);
+        if (path.getStart() != null) {
+            out.writeDouble(path.getStart().lng());
+            out.writeDouble(path.getStart().lat());
+        }
+        out.writeInt(path.getSteps().length);
+        out.write(path.getSteps());
+        out.writeInt(path.getJumps().size());
+        for (LngLat jump : path.getJumps()) {
+            out.writeDouble(jump.lng());
+            out.writeDouble(jump.lat());
+        }
+    }
+
+    private static CompactPath readPath(DataInputStream in) throws IOException {
+        LngLat start = in.readBoolean() ? new LngLat(in.readDouble(), in.readDouble()) : null;
+        byte[] steps = new byte[in.readInt()];
+        in.readFully(steps);
+        int jumpCount = in.readInt();
+        List<LngLat> jumps = new ArrayList<>(jumpCount);
+        for (int i = 0; i < jumpCount; i++) {
+            jumps.add(new LngLat(in.readDouble(), in.readDouble()));
+        }
+        return new CompactPath(start, steps, jumps);
+    }
+
+    public double getTotalCost() {
+        return totalCost;
+    }
+
+    public int getTotalMoves() {
+        return totalMoves;
+    }
+
+    public List<DronePath> getDronePaths() {
+        return dronePaths;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        CompactDeliveryPathResult that = (CompactDeliveryPathResult) o;
+        return Double.compare(that.totalCost, totalCost) == 0 &&
+                totalMoves == that.totalMoves &&
+                Objects.equals(dronePaths, that.dronePaths);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(totalCost, totalMoves, dronePaths);
+    }
+
+    /**
+     * One drone's encoded path and its deliveries.
+     */
+    public static class DronePath {
+        @JsonProperty("droneId")
+        private final String droneId;
+
+        @JsonProperty("path")
+        private final CompactPath path;
+
+        @JsonProperty("deliveries")
+        private final List<Delivery> deliveries;
+
+        @JsonCreator
+        public DronePath(
+                @JsonProperty("droneId") String droneId,
+                @JsonProperty("path") CompactPath path,
+                @JsonProperty("deliveries") List<Delivery> deliveries
+        ) {
+            this.droneId = droneId;
+            this.path = path != null ? path : CompactPath.encode(List.of());
+            this.deliveries = deliveries != null ? List.copyOf(deliveries) : List.of();
+        }
+
+        public String getDroneId() {
+            return droneId;
+        }
+
+        public CompactPath getPath() {
+            return path;
+        }
+
+        public List<Delivery> getDeliveries() {
+            return deliveries;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            DronePath that = (DronePath) o;
+            return Objects.equals(droneId, that.droneId) &&
+                    Objects.equals(path, that.path) &&
+                    Objects.equals(deliveries, that.deliveries);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(droneId, path, deliveries);
+        }
+    }
+
+    /**
+     * A delivery's flight path as the range [from, to) of its drone's path,
+     * or, when from is -1, as its own encoded flightPath.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class Delivery {
+        @JsonProperty("deliveryId")
+        private final int deliveryId;
+
+        @JsonProperty("from")
+        private final int from;
+
+        @JsonProperty("to")
+        private final int to;
+
+        @JsonProperty("flightPath")
+        private final CompactPath flightPath;
+
+        @JsonCreator
+        public Delivery(
+                @JsonProperty("deliveryId") int deliveryId,
+                @JsonProperty("from") int from,
+                @JsonProperty("to") int to,
+                @JsonProperty("flightPath") CompactPath flightPath
+        ) {
+            this.deliveryId = deliveryId;
+            this.from = from;
+            this.to = to;
+            this.flightPath = flightPath;
+        }
+
+        public int getDeliveryId() {
+            return deliveryId;
+        }
+
+        public int getFrom() {
+            return from;
+        }
+
+        public int getTo() {
+            return to;
+        }
+
+        public CompactPath getFlightPath() {
+            return flightPath;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Delivery that = (Delivery) o;
+            return deliveryId == that.deliveryId &&
+                    from == that.from &&
+                    to == that.to &&
+                    Objects.equals(flightPath, that.flightPath);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(deliveryId, from, to, flightPath);
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package ilp.submission.model;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A flight path stored as its start coordinate plus one byte per step:
+ * - 0..15: a lattice move in that compass direction (see LatticeMoves)
+ * - 16 (HOVER): stay at the current position
+ * - 17 (JUMP): move to the next coordinate in {@code jumps}
+ *
+ * Jumps cover the few steps that are not lattice moves, such as snapping onto
+ * the exact delivery coordinate at the end of a leg. Decoding applies the same
+ * additions as the planner, so the rebuilt path is bit-for-bit the original.
+ * In JSON the steps are a base64 string.
+ */
+public class CompactPath {
+
+    public static final byte HOVER = 16;
+    public static final byte JUMP = 17;
+
+    @JsonProperty("start")
+    private final LngLat start;
+
+    @JsonProperty("steps")
+    private final byte[] steps;
+
+    @JsonProperty("jumps")
+    private final List<LngLat> jumps;
+
+    @JsonCreator
+    public CompactPath(
+            @JsonProperty("start") LngLat start,
+            @JsonProperty("steps") byte[] steps,
+            @JsonProperty("jumps") List<LngLat> jumps
+    ) {
+        this.start = start;
+        this.steps = steps != null ? steps : new byte[0];
+        this.jumps = jumps != null ? List.copyOf(jumps) : List.of();
+    }
+
+    /**
+     * Encodes a path; an empty or null path encodes with a null start.
+     */
+    public static CompactPath encode(List<LngLat> path) {
+        if (path == null || path.isEmpty()) {
+            return new CompactPath(null, new byte[0], List.of());
+        }
+        byte[] steps = new byte[path.size() - 1];
+        List<LngLat> jumps = new ArrayList<>();
+        LngLat previous = path.get(0);
+        for (int i = 1; i < path.size(); i++) {
+            LngLat next = path.get(i);
+            byte step = step(previous, next);
+            if (step == JUMP) {
+                jumps.add(next);
+            }
+            steps[i - 1] = step;
+            previous = next;
+        }
+        return new CompactPath(path.get(0), steps, jumps);
+    }
+
+    private static byte step(LngLat from, LngLat to) {
+        double lng = from.lng();
+        double lat = from.lat();
+        if (same(lng, to.lng()) && same(lat, to.lat())) {
+            return HOVER;
+        }
+        for (int direction = 0; direction < LatticeMoves.DIRECTION_COUNT; direction++) {
+            if (same(lng + LatticeMoves.dLng(direction), to.lng())
+                    && same(lat + LatticeMoves.dLat(direction), to.lat())) {
+                return (byte) direction;
+            }
+        }
+        return JUMP;
+    }
+
+    private static boolean same(double a, double b) {
+        return Double.doubleToLongBits(a) == Double.doubleToLongBits(b);
+    }
+
+    /**
+     * Rebuilds the full path.
+     *
+     * @throws IllegalArgumentException if a step code is unknown or a jump is missing
+     */
+    public List<LngLat> decode() {
+        if (start == null) {
+            return List.of();
+        }
+        List<LngLat> path = new ArrayList<>(steps.length + 1);
+        LngLat current = start;
+        path.add(current);
+        int jump = 0;
+        for (byte step : steps) {
+            if (step == JUMP) {
+                if (jump >= jumps.size()) {
+                    throw new IllegalArgumentException("Compact path has more jump steps than jumps");
+                }
+                current = jumps.get(jump++);
+            } else if (step >= 0 && step < LatticeMoves.DIRECTION_COUNT) {
+                current = new LngLat(current.lng() + LatticeMoves.dLng(step),
+                        current.lat() + LatticeMoves.dLat(step));
+            } else if (step != HOVER) {
+                throw new IllegalArgumentException("Unknown compact path step: " + step);
+            }
+            path.add(current);
+        }
+        return path;
+    }
+
+    public LngLat getStart() {
+        return start;
+    }
+
+    public byte[] getSteps() {
+        return steps;
+    }
+
+    public List<LngLat> getJumps() {
+        return jumps;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        CompactPath that = (CompactPath) o;
+        return Objects.equals(start, that.start) &&
+                Arrays.equals(steps, that.steps) &&
+                Objects.equals(jumps, that.jumps);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Objects.hash(start, jumps) + Arrays.hashCode(steps);
+    }
+}
@@ -0,0 +1,137 @@
+package ilp.submission.model;
+
+import java.util.List;
+
+/**
+ * A closed polygon compiled once into primitive arrays for containment tests:
+ * vertex coordinates, an overall bounding box, and per edge its deltas and
+ * its boundary-test box. A query rejects on the bounding box and then runs the
+ * vertex, boundary and ray-cast tests for each edge in a single loop.
+ *
+ * Results match the original List<LngLat> implementations bit for bit; in
+ * particular the ray cast keeps dx * (lat - y) / dy rather than a pre-divided
+ * slope, which would round differently.
+ */
+final class CompiledPolygon {
+
+    private static final double EPSILON = 1e-10;
+
+    private final boolean valid;
+    private final int edgeCount;
+
+    // Vertex k and edge k = (vertex k, vertex k + 1)
+    private final double[] xs;
+    private final double[] ys;
+    private final double[] dxs;
+    private final double[] dys;
+
+    // Edge boxes padded by EPSILON for the on-boundary test
+    private final double[] edgeMinX;
+    private final double[] edgeMaxX;
+    private final double[] edgeMinY;
+    private final double[] edgeMaxY;
+
+    // Padded box around the whole polygon; no query outside it can match
+    private final double minX;
+    private final double maxX;
+    private final double minY;
+    private final double maxY;
+
+    CompiledPolygon(List<LngLat> vertices) {
+        int n = vertices.size();
+        this.valid = n >= 4 && vertices.get(0).equals(vertices.get(n - 1));
+        this.xs = new double[n];
+        this.ys = new double[n];
+        for (int i = 0; i < n; i++) {
+            xs[i] = vertices.get(i).lng();
+            ys[i] = vertices.get(i).lat();
+        }
+
+        // A closed polygon's last vertex repeats the first, so its closing edge is empty
+        this.edgeCount = Math.max(0, n - 1);
+        this.dxs = new double[edgeCount];
+        this.dys = new double[edgeCount];
+        this.edgeMinX = new double[edgeCount];
+        this.edgeMaxX = new double[edgeCount];
+        this.edgeMinY = new double[edgeCount];
+        this.edgeMaxY = new double[edgeCount];
+        double boxMinX = Double.POSITIVE_INFINITY, boxMaxX = Double.NEGATIVE_INFINITY;
+        double boxMinY = Double.POSITIVE_INFINITY, boxMaxY = Double.NEGATIVE_INFINITY;
+        for (int k = 0; k < edgeCount; k++) {
+            dxs[k] = xs[k + 1] - xs[k];
+            dys[k] = ys[k + 1] - ys[k];
+            edgeMinX[k] = Math.min(xs[k], xs[k + 1]) - EPSILON;
+            edgeMaxX[k] = Math.max(xs[k], xs[k + 1]) + EPSILON;
+            edgeMinY[k] = Math.min(ys[k], ys[k + 1]) - EPSILON;
+            edgeMaxY[k] = Math.max(ys[k], ys[k + 1]) + EPSILON;
+            boxMinX = Math.min(boxMinX, edgeMinX[k]);
+            boxMaxX = Math.max(boxMaxX, edgeMaxX[k]);
+            boxMinY = Math.min(boxMinY, edgeMinY[k]);
+            boxMaxY = Math.max(boxMaxY, edgeMaxY[k]);
+        }
+        this.minX = boxMinX;
+        this.maxX = boxMaxX;
+        this.minY = boxMinY;
+        this.maxY = boxMaxY;
+    }
+
+    /**
+     * At least four vertices, with the last repeating the first.
+     */
+    boolean isValid() {
+        return valid;
+    }
+
+    /**
+     * Ray-cast containment that also counts vertices and points within
+     * EPSILON of an edge as inside.
+     */
+    boolean containsOrTouches(double lng, double lat) {
+        if (lng < minX || lng > maxX || lat < minY || lat > maxY) {
+            return false;
+        }
+        boolean inside = false;
+        for (int k = 0; k < edgeCount; k++) {
+            double x = xs[k];
+            double y = ys[k];
+            if (lng == x && lat == y) {
+                return true;
+            }
+            if (lng >= edgeMinX[k] && lng <= edgeMaxX[k] && lat >= edgeMinY[k] && lat <= edgeMaxY[k]) {
+                double crossProduct = dxs[k] * (lat - y) - dys[k] * (lng - x);
+                if (Math.abs(crossProduct) < EPSILON) {
+                    return true;
+                }
+            }
+            if (crosses(k, lng, lat)) {
+                inside = !inside;
+            }
+        }
+        return inside;
+    }
+
+    /**
+     * Plain ray-cast containment; points on an edge may fall either way.
+     */
+    boolean contains(double lng, double lat) {
+        if (lng < minX || lng > maxX || lat < minY || lat > maxY) {
+            return false;
+        }
+        boolean inside = false;
+        for (int k = 0; k < edgeCount; k++) {
+            if (crosses(k, lng, lat)) {
+                inside = !inside;
+            }
+        }
+        return inside;
+    }
+
+    /**
+     * Whether a ray from the point towards +lng crosses edge k.
+     */
+    private boolean crosses(int k, double lng, double lat) {
+        double nextY = ys[k + 1];
+        return ((nextY > lat) != (ys[k] > lat)) &&
+                (lng < dxs[k] * (lat - nextY) / dys[k] + xs[k + 1]);
+    }
+}
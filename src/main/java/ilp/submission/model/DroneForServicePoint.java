@@ -75,6 +75,20 @@ public class DroneForServicePoint {
         public void setAvailability(List<AvailabilityWindow> availability) {
             this.availability = availability;
         }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            DroneAvailability that = (DroneAvailability) o;
+            return Objects.equals(id, that.id) &&
+                    Objects.equals(availability, that.availability);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(id, availability);
+        }
     }
 
     /**
@@ -123,6 +137,21 @@ public class DroneForServicePoint {
         public void setUntil(String until) {
             this.until = until;
         }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            AvailabilityWindow that = (AvailabilityWindow) o;
+            return Objects.equals(dayOfWeek, that.dayOfWeek) &&
+                    Objects.equals(from, that.from) &&
+                    Objects.equals(until, that.until);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(dayOfWeek, from, until);
+        }
     }
 
     @Override
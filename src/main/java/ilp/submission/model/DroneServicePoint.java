@@ -53,6 +53,21 @@ public class DroneServicePoint {
         public double getLng() { return lng; }
         public double getLat() { return lat; }
         public Integer getAlt() { return alt; }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Location that = (Location) o;
+            return Double.compare(that.lng, lng) == 0 &&
+                    Double.compare(that.lat, lat) == 0 &&
+                    Objects.equals(alt, that.alt);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(lng, lat, alt);
+        }
     }
 
     // Getters
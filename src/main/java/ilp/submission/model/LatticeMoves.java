@@ -0,0 +1,58 @@
+package ilp.submission.model;
+
+/**
+ * Precomputed moves on the drone flight lattice.
+ * A drone moves MOVE_DISTANCE degrees in one of 16 compass directions
+ * (0° = East, 90° = North, 180° = West, 270° = South), so every move is a
+ * fixed (dLng, dLat) offset that can be applied with two additions.
+ */
+public final class LatticeMoves {
+
+    public static final double MOVE_DISTANCE = 0.00015;
+    public static final int DIRECTION_COUNT = 16;
+    public static final double ANGLE_STEP = 360.0 / DIRECTION_COUNT;
+
+    private static final double[] ANGLES = new double[DIRECTION_COUNT];
+    private static final double[] D_LNG = new double[DIRECTION_COUNT];
+    private static final double[] D_LAT = new double[DIRECTION_COUNT];
+
+    static {
+        for (int d = 0; d < DIRECTION_COUNT; d++) {
+            // Same expression as the trigonometric path so results are bit-identical
+            double angleRadians = Math.toRadians(d * ANGLE_STEP);
+            ANGLES[d] = d * ANGLE_STEP;
+            D_LNG[d] = MOVE_DISTANCE * Math.cos(angleRadians);
+            D_LAT[d] = MOVE_DISTANCE * Math.sin(angleRadians);
+        }
+    }
+
+    private LatticeMoves() {
+    }
+
+    public static double angle(int direction) {
+        return ANGLES[direction];
+    }
+
+    public static double dLng(int direction) {
+        return D_LNG[direction];
+    }
+
+    public static double dLat(int direction) {
+        return D_LAT[direction];
+    }
+
+    /**
+     * Maps an angle to its compass direction index.
+     *
+     * @param angleDegrees the angle in degrees
+     * @return the direction index, or -1 if the angle is not one of the 16 compass directions
+     */
+    public static int directionOf(double angleDegrees) {
+        if (angleDegrees < 0 || angleDegrees >= 360) {
+            return -1;
+        }
+        double steps = angleDegrees / ANGLE_STEP;
+        int direction = (int) steps;
+        return direction == steps ? direction : -1;
+    }
+}
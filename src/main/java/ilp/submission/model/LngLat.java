@@ -9,7 +9,7 @@ public record  LngLat(
     @JsonProperty("lat") Double lat
 ) {
     private static final double CLOSE_THRESHOLD = 0.00015;
-    private static final double MOVE_DISTANCE = 0.00015;
+    private static final double MOVE_DISTANCE = LatticeMoves.MOVE_DISTANCE;
 
     /**
      * Compact constructor for validation.
@@ -32,9 +32,7 @@ public record  LngLat(
 
     public double distanceTo(LngLat other) {
         Objects.requireNonNull(other, "Target coordinate cannot be null");
-        double lngDiff = this.lng - other.lng;
-        double latDiff = this.lat - other.lat;
-        return Math.sqrt(lngDiff * lngDiff + latDiff * latDiff);
+        return distance(this.lng, this.lat, other.lng, other.lat);
     }
 
     public boolean isCloseTo(LngLat other) {
@@ -42,11 +40,46 @@ public record  LngLat(
     }
 
     public LngLat nextPosition(double angleDegrees) {
+        return new LngLat(nextLng(this.lng, angleDegrees), nextLat(this.lat, angleDegrees));
+    }
+
+    /**
+     * Euclidean distance in degrees; same result as {@link #distanceTo(LngLat)}.
+     */
+    public static double distance(double lng1, double lat1, double lng2, double lat2) {
+        double lngDiff = lng1 - lng2;
+        double latDiff = lat1 - lat2;
+        return Math.sqrt(lngDiff * lngDiff + latDiff * latDiff);
+    }
+
+    /**
+     * Same result as {@link #isCloseTo(LngLat)}.
+     */
+    public static boolean isClose(double lng1, double lat1, double lng2, double lat2) {
+        return distance(lng1, lat1, lng2, lat2) < CLOSE_THRESHOLD;
+    }
+
+    /**
+     * Longitude after one move at the given angle; see {@link #nextPosition(double)}.
+     */
+    public static double nextLng(double lng, double angleDegrees) {
         // 0° = East, 90° = North, 180° = West, 270° = South
-        double angleRadians = Math.toRadians(angleDegrees);
-        double newLng = this.lng + MOVE_DISTANCE * Math.cos(angleRadians);
-        double newLat = this.lat + MOVE_DISTANCE * Math.sin(angleRadians);
-        return new LngLat(newLng, newLat);
+        int direction = LatticeMoves.directionOf(angleDegrees);
+        if (direction >= 0) {
+            return lng + LatticeMoves.dLng(direction);
+        }
+        return lng + MOVE_DISTANCE * Math.cos(Math.toRadians(angleDegrees));
+    }
+
+    /**
+     * Latitude after one move at the given angle; see {@link #nextPosition(double)}.
+     */
+    public static double nextLat(double lat, double angleDegrees) {
+        int direction = LatticeMoves.directionOf(angleDegrees);
+        if (direction >= 0) {
+            return lat + LatticeMoves.dLat(direction);
+        }
+        return lat + MOVE_DISTANCE * Math.sin(Math.toRadians(angleDegrees));
     }
 
     public boolean approximatelyEquals(LngLat other, double epsilon) {
@@ -2,7 +2,6 @@ package ilp.submission.model;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
 
-import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 
@@ -13,17 +12,21 @@ public final class Region {
     @JsonProperty("vertices")
     private final List<LngLat> vertices;
 
+    private final CompiledPolygon polygon;
+
     public Region(
             @JsonProperty("name") String name,
             @JsonProperty("vertices") List<LngLat> vertices
     ) {
         this.name = Objects.requireNonNull(name, "Region name cannot be null");
         this.vertices = vertices != null ? List.copyOf(vertices) : List.of();
+        this.polygon = new CompiledPolygon(this.vertices);
     }
 
     public Region() {
         this.name = "";
         this.vertices = List.of();
+        this.polygon = new CompiledPolygon(this.vertices);
     }
 
     public String getName() {
@@ -35,10 +38,7 @@ public final class Region {
     }
 
     public boolean isValid() {
-        if (vertices == null || vertices.size() < 4) {
-            return false;
-        }
-        return vertices.get(0).equals(vertices.get(vertices.size() - 1));
+        return polygon.isValid();
     }
 
     public boolean isClosed() {
@@ -50,52 +50,37 @@ public final class Region {
 
     public boolean contains(LngLat point) {
         Objects.requireNonNull(point, "Point cannot be null");
+        return contains(point.lng(), point.lat());
+    }
+
+    /**
+     * Same as {@link #contains(LngLat)} for an unboxed coordinate.
+     */
+    public boolean contains(double lng, double lat) {
         if (!isValid()) {
             throw new IllegalStateException("Cannot check containment on invalid region");
         }
 
-        int n = vertices.size();
-
-        for (int i = 0; i < n - 1; i++) {
-            LngLat vi = vertices.get(i);
-            LngLat vj = vertices.get(i + 1);
-            if (point.equals(vi)) {
-                return true;
-            }
-            if (isPointOnSegment(point, vi, vj)) {
-                return true;
-            }
-        }
-
-        boolean inside = false;
-        for (int i = 0, j = n - 1; i < n; j = i++) {
-            LngLat vi = vertices.get(i);
-            LngLat vj = vertices.get(j);
-            boolean intersect = ((vi.lat() > point.lat()) != (vj.lat() > point.lat())) &&
-                    (point.lng() < (vj.lng() - vi.lng()) * (point.lat() - vi.lat()) /
-                            (vj.lat() - vi.lat()) + vi.lng());
-            if (intersect) {
-                inside = !inside;
-            }
-        }
-        return inside;
+        // Vertices and points on an edge count as inside the region
+        return polygon.containsOrTouches(lng, lat);
     }
 
-    private boolean isPointOnSegment(LngLat point, LngLat segmentStart, LngLat segmentEnd) {
-        final double EPSILON = 1e-10;
-        double minLng = Math.min(segmentStart.lng(), segmentEnd.lng());
-        double maxLng = Math.max(segmentStart.lng(), segmentEnd.lng());
-        double minLat = Math.min(segmentStart.lat(), segmentEnd.lat());
-        double maxLat = Math.max(segmentStart.lat(), segmentEnd.lat());
-
-        if (point.lng() < minLng - EPSILON || point.lng() > maxLng + EPSILON ||
-            point.lat() < minLat - EPSILON || point.lat() > maxLat + EPSILON) {
-            return false;
+    /**
+     * {@link #contains(double, double)} for many points at once; result[i]
+     * is the answer for (lngs[i], lats[i]).
+     */
+    public boolean[] containsAll(double[] lngs, double[] lats) {
+        if (lngs.length != lats.length) {
+            throw new IllegalArgumentException("lngs and lats must have the same length");
         }
-
-        double crossProduct = (segmentEnd.lng() - segmentStart.lng()) * (point.lat() - segmentStart.lat()) -
-                              (segmentEnd.lat() - segmentStart.lat()) * (point.lng() - segmentStart.lng());
-        return Math.abs(crossProduct) < EPSILON;
+        if (!isValid()) {
+            throw new IllegalStateException("Cannot check containment on invalid region");
+        }
+        boolean[] result = new boolean[lngs.length];
+        for (int i = 0; i < lngs.length; i++) {
+            result[i] = polygon.containsOrTouches(lngs[i], lats[i]);
+        }
+        return result;
     }
 
     @Override
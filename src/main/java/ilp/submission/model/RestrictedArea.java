@@ -20,6 +20,8 @@ public final class RestrictedArea {
     @JsonProperty("vertices")
     private final List<LngLat> vertices;
 
+    private final CompiledPolygon polygon;
+
     public RestrictedArea(
             @JsonProperty("name") String name,
             @JsonProperty("id") Integer id,
@@ -30,6 +32,7 @@ public final class RestrictedArea {
         this.id = id;
         this.limits = limits;
         this.vertices = vertices != null ? List.copyOf(vertices) : List.of();
+        this.polygon = new CompiledPolygon(this.vertices);
     }
 
     public RestrictedArea() {
@@ -37,6 +40,7 @@ public final class RestrictedArea {
         this.id = null;
         this.limits = null;
         this.vertices = List.of();
+        this.polygon = new CompiledPolygon(this.vertices);
     }
 
     /**
@@ -78,31 +82,23 @@ public final class RestrictedArea {
     }
 
     public boolean isValid() {
-        if (vertices == null || vertices.size() < 4) {
-            return false;
-        }
-        return vertices.get(0).equals(vertices.get(vertices.size() - 1));
+        return polygon.isValid();
     }
 
     public boolean contains(LngLat point) {
         Objects.requireNonNull(point, "Point cannot be null");
+        return contains(point.lng(), point.lat());
+    }
+
+    /**
+     * Same as {@link #contains(LngLat)} for an unboxed coordinate.
+     */
+    public boolean contains(double lng, double lat) {
         if (!isValid()) {
             throw new IllegalStateException("Cannot check containment on invalid restricted area");
         }
 
-        int n = vertices.size();
-        boolean inside = false;
-        for (int i = 0, j = n - 1; i < n; j = i++) {
-            LngLat vi = vertices.get(i);
-            LngLat vj = vertices.get(j);
-            boolean intersect = ((vi.lat() > point.lat()) != (vj.lat() > point.lat())) &&
-                    (point.lng() < (vj.lng() - vi.lng()) * (point.lat() - vi.lat()) /
-                            (vj.lat() - vi.lat()) + vi.lng());
-            if (intersect) {
-                inside = !inside;
-            }
-        }
-        return inside;
+        return polygon.contains(lng, lat);
     }
 
     @Override
@@ -0,0 +1,171 @@
+package ilp.submission.pathfinding;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Rasterised occupancy map layered over a GridNoFlyZoneIndex.
+ * The area covered by the zones is split into small cells, each classified once as
+ * free, blocked (inside a zone) or boundary (a zone edge passes through it).
+ * Moves that only touch free or blocked cells are answered with bit lookups;
+ * only moves near a zone boundary fall back to the exact segment tests.
+ * Cells are classified lazily, one tile at a time, the first time a query touches them.
+ */
+public final class BlockedCellMap implements NoFlyZoneIndex {
+
+    private static final double DEFAULT_CELL_SIZE = 0.0001;
+    private static final int TILE_BITS = 5;
+    private static final int TILE_SIZE = 1 << TILE_BITS;
+    private static final int TILE_MASK = TILE_SIZE - 1;
+    private static final int WORDS_PER_TILE = TILE_SIZE * TILE_SIZE / Long.SIZE;
+
+    private final GridNoFlyZoneIndex exact;
+    private final double minLng;
+    private final double minLat;
+    private final double cellSize;
+    private final int columns;
+    private final int rows;
+    private final int tileColumns;
+    private final AtomicReferenceArray<Tile> tiles;
+
+    public BlockedCellMap(GridNoFlyZoneIndex exact) {
+        this(exact, DEFAULT_CELL_SIZE);
+    }
+
+    public BlockedCellMap(GridNoFlyZoneIndex exact, double cellSize) {
+        this.exact = exact;
+        this.cellSize = cellSize;
+        double[] bounds = exact.getBounds();
+        if (bounds == null) {
+            this.minLng = 0;
+            this.minLat = 0;
+            this.columns = 0;
+            this.rows = 0;
+            this.tileColumns = 0;
+            this.tiles = new AtomicReferenceArray<>(0);
+            return;
+        }
+        // Outside the zone bounds nothing is blocked, so only that box is rasterised
+        this.minLng = bounds[0];
+        this.minLat = bounds[1];
+        this.columns = (int) Math.ceil((bounds[2] - bounds[0]) / cellSize) + 1;
+        this.rows = (int) Math.ceil((bounds[3] - bounds[1]) / cellSize) + 1;
+        this.tileColumns = (columns + TILE_MASK) >> TILE_BITS;
+        int tileRows = (rows + TILE_MASK) >> TILE_BITS;
+        this.tiles = new AtomicReferenceArray<>(tileColumns * tileRows);
+    }
+
+    /**
+     * The exact index this map falls back to near zone boundaries.
+     */
+    public GridNoFlyZoneIndex getExactIndex() {
+        return exact;
+    }
+
+    @Override
+    public boolean isInside(double lng, double lat) {
+        int column = column(lng);
+        int row = row(lat);
+        if (column < 0 || column >= columns || row < 0 || row >= rows) {
+            return false;
+        }
+        Tile tile = tile(column, row);
+        int bit = bit(column, row);
+        if (tile.isBoundary(bit)) {
+            return exact.isInside(lng, lat);
+        }
+        return tile.isBlocked(bit);
+    }
+
+    @Override
+    public boolean crosses(double fromLng, double fromLat, double toLng, double toLat) {
+        int minColumn = column(Math.min(fromLng, toLng));
+        int maxColumn = column(Math.max(fromLng, toLng));
+        int minRow = row(Math.min(fromLat, toLat));
+        int maxRow = row(Math.max(fromLat, toLat));
+        if (maxColumn < 0 || minColumn >= columns || maxRow < 0 || minRow >= rows) {
+            return false;
+        }
+        if (minColumn < 0 || maxColumn >= columns || minRow < 0 || maxRow >= rows) {
+            // Straddles the edge of the map: let the exact index decide
+            return exact.crosses(fromLng, fromLat, toLng, toLat);
+        }
+
+        boolean blocked = false;
+        for (int row = minRow; row <= maxRow; row++) {
+            for (int column = minColumn; column <= maxColumn; column++) {
+                Tile tile = tile(column, row);
+                int bit = bit(column, row);
+                if (tile.isBoundary(bit)) {
+                    return exact.crosses(fromLng, fromLat, toLng, toLat);
+                }
+                blocked |= tile.isBlocked(bit);
+            }
+        }
+        // No edge near the move, so every cell it touches is wholly inside or wholly outside a zone
+        return blocked;
+    }
+
+    private Tile tile(int column, int row) {
+        int tileColumn = column >> TILE_BITS;
+        int tileRow = row >> TILE_BITS;
+        int tileIndex = tileRow * tileColumns + tileColumn;
+        Tile tile = tiles.get(tileIndex);
+        if (tile == null) {
+            tile = buildTile(tileColumn, tileRow);
+            if (!tiles.compareAndSet(tileIndex, null, tile)) {
+                tile = tiles.get(tileIndex);
+            }
+        }
+        return tile;
+    }
+
+    private Tile buildTile(int tileColumn, int tileRow) {
+        long[] boundary = new long[WORDS_PER_TILE];
+        long[] blocked = new long[WORDS_PER_TILE];
+        int firstColumn = tileColumn << TILE_BITS;
+        int firstRow = tileRow << TILE_BITS;
+        for (int r = 0; r < TILE_SIZE; r++) {
+            for (int c = 0; c < TILE_SIZE; c++) {
+                double cellMinLng = minLng + (firstColumn + c) * cellSize;
+                double cellMinLat = minLat + (firstRow + r) * cellSize;
+                int bit = (r << TILE_BITS) | c;
+                if (exact.hasEdgeIn(cellMinLng, cellMinLat, cellMinLng + cellSize, cellMinLat + cellSize)) {
+                    boundary[bit >>> 6] |= 1L << bit;
+                } else if (exact.isInside(cellMinLng + cellSize / 2, cellMinLat + cellSize / 2)) {
+                    blocked[bit >>> 6] |= 1L << bit;
+                }
+            }
+        }
+        return new Tile(boundary, blocked);
+    }
+
+    private int column(double lng) {
+        return (int) Math.floor((lng - minLng) / cellSize);
+    }
+
+    private int row(double lat) {
+        return (int) Math.floor((lat - minLat) / cellSize);
+    }
+
+    private static int bit(int column, int row) {
+        return ((row & TILE_MASK) << TILE_BITS) | (column & TILE_MASK);
+    }
+
+    private static final class Tile {
+        private final long[] boundary;
+        private final long[] blocked;
+
+        Tile(long[] boundary, long[] blocked) {
+            this.boundary = boundary;
+            this.blocked = blocked;
+        }
+
+        boolean isBoundary(int bit) {
+            return (boundary[bit >>> 6] & (1L << bit)) != 0;
+        }
+
+        boolean isBlocked(int bit) {
+            return (blocked[bit >>> 6] & (1L << bit)) != 0;
+        }
+    }
+}
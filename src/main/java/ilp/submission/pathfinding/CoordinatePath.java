@@ -0,0 +1,74 @@
+package ilp.submission.pathfinding;
+
+import ilp.submission.model.LngLat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Growable path of coordinates held in two parallel double arrays.
+ * Planning code builds paths here and only materialises LngLat objects once,
+ * when the finished path is handed back through the API.
+ */
+public final class CoordinatePath {
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private double[] lng;
+    private double[] lat;
+    private int size;
+
+    public CoordinatePath() {
+        this(INITIAL_CAPACITY);
+    }
+
+    public CoordinatePath(int capacity) {
+        int initial = Math.max(1, capacity);
+        this.lng = new double[initial];
+        this.lat = new double[initial];
+    }
+
+    public void add(double pointLng, double pointLat) {
+        if (size == lng.length) {
+            int capacity = size * 2;
+            lng = Arrays.copyOf(lng, capacity);
+            lat = Arrays.copyOf(lat, capacity);
+        }
+        lng[size] = pointLng;
+        lat[size] = pointLat;
+        size++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public double lng(int index) {
+        return lng[index];
+    }
+
+    public double lat(int index) {
+        return lat[index];
+    }
+
+    /**
+     * Materialises the path. Consecutive equal points (hovers) share one LngLat.
+     */
+    public List<LngLat> toLngLats() {
+        List<LngLat> points = new ArrayList<>(size);
+        LngLat previous = null;
+        for (int i = 0; i < size; i++) {
+            if (previous == null || Double.compare(previous.lng(), lng[i]) != 0
+                    || Double.compare(previous.lat(), lat[i]) != 0) {
+                previous = new LngLat(lng[i], lat[i]);
+            }
+            points.add(previous);
+        }
+        return points;
+    }
+}
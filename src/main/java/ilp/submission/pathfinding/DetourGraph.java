@@ -0,0 +1,198 @@
+package ilp.submission.pathfinding;
+
+import ilp.submission.model.LngLat;
+import ilp.submission.model.RestrictedArea;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Visibility graph over the corners of the no-fly zones, used to bound the
+ * length of a leg without planning it. The shortest zone-avoiding route
+ * between two points only bends at convex zone corners, and no lattice path
+ * can be shorter, so its length is a lower bound on the planned leg at a small
+ * fraction of the cost of an A* search.
+ * Corners are nudged just outside their zone so that a sight line running
+ * along a zone side does not count as touching it.
+ * Built once per restricted-area set; lookups are read-only and thread-safe.
+ */
+public final class DetourGraph {
+
+    // Far below one move, so detours are not visibly lengthened
+    private static final double CORNER_OFFSET = 1e-7;
+
+    private final GridNoFlyZoneIndex zones;
+    private final double[] cornerLng;
+    private final double[] cornerLat;
+    // Corner-to-corner distances in row-major order; infinite where a zone is in the way
+    private final double[] sightLines;
+
+    public DetourGraph(GridNoFlyZoneIndex zones) {
+        this.zones = zones;
+
+        List<double[]> corners = new ArrayList<>();
+        for (RestrictedArea zone : zones.getZones()) {
+            List<LngLat> vertices = zone.getVertices();
+            if (vertices == null || vertices.size() < 3) {
+                continue;
+            }
+            int n = vertices.size();
+            if (vertices.get(0).equals(vertices.get(n - 1))) {
+                n--;
+            }
+            for (int i = 0; i < n; i++) {
+                double[] corner = outsideCorner(vertices.get((i + n - 1) % n), vertices.get(i), vertices.get((i + 1) % n));
+                if (corner != null) {
+                    corners.add(corner);
+                }
+            }
+        }
+
+        int count = corners.size();
+        this.cornerLng = new double[count];
+        this.cornerLat = new double[count];
+        for (int c = 0; c < count; c++) {
+            cornerLng[c] = corners.get(c)[0];
+            cornerLat[c] = corners.get(c)[1];
+        }
+
+        this.sightLines = new double[count * count];
+        Arrays.fill(sightLines, Double.POSITIVE_INFINITY);
+        for (int a = 0; a < count; a++) {
+            sightLines[a * count + a] = 0;
+            for (int b = a + 1; b < count; b++) {
+                if (!zones.touchesEdge(cornerLng[a], cornerLat[a], cornerLng[b], cornerLat[b])) {
+                    double length = LngLat.distance(cornerLng[a], cornerLat[a], cornerLng[b], cornerLat[b]);
+                    sightLines[a * count + b] = length;
+                    sightLines[b * count + a] = length;
+                }
+            }
+        }
+    }
+
+    /**
+     * The zone index this graph was built from.
+     */
+    public GridNoFlyZoneIndex getZones() {
+        return zones;
+    }
+
+    /**
+     * Number of corners in the graph.
+     */
+    public int cornerCount() {
+        return cornerLng.length;
+    }
+
+    /**
+     * Works out which corners can be seen from a point. A view is built once
+     * per point and then reused for every leg that starts or ends there.
+     */
+    public View view(LngLat point) {
+        double lng = point.lng();
+        double lat = point.lat();
+        boolean inside = zones.isInside(lng, lat);
+        double[] sight = new double[cornerLng.length];
+        for (int c = 0; c < sight.length; c++) {
+            sight[c] = !inside && !zones.touchesEdge(lng, lat, cornerLng[c], cornerLat[c])
+                    ? LngLat.distance(lng, lat, cornerLng[c], cornerLat[c])
+                    : Double.POSITIVE_INFINITY;
+        }
+        return new View(lng, lat, inside, sight);
+    }
+
+    /**
+     * Length of the shortest route between two points that stays clear of
+     * every zone. Returns infinity when one end is inside a zone and the other
+     * cannot be reached in a straight line, as no planned leg can cross a zone edge.
+     */
+    public double distance(View from, View to) {
+        double direct = LngLat.distance(from.lng, from.lat, to.lng, to.lat);
+        if (!zones.touchesEdge(from.lng, from.lat, to.lng, to.lat)) {
+            return direct;
+        }
+        if (from.inside || to.inside) {
+            return Double.POSITIVE_INFINITY;
+        }
+
+        // Dijkstra over the corners, stopping once no corner can lead to a shorter route
+        int count = cornerLng.length;
+        double[] reach = from.sight.clone();
+        boolean[] settled = new boolean[count];
+        double best = Double.POSITIVE_INFINITY;
+        while (true) {
+            int nearest = -1;
+            for (int c = 0; c < count; c++) {
+                if (!settled[c] && (nearest < 0 || reach[c] < reach[nearest])) {
+                    nearest = c;
+                }
+            }
+            if (nearest < 0 || reach[nearest] >= best) {
+                return best;
+            }
+            settled[nearest] = true;
+            best = Math.min(best, reach[nearest] + to.sight[nearest]);
+
+            int row = nearest * count;
+            for (int c = 0; c < count; c++) {
+                double through = reach[nearest] + sightLines[row + c];
+                if (through < reach[c]) {
+                    reach[c] = through;
+                }
+            }
+        }
+    }
+
+    /**
+     * Offsets a corner along its outward bisector, or returns null when the
+     * corner is reflex or flat and so never lies on a shortest route.
+     */
+    private double[] outsideCorner(LngLat previous, LngLat vertex, LngLat next) {
+        double inLng = vertex.lng() - previous.lng();
+        double inLat = vertex.lat() - previous.lat();
+        double outLng = vertex.lng() - next.lng();
+        double outLat = vertex.lat() - next.lat();
+        double inLength = Math.hypot(inLng, inLat);
+        double outLength = Math.hypot(outLng, outLat);
+        if (inLength == 0 || outLength == 0) {
+            return null;
+        }
+        double bisectorLng = inLng / inLength + outLng / outLength;
+        double bisectorLat = inLat / inLength + outLat / outLength;
+        double bisectorLength = Math.hypot(bisectorLng, bisectorLat);
+        if (bisectorLength < 1e-9) {
+            return null;
+        }
+        double lng = vertex.lng() + CORNER_OFFSET * bisectorLng / bisectorLength;
+        double lat = vertex.lat() + CORNER_OFFSET * bisectorLat / bisectorLength;
+        if (zones.isInside(lng, lat)) {
+            return null;
+        }
+        return new double[]{lng, lat};
+    }
+
+    /**
+     * A point together with the corners visible from it.
+     */
+    public static final class View {
+        private final double lng;
+        private final double lat;
+        private final boolean inside;
+        private final double[] sight;
+
+        private View(double lng, double lat, boolean inside, double[] sight) {
+            this.lng = lng;
+            this.lat = lat;
+            this.inside = inside;
+            this.sight = sight;
+        }
+
+        /**
+         * Whether the point lies inside a no-fly zone.
+         */
+        public boolean isInside() {
+            return inside;
+        }
+    }
+}
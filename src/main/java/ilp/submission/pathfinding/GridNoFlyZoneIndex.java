@@ -0,0 +1,357 @@
+package ilp.submission.pathfinding;
+
+import ilp.submission.model.LngLat;
+import ilp.submission.model.RestrictedArea;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntConsumer;
+
+/**
+ * NoFlyZoneIndex backed by per-zone bounding boxes and a uniform grid of zone edges.
+ * A move only tests the edges registered in the few grid cells its bounding box overlaps,
+ * and only runs the point-in-polygon ray cast for zones whose bounding box contains the point.
+ */
+public final class GridNoFlyZoneIndex implements NoFlyZoneIndex {
+
+    private static final double DEFAULT_CELL_SIZE = 0.0005;
+    private static final int MAX_CELLS_PER_AXIS = 1024;
+    // Cells and boxes are padded so rounding never drops an edge that touches a move
+    private static final double PADDING = 1e-9;
+
+    private final List<RestrictedArea> zones;
+    private final int zoneSetHash;
+
+    // Per-zone ray-cast polygons, in the same vertex order as the source data
+    private final double[][] zoneLng;
+    private final double[][] zoneLat;
+    private final double[] zoneMinLng;
+    private final double[] zoneMaxLng;
+    private final double[] zoneMinLat;
+    private final double[] zoneMaxLat;
+
+    // All zone edges
+    private final double[] edgeLng1;
+    private final double[] edgeLat1;
+    private final double[] edgeLng2;
+    private final double[] edgeLat2;
+
+    // Uniform grid of edge ids in compressed-row form: cell c holds cellEdges[cellStart[c] .. cellStart[c + 1])
+    private final double gridMinLng;
+    private final double gridMinLat;
+    private final double cellSize;
+    private final int columns;
+    private final int rows;
+    private final int[] cellStart;
+    private final int[] cellEdges;
+
+    public GridNoFlyZoneIndex(List<RestrictedArea> restrictedAreas) {
+        this(restrictedAreas, DEFAULT_CELL_SIZE);
+    }
+
+    public GridNoFlyZoneIndex(List<RestrictedArea> restrictedAreas, double cellSize) {
+        this.zones = restrictedAreas != null ? List.copyOf(restrictedAreas) : List.of();
+        this.zoneSetHash = zones.hashCode();
+
+        List<double[]> polygonsLng = new ArrayList<>();
+        List<double[]> polygonsLat = new ArrayList<>();
+        List<double[]> edges = new ArrayList<>();
+        for (RestrictedArea zone : zones) {
+            List<LngLat> vertices = zone.getVertices();
+            if (vertices == null || vertices.size() < 3) {
+                continue;
+            }
+            int n = vertices.size();
+            boolean isClosed = vertices.get(0).equals(vertices.get(n - 1));
+
+            // Ray cast ignores the duplicated closing vertex
+            int polygonSize = isClosed ? n - 1 : n;
+            double[] lng = new double[polygonSize];
+            double[] lat = new double[polygonSize];
+            for (int i = 0; i < polygonSize; i++) {
+                lng[i] = vertices.get(i).lng();
+                lat[i] = vertices.get(i).lat();
+            }
+            polygonsLng.add(lng);
+            polygonsLat.add(lat);
+
+            // Consecutive edges, plus the closing edge when the data leaves the polygon open
+            for (int i = 0; i < n - 1; i++) {
+                edges.add(edge(vertices.get(i), vertices.get(i + 1)));
+            }
+            if (!isClosed) {
+                edges.add(edge(vertices.get(n - 1), vertices.get(0)));
+            }
+        }
+
+        int zoneCount = polygonsLng.size();
+        this.zoneLng = polygonsLng.toArray(new double[0][]);
+        this.zoneLat = polygonsLat.toArray(new double[0][]);
+        this.zoneMinLng = new double[zoneCount];
+        this.zoneMaxLng = new double[zoneCount];
+        this.zoneMinLat = new double[zoneCount];
+        this.zoneMaxLat = new double[zoneCount];
+        for (int z = 0; z < zoneCount; z++) {
+            zoneMinLng[z] = Arrays.stream(zoneLng[z]).min().orElse(0) - PADDING;
+            zoneMaxLng[z] = Arrays.stream(zoneLng[z]).max().orElse(0) + PADDING;
+            zoneMinLat[z] = Arrays.stream(zoneLat[z]).min().orElse(0) - PADDING;
+            zoneMaxLat[z] = Arrays.stream(zoneLat[z]).max().orElse(0) + PADDING;
+        }
+
+        int edgeCount = edges.size();
+        this.edgeLng1 = new double[edgeCount];
+        this.edgeLat1 = new double[edgeCount];
+        this.edgeLng2 = new double[edgeCount];
+        this.edgeLat2 = new double[edgeCount];
+        double minLng = Double.POSITIVE_INFINITY, minLat = Double.POSITIVE_INFINITY;
+        double maxLng = Double.NEGATIVE_INFINITY, maxLat = Double.NEGATIVE_INFINITY;
+        for (int e = 0; e < edgeCount; e++) {
+            double[] edge = edges.get(e);
+            edgeLng1[e] = edge[0];
+            edgeLat1[e] = edge[1];
+            edgeLng2[e] = edge[2];
+            edgeLat2[e] = edge[3];
+            minLng = Math.min(minLng, Math.min(edge[0], edge[2]));
+            maxLng = Math.max(maxLng, Math.max(edge[0], edge[2]));
+            minLat = Math.min(minLat, Math.min(edge[1], edge[3]));
+            maxLat = Math.max(maxLat, Math.max(edge[1], edge[3]));
+        }
+
+        if (edgeCount == 0) {
+            this.gridMinLng = 0;
+            this.gridMinLat = 0;
+            this.cellSize = cellSize;
+            this.columns = 0;
+            this.rows = 0;
+            this.cellStart = new int[1];
+            this.cellEdges = new int[0];
+            return;
+        }
+
+        // Grow cells for very large zone sets so the grid stays bounded
+        double size = Math.max(cellSize, Math.max(maxLng - minLng, maxLat - minLat) / MAX_CELLS_PER_AXIS);
+        this.gridMinLng = minLng - PADDING;
+        this.gridMinLat = minLat - PADDING;
+        this.cellSize = size;
+        this.columns = (int) ((maxLng + PADDING - gridMinLng) / size) + 1;
+        this.rows = (int) ((maxLat + PADDING - gridMinLat) / size) + 1;
+
+        // Two passes: count edges per cell, then fill
+        int[] counts = new int[columns * rows + 1];
+        for (int e = 0; e < edgeCount; e++) {
+            forEachCell(e, cell -> counts[cell + 1]++);
+        }
+        for (int c = 0; c < columns * rows; c++) {
+            counts[c + 1] += counts[c];
+        }
+        this.cellStart = counts;
+        this.cellEdges = new int[counts[columns * rows]];
+        int[] fill = Arrays.copyOf(counts, columns * rows);
+        for (int e = 0; e < edgeCount; e++) {
+            int edgeId = e;
+            forEachCell(e, cell -> cellEdges[fill[cell]++] = edgeId);
+        }
+    }
+
+    /**
+     * The restricted areas this index was built from.
+     */
+    public List<RestrictedArea> getZones() {
+        return zones;
+    }
+
+    /**
+     * Hash of the restricted-area set, used to key results that depend on it.
+     */
+    public int getZoneSetHash() {
+        return zoneSetHash;
+    }
+
+    /**
+     * Bounding box of all zone edges as {minLng, minLat, maxLng, maxLat}, or null if there are no zones.
+     */
+    public double[] getBounds() {
+        if (columns == 0) {
+            return null;
+        }
+        return new double[]{gridMinLng, gridMinLat, gridMinLng + columns * cellSize, gridMinLat + rows * cellSize};
+    }
+
+    /**
+     * Checks whether any zone edge passes through a box.
+     */
+    public boolean hasEdgeIn(double minLng, double minLat, double maxLng, double maxLat) {
+        if (columns == 0) {
+            return false;
+        }
+        int minColumn = Math.max(0, column(minLng - PADDING));
+        int maxColumn = Math.min(columns - 1, column(maxLng + PADDING));
+        int minRow = Math.max(0, row(minLat - PADDING));
+        int maxRow = Math.min(rows - 1, row(maxLat + PADDING));
+
+        for (int r = minRow; r <= maxRow; r++) {
+            for (int c = minColumn; c <= maxColumn; c++) {
+                int cell = r * columns + c;
+                for (int k = cellStart[cell]; k < cellStart[cell + 1]; k++) {
+                    int e = cellEdges[k];
+                    if (segmentIntersectsBox(edgeLng1[e], edgeLat1[e], edgeLng2[e], edgeLat2[e],
+                            minLng - PADDING, minLat - PADDING, maxLng + PADDING, maxLat + PADDING)) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean isInside(double lng, double lat) {
+        for (int z = 0; z < zoneLng.length; z++) {
+            if (lng < zoneMinLng[z] || lng > zoneMaxLng[z] || lat < zoneMinLat[z] || lat > zoneMaxLat[z]) {
+                continue;
+            }
+            if (rayCast(zoneLng[z], zoneLat[z], lng, lat)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean crosses(double fromLng, double fromLat, double toLng, double toLat) {
+        return touchesEdge(fromLng, fromLat, toLng, toLat) ||
+                isInside(fromLng, fromLat) ||
+                isInside(toLng, toLat);
+    }
+
+    /**
+     * Checks whether a segment meets any zone edge. Unlike {@link #crosses} this
+     * ignores whether the endpoints are inside a zone.
+     */
+    public boolean touchesEdge(double fromLng, double fromLat, double toLng, double toLat) {
+        if (columns == 0) {
+            return false;
+        }
+        int minColumn = column(Math.min(fromLng, toLng) - PADDING);
+        int maxColumn = column(Math.max(fromLng, toLng) + PADDING);
+        int minRow = row(Math.min(fromLat, toLat) - PADDING);
+        int maxRow = row(Math.max(fromLat, toLat) + PADDING);
+        if (maxColumn < 0 || minColumn >= columns || maxRow < 0 || minRow >= rows) {
+            return false;
+        }
+        minColumn = Math.max(minColumn, 0);
+        maxColumn = Math.min(maxColumn, columns - 1);
+        minRow = Math.max(minRow, 0);
+        maxRow = Math.min(maxRow, rows - 1);
+
+        for (int r = minRow; r <= maxRow; r++) {
+            for (int c = minColumn; c <= maxColumn; c++) {
+                int cell = r * columns + c;
+                for (int k = cellStart[cell]; k < cellStart[cell + 1]; k++) {
+                    int e = cellEdges[k];
+                    if (linesIntersect(fromLng, fromLat, toLng, toLat,
+                            edgeLng1[e], edgeLat1[e], edgeLng2[e], edgeLat2[e])) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    private void forEachCell(int e, IntConsumer action) {
+        int minColumn = Math.max(0, column(Math.min(edgeLng1[e], edgeLng2[e]) - PADDING));
+        int maxColumn = Math.min(columns - 1, column(Math.max(edgeLng1[e], edgeLng2[e]) + PADDING));
+        int minRow = Math.max(0, row(Math.min(edgeLat1[e], edgeLat2[e]) - PADDING));
+        int maxRow = Math.min(rows - 1, row(Math.max(edgeLat1[e], edgeLat2[e]) + PADDING));
+        for (int r = minRow; r <= maxRow; r++) {
+            for (int c = minColumn; c <= maxColumn; c++) {
+                action.accept(r * columns + c);
+            }
+        }
+    }
+
+    private int column(double lng) {
+        return (int) Math.floor((lng - gridMinLng) / cellSize);
+    }
+
+    private int row(double lat) {
+        return (int) Math.floor((lat - gridMinLat) / cellSize);
+    }
+
+    private static double[] edge(LngLat from, LngLat to) {
+        return new double[]{from.lng(), from.lat(), to.lng(), to.lat()};
+    }
+
+    /**
+     * Liang-Barsky clip of a segment against a box.
+     */
+    private static boolean segmentIntersectsBox(double x1, double y1, double x2, double y2,
+                                                double minX, double minY, double maxX, double maxY) {
+        double dx = x2 - x1;
+        double dy = y2 - y1;
+        double[] p = {-dx, dx, -dy, dy};
+        double[] q = {x1 - minX, maxX - x1, y1 - minY, maxY - y1};
+        double t0 = 0;
+        double t1 = 1;
+        for (int i = 0; i < 4; i++) {
+            if (p[i] == 0) {
+                if (q[i] < 0) {
+                    return false;
+                }
+            } else {
+                double t = q[i] / p[i];
+                if (p[i] < 0) {
+                    if (t > t1) return false;
+                    t0 = Math.max(t0, t);
+                } else {
+                    if (t < t0) return false;
+                    t1 = Math.min(t1, t);
+                }
+            }
+        }
+        return true;
+    }
+
+    private static boolean rayCast(double[] lngs, double[] lats, double lng, double lat) {
+        int n = lngs.length;
+        boolean inside = false;
+        for (int i = 0, j = n - 1; i < n; j = i++) {
+            if ((lats[i] > lat) != (lats[j] > lat) &&
+                    lng < (lngs[j] - lngs[i]) * (lat - lats[i]) / (lats[j] - lats[i]) + lngs[i]) {
+                inside = !inside;
+            }
+        }
+        return inside;
+    }
+
+    private static boolean linesIntersect(double x1, double y1, double x2, double y2,
+                                          double x3, double y3, double x4, double y4) {
+        double d1 = direction(x3, y3, x4, y4, x1, y1);
+        double d2 = direction(x3, y3, x4, y4, x2, y2);
+        double d3 = direction(x1, y1, x2, y2, x3, y3);
+        double d4 = direction(x1, y1, x2, y2, x4, y4);
+
+        if (((d1 > 0 && d2 < 0) || (d1 < 0 && d2 > 0)) &&
+                ((d3 > 0 && d4 < 0) || (d3 < 0 && d4 > 0))) {
+            return true;
+        }
+
+        if (d1 == 0 && onSegment(x3, y3, x4, y4, x1, y1)) return true;
+        if (d2 == 0 && onSegment(x3, y3, x4, y4, x2, y2)) return true;
+        if (d3 == 0 && onSegment(x1, y1, x2, y2, x3, y3)) return true;
+        if (d4 == 0 && onSegment(x1, y1, x2, y2, x4, y4)) return true;
+
+        return false;
+    }
+
+    private static double direction(double x1, double y1, double x2, double y2, double x3, double y3) {
+        return (x3 - x1) * (y2 - y1) - (x2 - x1) * (y3 - y1);
+    }
+
+    private static boolean onSegment(double x1, double y1, double x2, double y2, double x, double y) {
+        return Math.min(x1, x2) <= x && x <= Math.max(x1, x2) &&
+                Math.min(y1, y2) <= y && y <= Math.max(y1, y2);
+    }
+}
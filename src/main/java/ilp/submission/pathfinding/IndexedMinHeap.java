@@ -0,0 +1,149 @@
+package ilp.submission.pathfinding;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Binary min-heap of node indices ordered by a double priority.
+ * Tracks the heap slot of every node so that contains and decrease-key
+ * are O(1) and O(log n) instead of the linear scan of PriorityQueue.remove.
+ */
+public final class IndexedMinHeap {
+
+    private static final int NOT_IN_HEAP = -1;
+
+    private int[] heap;
+    private double[] priority;
+    private int[] slotOf;
+    private int size;
+
+    public IndexedMinHeap(int initialCapacity) {
+        int capacity = Math.max(16, initialCapacity);
+        this.heap = new int[capacity];
+        this.priority = new double[capacity];
+        this.slotOf = new int[capacity];
+        Arrays.fill(slotOf, NOT_IN_HEAP);
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean contains(int node) {
+        return node < slotOf.length && slotOf[node] != NOT_IN_HEAP;
+    }
+
+    /**
+     * Adds a node that is not currently in the heap.
+     */
+    public void insert(int node, double nodePriority) {
+        if (contains(node)) {
+            throw new IllegalStateException("Node " + node + " is already in the heap");
+        }
+        ensureNodeCapacity(node);
+        if (size == heap.length) {
+            heap = Arrays.copyOf(heap, size * 2);
+        }
+        priority[node] = nodePriority;
+        heap[size] = node;
+        slotOf[node] = size;
+        siftUp(size++);
+    }
+
+    /**
+     * Lowers the priority of a node already in the heap.
+     */
+    public void decreaseKey(int node, double nodePriority) {
+        if (!contains(node)) {
+            throw new IllegalStateException("Node " + node + " is not in the heap");
+        }
+        if (nodePriority > priority[node]) {
+            throw new IllegalArgumentException("New priority " + nodePriority +
+                    " is greater than current priority " + priority[node]);
+        }
+        priority[node] = nodePriority;
+        siftUp(slotOf[node]);
+    }
+
+    /**
+     * Removes and returns the node with the lowest priority.
+     */
+    public int poll() {
+        if (size == 0) {
+            throw new NoSuchElementException("Heap is empty");
+        }
+        int top = heap[0];
+        slotOf[top] = NOT_IN_HEAP;
+        int last = heap[--size];
+        if (size > 0) {
+            heap[0] = last;
+            slotOf[last] = 0;
+            siftDown(0);
+        }
+        return top;
+    }
+
+    /**
+     * Empties the heap so it can be reused for the next search.
+     */
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            slotOf[heap[i]] = NOT_IN_HEAP;
+        }
+        size = 0;
+    }
+
+    private void siftUp(int slot) {
+        int node = heap[slot];
+        double key = priority[node];
+        while (slot > 0) {
+            int parentSlot = (slot - 1) >>> 1;
+            int parent = heap[parentSlot];
+            if (key >= priority[parent]) {
+                break;
+            }
+            heap[slot] = parent;
+            slotOf[parent] = slot;
+            slot = parentSlot;
+        }
+        heap[slot] = node;
+        slotOf[node] = slot;
+    }
+
+    private void siftDown(int slot) {
+        int node = heap[slot];
+        double key = priority[node];
+        int half = size >>> 1;
+        while (slot < half) {
+            int childSlot = 2 * slot + 1;
+            int child = heap[childSlot];
+            int rightSlot = childSlot + 1;
+            if (rightSlot < size && priority[heap[rightSlot]] < priority[child]) {
+                childSlot = rightSlot;
+                child = heap[childSlot];
+            }
+            if (key <= priority[child]) {
+                break;
+            }
+            heap[slot] = child;
+            slotOf[child] = slot;
+            slot = childSlot;
+        }
+        heap[slot] = node;
+        slotOf[node] = slot;
+    }
+
+    private void ensureNodeCapacity(int node) {
+        if (node >= slotOf.length) {
+            int capacity = Math.max(node + 1, slotOf.length * 2);
+            int oldLength = slotOf.length;
+            slotOf = Arrays.copyOf(slotOf, capacity);
+            Arrays.fill(slotOf, oldLength, capacity, NOT_IN_HEAP);
+            priority = Arrays.copyOf(priority, capacity);
+        }
+    }
+}
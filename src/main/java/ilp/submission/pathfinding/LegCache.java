@@ -0,0 +1,110 @@
+package ilp.submission.pathfinding;
+
+import ilp.submission.model.LngLat;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded LRU cache of planned legs.
+ * Entries are keyed on the start and end lattice cells plus a hash of the restricted-area set,
+ * and are evicted when either the number of legs or the total number of path points exceeds its limit.
+ * A hit also requires the exact start and end to match, so a cached leg always begins where the drone is.
+ */
+public final class LegCache {
+
+    private final int maxLegs;
+    private final long maxPoints;
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long points;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public LegCache(int maxLegs, long maxPoints) {
+        if (maxLegs < 0 || maxPoints < 0) {
+            throw new IllegalArgumentException("Leg cache limits must be non-negative");
+        }
+        this.maxLegs = maxLegs;
+        this.maxPoints = maxPoints;
+    }
+
+    /**
+     * Looks up a cached leg.
+     *
+     * @return the cached path, or null on a miss
+     */
+    public synchronized List<LngLat> get(LngLat start, LngLat end, int zoneSetHash) {
+        Entry entry = entries.get(key(start, end, zoneSetHash));
+        if (entry != null && entry.start.equals(start) && entry.end.equals(end)) {
+            hits.increment();
+            return entry.path;
+        }
+        misses.increment();
+        return null;
+    }
+
+    /**
+     * Stores a planned leg, evicting the least recently used legs if the cache is over its limits.
+     */
+    public synchronized void put(LngLat start, LngLat end, int zoneSetHash, List<LngLat> path) {
+        if (path.size() > maxPoints || maxLegs == 0) {
+            return;
+        }
+        Entry previous = entries.put(key(start, end, zoneSetHash), new Entry(start, end, List.copyOf(path)));
+        if (previous != null) {
+            points -= previous.path.size();
+        }
+        points += path.size();
+
+        Iterator<Map.Entry<Key, Entry>> eldest = entries.entrySet().iterator();
+        while (entries.size() > maxLegs || points > maxPoints) {
+            points -= eldest.next().getValue().path.size();
+            eldest.remove();
+            evictions.increment();
+        }
+    }
+
+    /**
+     * Drops every cached leg, e.g. when the restricted areas change.
+     */
+    public synchronized void invalidateAll() {
+        entries.clear();
+        points = 0;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long pointCount() {
+        return points;
+    }
+
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    public long missCount() {
+        return misses.sum();
+    }
+
+    public long evictionCount() {
+        return evictions.sum();
+    }
+
+    private static Key key(LngLat start, LngLat end, int zoneSetHash) {
+        return new Key(SearchState.cellKey(start.lng(), start.lat()),
+                SearchState.cellKey(end.lng(), end.lat()), zoneSetHash);
+    }
+
+    private record Key(long startCell, long endCell, int zoneSetHash) {
+    }
+
+    private record Entry(LngLat start, LngLat end, List<LngLat> path) {
+    }
+}
@@ -0,0 +1,156 @@
+package ilp.submission.pathfinding;
+
+import ilp.submission.model.LatticeMoves;
+import ilp.submission.model.LngLat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+/**
+ * Estimated moves for every leg a service point's drones can fly for a set of
+ * dispatches: out to each pickup, from each pickup to its delivery, from each
+ * delivery on to every other pickup, and home again.
+ * Estimates are DetourGraph lower bounds, so no-fly detours are counted
+ * without running A*. Legs that cannot be flown around the zones at all are
+ * charged a fixed penalty. The matrix is built once per request, one row per
+ * task, and is then read by both drone assignment and delivery ordering.
+ */
+public final class LegCostMatrix {
+
+    private static final double MOVE_DISTANCE = LatticeMoves.MOVE_DISTANCE;
+
+    private final int size;
+    // Service point to pickup i
+    private final double[] outbound;
+    // Pickup i to delivery i
+    private final double[] carry;
+    // Delivery i to the service point
+    private final double[] inbound;
+    // Delivery i to pickup j, row-major
+    private final double[] between;
+
+    private LegCostMatrix(int size) {
+        this.size = size;
+        this.outbound = new double[size];
+        this.carry = new double[size];
+        this.inbound = new double[size];
+        this.between = new double[size * size];
+    }
+
+    /**
+     * Builds the matrix, spreading the work over the executor.
+     *
+     * @param unreachableMoves moves charged for a leg no route can fly
+     */
+    public static LegCostMatrix compute(DetourGraph graph, LngLat servicePoint,
+                                        List<LngLat> pickups, List<LngLat> deliveries,
+                                        double unreachableMoves, Executor executor) {
+        int n = pickups.size();
+        if (deliveries.size() != n) {
+            throw new IllegalArgumentException("Each pickup needs a delivery");
+        }
+        LegCostMatrix matrix = new LegCostMatrix(n);
+        if (n == 0) {
+            return matrix;
+        }
+
+        // Views first, as every row reads all of the pickup views
+        DetourGraph.View home = graph.view(servicePoint);
+        DetourGraph.View[] pickupViews = new DetourGraph.View[n];
+        DetourGraph.View[] deliveryViews = new DetourGraph.View[n];
+        List<CompletableFuture<Void>> tasks = new ArrayList<>(n + 1);
+        for (int i = 0; i < n; i++) {
+            int stop = i;
+            tasks.add(CompletableFuture.runAsync(() -> {
+                pickupViews[stop] = graph.view(pickups.get(stop));
+                deliveryViews[stop] = graph.view(deliveries.get(stop));
+            }, executor));
+        }
+        joinAll(tasks);
+
+        tasks.clear();
+        tasks.add(CompletableFuture.runAsync(() -> {
+            for (int to = 0; to < n; to++) {
+                matrix.outbound[to] = moves(graph, home, pickupViews[to], unreachableMoves);
+            }
+        }, executor));
+        for (int i = 0; i < n; i++) {
+            int from = i;
+            tasks.add(CompletableFuture.runAsync(() -> {
+                matrix.carry[from] = moves(graph, pickupViews[from], deliveryViews[from], unreachableMoves);
+                matrix.inbound[from] = moves(graph, deliveryViews[from], home, unreachableMoves);
+                int row = from * n;
+                for (int to = 0; to < n; to++) {
+                    if (to != from) {
+                        matrix.between[row + to] = moves(graph, deliveryViews[from], pickupViews[to], unreachableMoves);
+                    }
+                }
+            }, executor));
+        }
+        // Joining the tasks also publishes their writes to the caller
+        joinAll(tasks);
+        return matrix;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Moves from the service point to the pickup of dispatch i.
+     */
+    public double outbound(int i) {
+        return outbound[i];
+    }
+
+    /**
+     * Moves from the pickup of dispatch i to its delivery.
+     */
+    public double carry(int i) {
+        return carry[i];
+    }
+
+    /**
+     * Moves from the delivery of dispatch i back to the service point.
+     */
+    public double inbound(int i) {
+        return inbound[i];
+    }
+
+    /**
+     * Moves from the delivery of dispatch i to the pickup of dispatch j.
+     */
+    public double between(int i, int j) {
+        return between[i * size + j];
+    }
+
+    /**
+     * Moves to fly dispatch i on its own: out, carry, hover and home.
+     */
+    public double roundTrip(int i) {
+        return outbound[i] + carry[i] + 1 + inbound[i];
+    }
+
+    private static double moves(DetourGraph graph, DetourGraph.View from, DetourGraph.View to,
+                                double unreachableMoves) {
+        double distance = graph.distance(from, to);
+        if (distance == Double.POSITIVE_INFINITY) {
+            return unreachableMoves;
+        }
+        return Math.ceil(distance / MOVE_DISTANCE);
+    }
+
+    private static void joinAll(List<CompletableFuture<Void>> tasks) {
+        try {
+            CompletableFuture.allOf(tasks.toArray(CompletableFuture<?>[]::new)).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
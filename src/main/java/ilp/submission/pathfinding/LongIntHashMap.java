@@ -0,0 +1,102 @@
+package ilp.submission.pathfinding;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing hash map from primitive long keys to non-negative int values.
+ * Uses linear probing, so lookups and inserts never box or allocate.
+ */
+public final class LongIntHashMap {
+
+    public static final int MISSING = -1;
+
+    private long[] keys;
+    // Stored as value + 1 so that 0 marks an empty slot
+    private int[] values;
+    private int mask;
+    private int size;
+
+    public LongIntHashMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(16, expectedSize * 2) - 1) << 1;
+        this.keys = new long[capacity];
+        this.values = new int[capacity];
+        this.mask = capacity - 1;
+    }
+
+    /**
+     * Looks up the value stored for a key.
+     *
+     * @param key the key
+     * @return the value, or {@link #MISSING} if the key is absent
+     */
+    public int get(long key) {
+        int slot = slot(key);
+        while (values[slot] != 0) {
+            if (keys[slot] == key) {
+                return values[slot] - 1;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return MISSING;
+    }
+
+    /**
+     * Stores a value for a key, replacing any previous value.
+     *
+     * @param key the key
+     * @param value the value, must be non-negative
+     */
+    public void put(long key, int value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("value must be non-negative, got: " + value);
+        }
+        int slot = slot(key);
+        while (values[slot] != 0) {
+            if (keys[slot] == key) {
+                values[slot] = value + 1;
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        values[slot] = value + 1;
+        size++;
+        if (size * 2 > keys.length) {
+            rehash(keys.length * 2);
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void clear() {
+        if (size > 0) {
+            Arrays.fill(values, 0);
+            size = 0;
+        }
+    }
+
+    private void rehash(int newCapacity) {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        keys = new long[newCapacity];
+        values = new int[newCapacity];
+        mask = newCapacity - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldValues[i] != 0) {
+                int slot = slot(oldKeys[i]);
+                while (values[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private int slot(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+}
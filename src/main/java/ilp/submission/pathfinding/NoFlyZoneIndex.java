@@ -0,0 +1,18 @@
+package ilp.submission.pathfinding;
+
+/**
+ * Answers no-fly-zone queries for the path planner.
+ * Implementations are built once per set of restricted areas and are safe to share between threads.
+ */
+public interface NoFlyZoneIndex {
+
+    /**
+     * Checks whether a point lies strictly inside any restricted area.
+     */
+    boolean isInside(double lng, double lat);
+
+    /**
+     * Checks whether a move touches a restricted-area edge or starts or ends inside a restricted area.
+     */
+    boolean crosses(double fromLng, double fromLat, double toLng, double toLat);
+}
@@ -0,0 +1,161 @@
+package ilp.submission.pathfinding;
+
+import ilp.submission.cache.ContentDigest;
+import ilp.submission.model.DeliveryPathResult;
+import ilp.submission.model.LngLat;
+import ilp.submission.model.MedDispatchRec;
+
+import java.nio.ByteBuffer;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded LRU cache of complete delivery plans.
+ * Plans are content-addressed: the key is a SHA-256 digest of every dispatch field in request order,
+ * plus the version of the reference data the plan was computed against. Entries are evicted when either
+ * the number of plans or the total number of path points exceeds its limit.
+ * Cached results are shared between requests and must not be modified.
+ */
+public final class PlanCache {
+
+    private final int maxPlans;
+    private final long maxPoints;
+    private final LinkedHashMap<Key, DeliveryPathResult> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long points;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public PlanCache(int maxPlans, long maxPoints) {
+        if (maxPlans < 0 || maxPoints < 0) {
+            throw new IllegalArgumentException("Plan cache limits must be non-negative");
+        }
+        this.maxPlans = maxPlans;
+        this.maxPoints = maxPoints;
+    }
+
+    /**
+     * Builds the cache key for a dispatch list planned against the given reference data version.
+     */
+    public static Key key(List<MedDispatchRec> dispatches, long referenceVersion) {
+        ContentDigest digest = new ContentDigest();
+        digest.putInt(dispatches.size());
+        for (MedDispatchRec dispatch : dispatches) {
+            if (dispatch == null) {
+                digest.putBoolean(false);
+                continue;
+            }
+            digest.putBoolean(true);
+            digest.putInt(dispatch.getId());
+            digest.putString(dispatch.getDate());
+            digest.putString(dispatch.getTime());
+            digest.putString(dispatch.getPickupName());
+            putLocation(digest, dispatch.getPickupLocation());
+            putLocation(digest, dispatch.getDeliveryLocation());
+
+            MedDispatchRec.Requirements requirements = dispatch.getRequirements();
+            digest.putBoolean(requirements != null);
+            if (requirements != null) {
+                digest.putDouble(requirements.getCapacity());
+                digest.putFlag(requirements.getCooling());
+                digest.putFlag(requirements.getHeating());
+                digest.putNullableDouble(requirements.getMaxCost());
+            }
+        }
+        ByteBuffer hash = ByteBuffer.wrap(digest.finish());
+        return new Key(hash.getLong(), hash.getLong(), referenceVersion);
+    }
+
+    /**
+     * Looks up a cached plan.
+     *
+     * @return the cached plan, or null on a miss
+     */
+    public synchronized DeliveryPathResult get(Key key) {
+        DeliveryPathResult plan = entries.get(key);
+        if (plan != null) {
+            hits.increment();
+        } else {
+            misses.increment();
+        }
+        return plan;
+    }
+
+    /**
+     * Stores a plan, evicting the least recently used plans if the cache is over its limits.
+     */
+    public synchronized void put(Key key, DeliveryPathResult plan) {
+        long planPoints = pointsIn(plan);
+        if (planPoints > maxPoints || maxPlans == 0) {
+            return;
+        }
+        DeliveryPathResult previous = entries.put(key, plan);
+        if (previous != null) {
+            points -= pointsIn(previous);
+        }
+        points += planPoints;
+
+        Iterator<Map.Entry<Key, DeliveryPathResult>> eldest = entries.entrySet().iterator();
+        while (entries.size() > maxPlans || points > maxPoints) {
+            points -= pointsIn(eldest.next().getValue());
+            eldest.remove();
+            evictions.increment();
+        }
+    }
+
+    /**
+     * Drops every cached plan.
+     */
+    public synchronized void invalidateAll() {
+        entries.clear();
+        points = 0;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long pointCount() {
+        return points;
+    }
+
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    public long missCount() {
+        return misses.sum();
+    }
+
+    public long evictionCount() {
+        return evictions.sum();
+    }
+
+    private static long pointsIn(DeliveryPathResult plan) {
+        long count = 0;
+        for (DeliveryPathResult.DronePathInfo dronePath : plan.getDronePaths()) {
+            if (dronePath.getPath() != null) {
+                count += dronePath.getPath().size();
+            }
+        }
+        return count;
+    }
+
+    private static void putLocation(ContentDigest digest, LngLat location) {
+        digest.putBoolean(location != null);
+        if (location != null) {
+            digest.putNullableDouble(location.lng());
+            digest.putNullableDouble(location.lat());
+        }
+    }
+
+    /**
+     * Cache key: the first 128 bits of the dispatch digest and the reference data version.
+     */
+    public record Key(long digestHigh, long digestLow, long referenceVersion) {
+    }
+}
@@ -0,0 +1,201 @@
+package ilp.submission.pathfinding;
+
+import java.util.Arrays;
+
+/**
+ * Orders one drone's stops so that the round trip from its service point is
+ * as short as possible.
+ *
+ * <p>Costs come in as a square matrix over {@code n + 1} nodes, where node 0
+ * is the service point and node {@code i} is the i-th stop. {@code cost[i][j]}
+ * is the cost of flying from where stop {@code i} ends to where stop {@code j}
+ * starts, and {@code cost[i][0]} is the flight home. The matrix need not be
+ * symmetric: a delivery stop starts at its pickup and ends at its drop-off.
+ * Anything spent inside a stop is the same for every order and is left out.
+ *
+ * <p>Up to {@link #EXACT_LIMIT} stops are ordered exactly with Held-Karp
+ * dynamic programming. Beyond that the nearest-neighbour order is improved
+ * with 2-opt and Or-opt moves until neither finds a shorter tour. Either
+ * way the result is never longer than visiting the stops in index order, so
+ * a route that fitted a drone's move limit as assigned still fits.
+ */
+public final class RouteOptimizer {
+
+    /** Largest stop count ordered exactly; the DP table has 2^n * n entries. */
+    public static final int EXACT_LIMIT = 12;
+
+    /** Longest run of stops an Or-opt move relocates. */
+    private static final int OR_OPT_SEGMENT = 3;
+
+    /** Improvements smaller than this are rounding noise and do not count. */
+    private static final double EPSILON = 1e-9;
+
+    private RouteOptimizer() {
+    }
+
+    /**
+     * Returns the visiting order as stop indices 1..n.
+     */
+    public static int[] order(double[][] cost) {
+        int n = cost.length - 1;
+        if (n <= 1) {
+            return n == 1 ? new int[] {1} : new int[0];
+        }
+        if (n <= EXACT_LIMIT) {
+            return heldKarp(cost, n);
+        }
+        int[] improved = improve(cost, nearestNeighbour(cost, n));
+        int[] given = new int[n];
+        Arrays.setAll(given, i -> i + 1);
+        return tourCost(cost, improved) <= tourCost(cost, given) ? improved : given;
+    }
+
+    /**
+     * Total cost of visiting the stops in the given order, starting and
+     * ending at node 0.
+     */
+    public static double tourCost(double[][] cost, int[] order) {
+        double total = 0;
+        int previous = 0;
+        for (int stop : order) {
+            total += cost[previous][stop];
+            previous = stop;
+        }
+        return total + cost[previous][0];
+    }
+
+    private static int[] heldKarp(double[][] cost, int n) {
+        int subsets = 1 << n;
+        // best[mask * n + last]: cheapest path from node 0 through mask, ending at stop last + 1
+        double[] best = new double[subsets * n];
+        int[] parent = new int[subsets * n];
+        Arrays.fill(best, Double.POSITIVE_INFINITY);
+        for (int last = 0; last < n; last++) {
+            best[(1 << last) * n + last] = cost[0][last + 1];
+            parent[(1 << last) * n + last] = -1;
+        }
+
+        for (int mask = 1; mask < subsets; mask++) {
+            for (int last = 0; last < n; last++) {
+                double here = best[mask * n + last];
+                if ((mask & (1 << last)) == 0 || here == Double.POSITIVE_INFINITY) {
+                    continue;
+                }
+                for (int next = 0; next < n; next++) {
+                    if ((mask & (1 << next)) != 0) {
+                        continue;
+                    }
+                    int slot = (mask | (1 << next)) * n + next;
+                    double candidate = here + cost[last + 1][next + 1];
+                    if (candidate < best[slot]) {
+                        best[slot] = candidate;
+                        parent[slot] = last;
+                    }
+                }
+            }
+        }
+
+        int full = subsets - 1;
+        int last = 0;
+        double shortest = Double.POSITIVE_INFINITY;
+        for (int candidate = 0; candidate < n; candidate++) {
+            double total = best[full * n + candidate] + cost[candidate + 1][0];
+            if (total < shortest) {
+                shortest = total;
+                last = candidate;
+            }
+        }
+
+        int[] order = new int[n];
+        int mask = full;
+        for (int position = n - 1; position >= 0; position--) {
+            order[position] = last + 1;
+            int previous = parent[mask * n + last];
+            mask &= ~(1 << last);
+            last = previous;
+        }
+        return order;
+    }
+
+    private static int[] nearestNeighbour(double[][] cost, int n) {
+        int[] order = new int[n];
+        boolean[] visited = new boolean[n + 1];
+        int current = 0;
+        for (int position = 0; position < n; position++) {
+            int nearest = -1;
+            for (int stop = 1; stop <= n; stop++) {
+                if (!visited[stop] && (nearest < 0 || cost[current][stop] < cost[current][nearest])) {
+                    nearest = stop;
+                }
+            }
+            order[position] = nearest;
+            visited[nearest] = true;
+            current = nearest;
+        }
+        return order;
+    }
+
+    /**
+     * Applies the first improving 2-opt or Or-opt move until none is left.
+     * Costs are asymmetric, so every candidate is priced over the whole tour.
+     */
+    private static int[] improve(double[][] cost, int[] order) {
+        int n = order.length;
+        int[] candidate = new int[n];
+        double current = tourCost(cost, order);
+        boolean improved = true;
+        while (improved) {
+            improved = false;
+
+            // 2-opt: reverse order[i..k]
+            for (int i = 0; i < n - 1 && !improved; i++) {
+                for (int k = i + 1; k < n && !improved; k++) {
+                    System.arraycopy(order, 0, candidate, 0, n);
+                    for (int a = i, b = k; a < b; a++, b--) {
+                        int swap = candidate[a];
+                        candidate[a] = candidate[b];
+                        candidate[b] = swap;
+                    }
+                    double total = tourCost(cost, candidate);
+                    if (total < current - EPSILON) {
+                        System.arraycopy(candidate, 0, order, 0, n);
+                        current = total;
+                        improved = true;
+                    }
+                }
+            }
+
+            // Or-opt: move order[i..i+length) to just before position target
+            for (int length = 1; length <= OR_OPT_SEGMENT && !improved; length++) {
+                for (int i = 0; i + length <= n && !improved; i++) {
+                    for (int target = 0; target <= n && !improved; target++) {
+                        if (target >= i && target <= i + length) {
+                            continue;
+                        }
+                        relocate(order, i, length, target, candidate);
+                        double total = tourCost(cost, candidate);
+                        if (total < current - EPSILON) {
+                            System.arraycopy(candidate, 0, order, 0, n);
+                            current = total;
+                            improved = true;
+                        }
+                    }
+                }
+            }
+        }
+        return order;
+    }
+
+    private static void relocate(int[] order, int start, int length, int target, int[] into) {
+        int out = 0;
+        for (int position = 0; position <= order.length; position++) {
+            if (position == target) {
+                System.arraycopy(order, start, into, out, length);
+                out += length;
+            }
+            if (position < order.length && (position < start || position >= start + length)) {
+                into[out++] = order[position];
+            }
+        }
+    }
+}
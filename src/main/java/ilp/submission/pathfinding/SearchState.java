@@ -0,0 +1,134 @@
+package ilp.submission.pathfinding;
+
+import java.util.Arrays;
+
+/**
+ * Reusable A* search state.
+ * Nodes are identified by a dense int index and stored in parallel primitive arrays;
+ * lattice cells map to node indices through a packed long key.
+ * The open set is an indexed heap over the same node indices.
+ */
+public final class SearchState {
+
+    public static final int NO_NODE = -1;
+
+    private static final int INITIAL_CAPACITY = 4096;
+    // Same rounding as the old string key: 6 decimal places
+    private static final double CELL_SCALE = 1_000_000.0;
+
+    private final LongIntHashMap index = new LongIntHashMap(INITIAL_CAPACITY);
+    private final IndexedMinHeap openSet = new IndexedMinHeap(INITIAL_CAPACITY);
+
+    private double[] lng = new double[INITIAL_CAPACITY];
+    private double[] lat = new double[INITIAL_CAPACITY];
+    private double[] gScore = new double[INITIAL_CAPACITY];
+    private double[] fScore = new double[INITIAL_CAPACITY];
+    private int[] parent = new int[INITIAL_CAPACITY];
+    private boolean[] closed = new boolean[INITIAL_CAPACITY];
+    private int size;
+
+    /**
+     * Packs a coordinate into a cell key by rounding both axes to 6 decimal places.
+     */
+    public static long cellKey(double lng, double lat) {
+        long lngCell = Math.round(lng * CELL_SCALE);
+        long latCell = Math.round(lat * CELL_SCALE);
+        return (lngCell << 32) | (latCell & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Clears all nodes so the state can be reused for the next search.
+     */
+    public void reset() {
+        index.clear();
+        openSet.clear();
+        size = 0;
+    }
+
+    /**
+     * Finds the node stored for a cell.
+     *
+     * @return the node index, or {@link #NO_NODE} if the cell has not been seen
+     */
+    public int find(long cellKey) {
+        return index.get(cellKey);
+    }
+
+    /**
+     * Adds a node for a cell that has not been seen yet.
+     *
+     * @return the new node index
+     */
+    public int add(long cellKey, double nodeLng, double nodeLat, int parentNode, double g, double f) {
+        if (size == lng.length) {
+            grow();
+        }
+        int node = size++;
+        lng[node] = nodeLng;
+        lat[node] = nodeLat;
+        parent[node] = parentNode;
+        gScore[node] = g;
+        fScore[node] = f;
+        closed[node] = false;
+        index.put(cellKey, node);
+        return node;
+    }
+
+    /**
+     * Records a cheaper route to an existing node.
+     */
+    public void update(int node, int parentNode, double g, double f) {
+        parent[node] = parentNode;
+        gScore[node] = g;
+        fScore[node] = f;
+    }
+
+    public void close(int node) {
+        closed[node] = true;
+    }
+
+    public boolean isClosed(int node) {
+        return closed[node];
+    }
+
+    public double lng(int node) {
+        return lng[node];
+    }
+
+    public double lat(int node) {
+        return lat[node];
+    }
+
+    public double gScore(int node) {
+        return gScore[node];
+    }
+
+    public double fScore(int node) {
+        return fScore[node];
+    }
+
+    public int parent(int node) {
+        return parent[node];
+    }
+
+    /**
+     * Open set ordered by fScore; cleared together with the nodes on {@link #reset()}.
+     */
+    public IndexedMinHeap openSet() {
+        return openSet;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private void grow() {
+        int capacity = lng.length * 2;
+        lng = Arrays.copyOf(lng, capacity);
+        lat = Arrays.copyOf(lat, capacity);
+        gScore = Arrays.copyOf(gScore, capacity);
+        fScore = Arrays.copyOf(fScore, capacity);
+        parent = Arrays.copyOf(parent, capacity);
+        closed = Arrays.copyOf(closed, capacity);
+    }
+}
@@ -0,0 +1,66 @@
+package ilp.submission.service;
+
+import ilp.submission.model.*;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Non-blocking view of the ILP reference data, so a request can start all
+ * the fetches it needs at once and wait for the slowest rather than the sum.
+ */
+public interface AsyncIlpRestClient {
+    /**
+     * Fetches all drones from the ILP service.
+     *
+     * @return future list of drones
+     */
+    CompletableFuture<List<Drone>> fetchDronesAsync();
+
+    /**
+     * Fetches all restricted areas from the ILP service.
+     *
+     * @return future list of restricted areas
+     */
+    CompletableFuture<List<RestrictedArea>> fetchRestrictedAreasAsync();
+
+    /**
+     * Fetches all drone service points from the ILP service.
+     *
+     * @return future list of drone service points
+     */
+    CompletableFuture<List<DroneServicePoint>> fetchServicePointsAsync();
+
+    /**
+     * Fetches drone availability for service points.
+     *
+     * @return future list of drones for service points
+     */
+    CompletableFuture<List<DroneForServicePoint>> fetchDroneAvailabilityAsync();
+
+    /**
+     * Fetches the central area region.
+     *
+     * @return future central area region
+     */
+    CompletableFuture<Region> fetchCentralAreaAsync();
+
+    /**
+     * Waits for a fetch, rethrowing its failure as the original exception
+     * rather than wrapped in a CompletionException.
+     *
+     * @param fetch a future returned by this client
+     * @return the fetched value
+     */
+    static <T> T await(CompletableFuture<T> fetch) {
+        try {
+            return fetch.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -10,6 +10,15 @@ import java.util.Optional;
  * Service interface for querying drone information.
  */
 public interface DroneQueryService {
+    /**
+     * A drone together with a version of the drone list it was read from.
+     * The version is derived from the list's content, so it is the same
+     * across restarts and replicas and changes whenever the content does;
+     * it can be used as an entity tag.
+     */
+    record VersionedDrone(Drone drone, String version) {
+    }
+
     /**
      * Finds drones with specific cooling capability.
      *
@@ -26,6 +35,14 @@ public interface DroneQueryService {
      */
     Optional<Drone> findDroneById(String id);
 
+    /**
+     * Finds a drone by its ID, along with the version of the drone list.
+     *
+     * @param id the drone ID
+     * @return Optional containing the drone and version if found
+     */
+    Optional<VersionedDrone> findVersionedDroneById(String id);
+
     /**
      * Queries drones by a single attribute.
      *
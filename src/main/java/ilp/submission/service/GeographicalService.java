@@ -3,6 +3,8 @@ package ilp.submission.service;
 import ilp.submission.model.LngLat;
 import ilp.submission.model.Region;
 
+import java.util.List;
+
 
 public interface GeographicalService {
 
@@ -16,4 +18,32 @@ public interface GeographicalService {
 
 
     boolean isInRegion(LngLat point, Region region);
+
+    /**
+     * isInRegion for many points against one region; result[i] is for points.get(i).
+     */
+    boolean[] isInRegion(List<LngLat> points, Region region);
+
+    /**
+     * isInRegion for every point against every region; result[r][i] is for
+     * regions.get(r) and points.get(i).
+     */
+    boolean[][] isInRegions(List<LngLat> points, List<Region> regions);
+
+    /**
+     * calculateDistance for each pair (fromLngs[i], fromLats[i]) to (toLngs[i], toLats[i]).
+     */
+    double[] calculateDistances(double[] fromLngs, double[] fromLats, double[] toLngs, double[] toLats);
+
+    /**
+     * isCloseTo for each pair, laid out as in calculateDistances.
+     */
+    boolean[] areCloseTo(double[] fromLngs, double[] fromLats, double[] toLngs, double[] toLats);
+
+    /**
+     * calculateNextPosition for each (lngs[i], lats[i]) and angles[i].
+     *
+     * @return the next positions interleaved: lng of i at 2i, lat of i at 2i + 1
+     */
+    double[] calculateNextPositions(double[] lngs, double[] lats, double[] angles);
 }
@@ -51,6 +51,13 @@ public interface IlpRestClient {
      */
     List<DroneForServicePoint> fetchDroneAvailability();
 
+    /**
+     * Fetches the central area region.
+     *
+     * @return the central area region
+     */
+    Region fetchCentralArea();
+
     /**
      * Checks if the ILP service is alive.
      *
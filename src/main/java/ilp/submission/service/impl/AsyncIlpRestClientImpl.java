@@ -0,0 +1,53 @@
+package ilp.submission.service.impl;
+
+import ilp.submission.model.*;
+import ilp.submission.service.AsyncIlpRestClient;
+import ilp.submission.service.IlpRestClient;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Runs each blocking IlpRestClient call on the fetch executor. Goes through
+ * the primary (caching) client, so cached datasets complete without a round trip.
+ */
+@Service
+public class AsyncIlpRestClientImpl implements AsyncIlpRestClient {
+
+    private final IlpRestClient ilpRestClient;
+    private final Executor fetchExecutor;
+
+    public AsyncIlpRestClientImpl(IlpRestClient ilpRestClient,
+                                  @Qualifier("ilpFetchExecutor") Executor fetchExecutor) {
+        this.ilpRestClient = ilpRestClient;
+        this.fetchExecutor = fetchExecutor;
+    }
+
+    @Override
+    public CompletableFuture<List<Drone>> fetchDronesAsync() {
+        return CompletableFuture.supplyAsync(ilpRestClient::fetchDrones, fetchExecutor);
+    }
+
+    @Override
+    public CompletableFuture<List<RestrictedArea>> fetchRestrictedAreasAsync() {
+        return CompletableFuture.supplyAsync(ilpRestClient::fetchRestrictedAreas, fetchExecutor);
+    }
+
+    @Override
+    public CompletableFuture<List<DroneServicePoint>> fetchServicePointsAsync() {
+        return CompletableFuture.supplyAsync(ilpRestClient::fetchServicePoints, fetchExecutor);
+    }
+
+    @Override
+    public CompletableFuture<List<DroneForServicePoint>> fetchDroneAvailabilityAsync() {
+        return CompletableFuture.supplyAsync(ilpRestClient::fetchDroneAvailability, fetchExecutor);
+    }
+
+    @Override
+    public CompletableFuture<Region> fetchCentralAreaAsync() {
+        return CompletableFuture.supplyAsync(ilpRestClient::fetchCentralArea, fetchExecutor);
+    }
+}
@@ -0,0 +1,171 @@
+package ilp.submission.service.impl;
+
+import ilp.submission.model.DroneForServicePoint;
+import ilp.submission.model.DroneServicePoint;
+import ilp.submission.model.LatticeMoves;
+import ilp.submission.model.LngLat;
+
+import java.time.DateTimeException;
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Drone availability compiled from one snapshot of the ILP reference data:
+ * drone ID -> service point -> day of week -> sorted, merged time intervals.
+ * A dispatch check is a hash lookup plus a binary search per service point
+ * the drone works from, instead of scanning every service point's drone list
+ * and re-parsing each window's times.
+ * Windows whose day or times cannot be parsed are left out.
+ */
+final class AvailabilityIndex {
+
+    private static final double MOVE_DISTANCE = LatticeMoves.MOVE_DISTANCE;
+    private static final ServicePointWindows[] NONE = new ServicePointWindows[0];
+
+    private final List<DroneForServicePoint> availability;
+    private final List<DroneServicePoint> servicePoints;
+    private final Map<String, ServicePointWindows[]> windowsByDrone;
+
+    AvailabilityIndex(List<DroneForServicePoint> availability, List<DroneServicePoint> servicePoints) {
+        this.availability = availability;
+        this.servicePoints = servicePoints;
+
+        Map<Integer, LngLat> locations = new HashMap<>();
+        if (servicePoints != null) {
+            for (DroneServicePoint servicePoint : servicePoints) {
+                if (servicePoint.getId() != null) {
+                    locations.putIfAbsent(servicePoint.getId(), servicePoint.getLocation());
+                }
+            }
+        }
+
+        Map<String, List<ServicePointWindows>> byDrone = new HashMap<>();
+        if (availability != null) {
+            for (DroneForServicePoint servicePoint : availability) {
+                if (servicePoint.getDrones() == null) {
+                    continue;
+                }
+                LngLat location = locations.get(servicePoint.getServicePointId());
+                // Only a drone's first entry at a service point counts
+                Set<String> seen = new HashSet<>();
+                for (DroneForServicePoint.DroneAvailability drone : servicePoint.getDrones()) {
+                    if (drone.getId() == null || !seen.add(drone.getId()) || drone.getAvailability() == null) {
+                        continue;
+                    }
+                    byDrone.computeIfAbsent(drone.getId(), id -> new ArrayList<>())
+                            .add(new ServicePointWindows(location, compile(drone.getAvailability())));
+                }
+            }
+        }
+
+        this.windowsByDrone = new HashMap<>();
+        byDrone.forEach((id, windows) -> windowsByDrone.put(id, windows.toArray(NONE)));
+    }
+
+    /**
+     * Whether this index was compiled from exactly these lists.
+     */
+    boolean isFor(List<DroneForServicePoint> availability, List<DroneServicePoint> servicePoints) {
+        return this.availability == availability && this.servicePoints == servicePoints;
+    }
+
+    /**
+     * Checks whether the drone is on duty at some service point at the given
+     * time, and can fly from there to the delivery and back within maxMoves.
+     */
+    boolean isAvailable(String droneId, DayOfWeek day, LocalTime time, LngLat delivery, int maxMoves) {
+        long nanoOfDay = time.toNanoOfDay();
+        for (ServicePointWindows windows : windowsByDrone.getOrDefault(droneId, NONE)) {
+            if (windows.covers(day, nanoOfDay) && windows.canReach(delivery, maxMoves)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Groups windows by day as flat {from, until, from, until, ...} arrays of
+     * nano-of-day values, sorted and with overlapping windows merged.
+     */
+    private static long[][] compile(List<DroneForServicePoint.AvailabilityWindow> windows) {
+        List<List<long[]>> byDay = new ArrayList<>();
+        for (int d = 0; d < 7; d++) {
+            byDay.add(new ArrayList<>());
+        }
+        for (DroneForServicePoint.AvailabilityWindow window : windows) {
+            if (window.getDayOfWeek() == null || window.getFrom() == null || window.getUntil() == null) {
+                continue;
+            }
+            try {
+                DayOfWeek day = DayOfWeek.valueOf(window.getDayOfWeek().toUpperCase(Locale.ROOT));
+                long from = LocalTime.parse(window.getFrom()).toNanoOfDay();
+                long until = LocalTime.parse(window.getUntil()).toNanoOfDay();
+                if (from <= until) {
+                    byDay.get(day.ordinal()).add(new long[]{from, until});
+                }
+            } catch (IllegalArgumentException | DateTimeException e) {
+                // Malformed window: it can never match
+            }
+        }
+
+        long[][] compiled = new long[7][];
+        for (int d = 0; d < 7; d++) {
+            List<long[]> intervals = byDay.get(d);
+            intervals.sort((a, b) -> Long.compare(a[0], b[0]));
+            long[] flat = new long[intervals.size() * 2];
+            int size = 0;
+            for (long[] interval : intervals) {
+                // Bounds are inclusive, so windows that meet end to end merge as well
+                if (size > 0 && interval[0] <= flat[size - 1] + 1) {
+                    flat[size - 1] = Math.max(flat[size - 1], interval[1]);
+                } else {
+                    flat[size++] = interval[0];
+                    flat[size++] = interval[1];
+                }
+            }
+            compiled[d] = Arrays.copyOf(flat, size);
+        }
+        return compiled;
+    }
+
+    /**
+     * One drone's windows at one service point.
+     */
+    private record ServicePointWindows(LngLat location, long[][] intervalsByDay) {
+
+        boolean covers(DayOfWeek day, long nanoOfDay) {
+            long[] intervals = intervalsByDay[day.ordinal()];
+            // Last interval starting at or before the time
+            int low = 0;
+            int high = intervals.length / 2 - 1;
+            int found = -1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                if (intervals[2 * mid] <= nanoOfDay) {
+                    found = mid;
+                    low = mid + 1;
+                } else {
+                    high = mid - 1;
+                }
+            }
+            return found >= 0 && nanoOfDay <= intervals[2 * found + 1];
+        }
+
+        boolean canReach(LngLat delivery, int maxMoves) {
+            if (delivery == null || location == null) {
+                return false;
+            }
+            // Round trip: service point -> delivery -> service point
+            int movesOneWay = (int) Math.ceil(location.distanceTo(delivery) / MOVE_DISTANCE);
+            return maxMoves >= movesOneWay * 2;
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package ilp.submission.service.impl;
+
+import ilp.submission.cache.RefreshingValue;
+import ilp.submission.model.*;
+import ilp.submission.service.IlpRestClient;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+/**
+ * IlpRestClient decorator that keeps the ILP reference data (drones, service
+ * points, restricted areas, availability and the central area) in memory.
+ * Each dataset has its own TTL; stale data is served while a background
+ * refresh runs, and concurrent misses share a single upstream call.
+ * Dispatch records, regions and the liveness check go straight through.
+ */
+public class CachingIlpRestClient implements IlpRestClient {
+
+    /**
+     * Time-to-live for each cached dataset.
+     */
+    public record Ttls(Duration drones, Duration servicePoints, Duration restrictedAreas,
+                       Duration droneAvailability, Duration centralArea) {
+    }
+
+    private final IlpRestClient upstream;
+    private final RefreshingValue<List<Drone>> drones;
+    private final RefreshingValue<List<DroneServicePoint>> servicePoints;
+    private final RefreshingValue<List<RestrictedArea>> restrictedAreas;
+    private final RefreshingValue<List<DroneForServicePoint>> droneAvailability;
+    private final RefreshingValue<Region> centralArea;
+
+    public CachingIlpRestClient(IlpRestClient upstream, Ttls ttls, Duration staleWindow, Executor refreshExecutor) {
+        this.upstream = upstream;
+        this.drones = new RefreshingValue<>("drones",
+                readOnly(upstream::fetchDrones), ttls.drones(), staleWindow, refreshExecutor);
+        this.servicePoints = new RefreshingValue<>("servicePoints",
+                readOnly(upstream::fetchServicePoints), ttls.servicePoints(), staleWindow, refreshExecutor);
+        this.restrictedAreas = new RefreshingValue<>("restrictedAreas",
+                readOnly(upstream::fetchRestrictedAreas), ttls.restrictedAreas(), staleWindow, refreshExecutor);
+        this.droneAvailability = new RefreshingValue<>("droneAvailability",
+                readOnly(upstream::fetchDroneAvailability), ttls.droneAvailability(), staleWindow, refreshExecutor);
+        this.centralArea = new RefreshingValue<>("centralArea",
+                upstream::fetchCentralArea, ttls.centralArea(), staleWindow, refreshExecutor);
+    }
+
+    @Override
+    public List<Drone> fetchDrones() {
+        return drones.get();
+    }
+
+    @Override
+    public List<Region> fetchRegions() {
+        return upstream.fetchRegions();
+    }
+
+    @Override
+    public List<RestrictedArea> fetchRestrictedAreas() {
+        return restrictedAreas.get();
+    }
+
+    @Override
+    public List<DroneServicePoint> fetchServicePoints() {
+        return servicePoints.get();
+    }
+
+    @Override
+    public List<MedDispatchRec> fetchMedDispatchRecords(String date) {
+        return upstream.fetchMedDispatchRecords(date);
+    }
+
+    @Override
+    public List<DroneForServicePoint> fetchDroneAvailability() {
+        return droneAvailability.get();
+    }
+
+    @Override
+    public Region fetchCentralArea() {
+        return centralArea.get();
+    }
+
+    @Override
+    public boolean isAlive() {
+        return upstream.isAlive();
+    }
+
+    /**
+     * The cached datasets, for metrics.
+     */
+    public List<RefreshingValue<?>> datasets() {
+        return List.of(drones, servicePoints, restrictedAreas, droneAvailability, centralArea);
+    }
+
+    // Cached lists are shared between requests, so callers must not modify them
+    private static <E> Supplier<List<E>> readOnly(Supplier<List<E>> fetch) {
+        return () -> Collections.unmodifiableList(fetch.get());
+    }
+}
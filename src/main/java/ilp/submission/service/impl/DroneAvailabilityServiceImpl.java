@@ -2,16 +2,14 @@ package ilp.submission.service.impl;
 
 import ilp.submission.model.*;
 import ilp.submission.service.DroneAvailabilityService;
-import ilp.submission.service.IlpRestClient;
+import ilp.submission.service.AsyncIlpRestClient;
 import org.springframework.stereotype.Service;
 
-import java.time.DayOfWeek;
+import java.time.DateTimeException;
 import java.time.LocalDate;
 import java.time.LocalTime;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Implementation of DroneAvailabilityService for Group 4.
@@ -19,9 +17,13 @@ import java.util.stream.Collectors;
 @Service
 public class DroneAvailabilityServiceImpl implements DroneAvailabilityService {
 
-    private final IlpRestClient ilpRestClient;
+    private final AsyncIlpRestClient ilpRestClient;
 
-    public DroneAvailabilityServiceImpl(IlpRestClient ilpRestClient) {
+    // Recompiled when the fetched drones, availability or service points change
+    private volatile DroneCandidateIndex candidateIndex;
+    private volatile AvailabilityIndex availabilityIndex;
+
+    public DroneAvailabilityServiceImpl(AsyncIlpRestClient ilpRestClient) {
         this.ilpRestClient = ilpRestClient;
     }
 
@@ -31,202 +33,79 @@ public class DroneAvailabilityServiceImpl implements DroneAvailabilityService {
             return List.of();
         }
 
-        // Fetch all necessary data
-        List<Drone> allDrones = ilpRestClient.fetchDrones();
-        List<DroneForServicePoint> droneAvailability = ilpRestClient.fetchDroneAvailability();
-        List<DroneServicePoint> servicePoints = ilpRestClient.fetchServicePoints();
+        // Fetch all necessary data in parallel
+        CompletableFuture<List<Drone>> dronesFetch = ilpRestClient.fetchDronesAsync();
+        CompletableFuture<List<DroneForServicePoint>> droneAvailabilityFetch = ilpRestClient.fetchDroneAvailabilityAsync();
+        CompletableFuture<List<DroneServicePoint>> servicePointsFetch = ilpRestClient.fetchServicePointsAsync();
 
-        // Create lookup maps
-        Map<String, Drone> droneMap = allDrones.stream()
-                .collect(Collectors.toMap(Drone::getId, d -> d));
+        List<Drone> allDrones = AsyncIlpRestClient.await(dronesFetch);
+        List<DroneForServicePoint> droneAvailability = AsyncIlpRestClient.await(droneAvailabilityFetch);
+        List<DroneServicePoint> servicePoints = AsyncIlpRestClient.await(servicePointsFetch);
 
-        Map<String, DroneServicePoint> servicePointMap = servicePoints.stream()
-                .collect(Collectors.toMap(DroneServicePoint::getName, sp -> sp));
+        DroneCandidateIndex candidateIndex = candidateIndex(allDrones);
+        AvailabilityIndex availabilityIndex = availabilityIndex(droneAvailability, servicePoints);
 
-        // Start with all drone IDs
-        List<String> result = allDrones.stream()
-                .map(Drone::getId)
-                .collect(Collectors.toList());
+        // Start with every drone that has a capability record
+        long[] candidates = candidateIndex.all();
 
-        // Iteratively filter by each dispatch (AND logic)
+        // Narrow the candidates by each dispatch (AND logic)
         for (MedDispatchRec dispatch : dispatches) {
-            result = result.stream()
-                    .filter(droneId -> canFulfillDispatch(
-                            droneId,
-                            dispatch,
-                            droneMap,
-                            droneAvailability,
-                            servicePointMap))
-                    .collect(Collectors.toList());
-
-            // Early exit if no drones remain
-            if (result.isEmpty()) {
-                return List.of();
-            }
-        }
-
-        return result;
-    }
-
-    private boolean canFulfillDispatch(
-            String droneId,
-            MedDispatchRec dispatch,
-            Map<String, Drone> droneMap,
-            List<DroneForServicePoint> droneAvailability,
-            Map<String, DroneServicePoint> servicePointMap) {
-
-        // Step 1: Check capacity, cooling, heating from /drones endpoint
-        Drone drone = droneMap.get(droneId);
-        if (drone == null || drone.getCapability() == null) {
-            return false;
-        }
-
-        if (!meetsRequirements(drone.getCapability(), dispatch.getRequirements())) {
-            return false;
-        }
-
-        // Step 2: Check date/time availability and maxMoves from /drones-for-service-points endpoint
-        if (!isAvailableAtServicePoint(droneId, drone, dispatch, droneAvailability, servicePointMap)) {
-            return false;
-        }
-
-        return true;
-    }
-
-    private boolean isAvailableAtServicePoint(
-            String droneId,
-            Drone drone,
-            MedDispatchRec dispatch,
-            List<DroneForServicePoint> droneAvailability,
-            Map<String, DroneServicePoint> servicePointMap) {
-
-        // If no date/time specified, assume available
-        if (dispatch.getDate() == null || dispatch.getTime() == null) {
-            return true;
-        }
-
-        try {
-            LocalDate date = LocalDate.parse(dispatch.getDate());
-            LocalTime time = LocalTime.parse(dispatch.getTime());
-            String dayOfWeek = getDayOfWeek(date.getDayOfWeek());
-
-            // Check ALL service points to see if drone is available at ANY of them
-            for (DroneForServicePoint availability : droneAvailability) {
-                if (availability.getDrones() == null) {
-                    continue;
-                }
-
-                // Find this specific drone's availability at this service point
-                DroneForServicePoint.DroneAvailability droneAvail = availability.getDrones().stream()
-                        .filter(da -> da.getId().equals(droneId))
-                        .findFirst()
-                        .orElse(null);
-
-                if (droneAvail == null || droneAvail.getAvailability() == null) {
-                    continue; // This drone is not available at this service point
+            // Step 1: Check capacity, cooling, heating and cost from /drones endpoint
+            DroneBitsets.and(candidates, candidateIndex.meeting(dispatch.getRequirements()));
+
+            // Step 2: Check date/time availability and maxMoves from /drones-for-service-points endpoint.
+            // If no date/time specified, assume available
+            if (dispatch.getDate() != null && dispatch.getTime() != null) {
+                LocalDate date;
+                LocalTime time;
+                try {
+                    date = LocalDate.parse(dispatch.getDate());
+                    time = LocalTime.parse(dispatch.getTime());
+                } catch (DateTimeException e) {
+                    return List.of(); // Parsing error: no drone can be scheduled
                 }
-
-                // Check if the dispatch date/time falls within availability windows
-                for (DroneForServicePoint.AvailabilityWindow window : droneAvail.getAvailability()) {
-                    // First check: Does the day match?
-                    if (window.getDayOfWeek().equalsIgnoreCase(dayOfWeek)) {
-                        LocalTime from = LocalTime.parse(window.getFrom());
-                        LocalTime until = LocalTime.parse(window.getUntil());
-
-                        // Second check: Does the time fall within the window?
-                        if (!time.isBefore(from) && !time.isAfter(until)) {
-                            // Third check: Does the drone have enough maxMoves for this delivery?
-                            if (hasEnoughMovesForDelivery(drone, availability.getServicePointId(),
-                                    dispatch.getDeliveryLocation(), servicePointMap)) {
-                                return true; // Drone is available and can complete this delivery!
-                            }
-                        }
+                for (int drone = DroneBitsets.next(candidates, 0); drone >= 0;
+                     drone = DroneBitsets.next(candidates, drone + 1)) {
+                    if (!availabilityIndex.isAvailable(candidateIndex.id(drone), date.getDayOfWeek(), time,
+                            dispatch.getDeliveryLocation(), candidateIndex.maxMoves(drone))) {
+                        DroneBitsets.clear(candidates, drone);
                     }
                 }
             }
 
-            return false; // Drone is not available at any service point for this date/time
-        } catch (Exception e) {
-            return false; // Parsing error
+            // Early exit if no drones remain
+            if (DroneBitsets.isEmpty(candidates)) {
+                return List.of();
+            }
         }
-    }
 
-    private String getDayOfWeek(DayOfWeek dayOfWeek) {
-        return dayOfWeek.name(); // Returns "MONDAY", "TUESDAY", etc.
+        return candidateIndex.ids(candidates);
     }
 
-    private boolean hasEnoughMovesForDelivery(
-            Drone drone,
-            Integer servicePointId,
-            LngLat deliveryLocation,
-            Map<String, DroneServicePoint> servicePointMap) {
-
-        if (deliveryLocation == null || drone.getCapability() == null) {
-            return false;
+    /**
+     * Returns the candidate index for this snapshot of the drone list,
+     * compiling it only when the fetched list has changed.
+     */
+    private DroneCandidateIndex candidateIndex(List<Drone> drones) {
+        DroneCandidateIndex index = candidateIndex;
+        if (index == null || !index.isFor(drones)) {
+            index = new DroneCandidateIndex(drones);
+            candidateIndex = index;
         }
-
-        // Find the service point by ID
-        DroneServicePoint servicePoint = servicePointMap.values().stream()
-                .filter(sp -> sp.getId().equals(servicePointId))
-                .findFirst()
-                .orElse(null);
-
-        if (servicePoint == null || servicePoint.getLocation() == null) {
-            return false;
-        }
-
-        // Calculate distance from service point to delivery location
-        LngLat servicePointLocation = servicePoint.getLocation();
-        double distance = servicePointLocation.distanceTo(deliveryLocation);
-
-        // Each move covers 0.00015 units (from LngLat.MOVE_DISTANCE)
-        double moveDistance = 0.00015;
-
-        // Calculate moves needed for one-way trip (round up)
-        int movesOneWay = (int) Math.ceil(distance / moveDistance);
-
-        // Round trip: service point -> delivery -> service point
-        int totalMovesNeeded = movesOneWay * 2;
-
-        // Check if drone has enough maxMoves
-        return drone.getCapability().getMaxMoves() >= totalMovesNeeded;
+        return index;
     }
 
-    private boolean meetsRequirements(DroneCapability cap, MedDispatchRec.Requirements requirements) {
-        if (requirements == null) {
-            return true;
+    /**
+     * Returns the availability index for this snapshot of the reference data,
+     * compiling it only when the fetched lists have changed.
+     */
+    private AvailabilityIndex availabilityIndex(List<DroneForServicePoint> droneAvailability,
+                                                List<DroneServicePoint> servicePoints) {
+        AvailabilityIndex index = availabilityIndex;
+        if (index == null || !index.isFor(droneAvailability, servicePoints)) {
+            index = new AvailabilityIndex(droneAvailability, servicePoints);
+            availabilityIndex = index;
         }
-
-        // Check capacity
-        if (cap.getCapacity() < requirements.getCapacity()) {
-            return false;
-        }
-
-        // Check cooling (mutually exclusive with heating)
-        if (requirements.requiresCooling() && !cap.isCooling()) {
-            return false;
-        }
-
-        // Check heating (mutually exclusive with cooling)
-        if (requirements.requiresHeating() && !cap.isHeating()) {
-            return false;
-        }
-
-        // Cooling and heating are mutually exclusive
-        if (requirements.requiresCooling() && requirements.requiresHeating()) {
-            return false;
-        }
-
-        // Check maxCost if specified
-        // At minimum, a drone costs costInitial + costFinal (even with zero moves)
-        // If maxCost is less than this minimum, the drone cannot fulfill the requirement
-        if (requirements.getMaxCost() != null) {
-            double minCost = cap.getCostInitial() + cap.getCostFinal();
-            if (requirements.getMaxCost() < minCost) {
-                return false;
-            }
-        }
-
-        return true;
+        return index;
     }
 }
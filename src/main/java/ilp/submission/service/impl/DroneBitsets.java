@@ -0,0 +1,77 @@
+package ilp.submission.service.impl;
+
+/**
+ * Operations on sets of drones held as bitsets, where bit i stands for drone
+ * i of one drone list snapshot. Sets over the same snapshot have the same
+ * number of words.
+ */
+final class DroneBitsets {
+
+    private DroneBitsets() {
+    }
+
+    static long[] empty(int drones) {
+        return new long[words(drones)];
+    }
+
+    static void and(long[] into, long[] other) {
+        for (int w = 0; w < into.length; w++) {
+            into[w] &= other[w];
+        }
+    }
+
+    static void andNot(long[] into, long[] other) {
+        for (int w = 0; w < into.length; w++) {
+            into[w] &= ~other[w];
+        }
+    }
+
+    static boolean isEmpty(long[] set) {
+        for (long word : set) {
+            if (word != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static int count(long[] set) {
+        int count = 0;
+        for (long word : set) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    static void set(long[] set, int bit) {
+        set[bit >>> 6] |= 1L << bit;
+    }
+
+    static void clear(long[] set, int bit) {
+        set[bit >>> 6] &= ~(1L << bit);
+    }
+
+    /**
+     * The first set bit at or after from, or -1 if there is none.
+     */
+    static int next(long[] set, int from) {
+        int w = from >>> 6;
+        if (w >= set.length) {
+            return -1;
+        }
+        long word = set[w] & (-1L << from);
+        while (true) {
+            if (word != 0) {
+                return (w << 6) + Long.numberOfTrailingZeros(word);
+            }
+            if (++w == set.length) {
+                return -1;
+            }
+            word = set[w];
+        }
+    }
+
+    private static int words(int bits) {
+        return (bits + 63) >>> 6;
+    }
+}
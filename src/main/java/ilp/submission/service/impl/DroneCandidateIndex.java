@@ -0,0 +1,131 @@
+package ilp.submission.service.impl;
+
+import ilp.submission.model.Drone;
+import ilp.submission.model.DroneCapability;
+import ilp.submission.model.MedDispatchRec;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Drone capabilities compiled from one snapshot of the drone list, for
+ * filtering candidates as bitsets. Drone i in the list is bit i, so a set of
+ * candidates is a long[] and a dispatch narrows it with a bitwise AND.
+ * Cooling and heating are precomputed masks; capacity and minimum cost are
+ * sorted columns, so each threshold is a binary search followed by setting
+ * the bits of a contiguous run of drones.
+ */
+final class DroneCandidateIndex {
+
+    private final List<Drone> drones;
+    private final int size;
+    private final String[] ids;
+    private final int[] maxMoves;
+
+    private final long[] withCapability;
+    private final long[] cooling;
+    private final long[] heating;
+
+    // Capacity, sorted
+    private final SortedColumn capacity;
+    // costInitial + costFinal, sorted: the least a drone can cost
+    private final SortedColumn minCost;
+
+    DroneCandidateIndex(List<Drone> drones) {
+        this.drones = drones;
+        this.size = drones.size();
+        this.ids = new String[size];
+        this.maxMoves = new int[size];
+        this.withCapability = DroneBitsets.empty(size);
+        this.cooling = DroneBitsets.empty(size);
+        this.heating = DroneBitsets.empty(size);
+
+        Set<String> seen = new HashSet<>();
+        for (int i = 0; i < size; i++) {
+            Drone drone = drones.get(i);
+            ids[i] = drone.getId();
+            if (!seen.add(ids[i])) {
+                throw new IllegalStateException("Duplicate drone ID " + ids[i]);
+            }
+            DroneCapability cap = drone.getCapability();
+            if (cap == null) {
+                continue;
+            }
+            DroneBitsets.set(withCapability, i);
+            if (cap.isCooling()) {
+                DroneBitsets.set(cooling, i);
+            }
+            if (cap.isHeating()) {
+                DroneBitsets.set(heating, i);
+            }
+            maxMoves[i] = cap.getMaxMoves();
+        }
+
+        this.capacity = new SortedColumn(drones, withCapability, DroneCapability::getCapacity);
+        this.minCost = new SortedColumn(drones, withCapability, cap -> cap.getCostInitial() + cap.getCostFinal());
+    }
+
+    /**
+     * Whether this index was compiled from exactly this list.
+     */
+    boolean isFor(List<Drone> drones) {
+        return this.drones == drones;
+    }
+
+    /**
+     * Every drone that has a capability record; the starting candidate set.
+     */
+    long[] all() {
+        return withCapability.clone();
+    }
+
+    String id(int drone) {
+        return ids[drone];
+    }
+
+    int maxMoves(int drone) {
+        return maxMoves[drone];
+    }
+
+    /**
+     * Drones whose capabilities meet the requirements: capacity, cooling,
+     * heating and the maximum cost, which must at least cover a drone's
+     * fixed costInitial + costFinal.
+     */
+    long[] meeting(MedDispatchRec.Requirements requirements) {
+        if (requirements == null) {
+            return all();
+        }
+        // Cooling and heating are mutually exclusive
+        if (requirements.requiresCooling() && requirements.requiresHeating()) {
+            return DroneBitsets.empty(size);
+        }
+
+        // Comparisons with NaN are false, so a NaN value or threshold passes both bounds
+        long[] result = all();
+        DroneBitsets.andNot(result, capacity.lessThan(requirements.getCapacity()));
+        if (requirements.requiresCooling()) {
+            DroneBitsets.and(result, cooling);
+        }
+        if (requirements.requiresHeating()) {
+            DroneBitsets.and(result, heating);
+        }
+        if (requirements.getMaxCost() != null) {
+            DroneBitsets.andNot(result, minCost.greaterThan(requirements.getMaxCost()));
+        }
+        return result;
+    }
+
+    /**
+     * IDs of the drones in the set, in drone list order.
+     */
+    List<String> ids(long[] set) {
+        List<String> result = new ArrayList<>(Math.min(size, DroneBitsets.count(set)));
+        for (int i = DroneBitsets.next(set, 0); i >= 0; i = DroneBitsets.next(set, i + 1)) {
+            result.add(ids[i]);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,162 @@
+package ilp.submission.service.impl;
+
+import ilp.submission.model.Drone;
+import ilp.submission.model.DroneCapability;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Column store over one snapshot of the drone list, for answering attribute
+ * queries as sets of drones. Drone i in the list is bit i of each set.
+ * Cooling and heating are bitsets; each numeric capability is a
+ * SortedColumn, so a comparison is a binary search.
+ * Drones without a capability record appear in no capability set.
+ */
+final class DroneColumns {
+
+    private final List<Drone> drones;
+    private final int size;
+    private final String[] ids;
+    private final String[] names;
+
+    private final long[] withCapability;
+    private final long[] cooling;
+    private final long[] heating;
+
+    private final SortedColumn capacity;
+    private final SortedColumn maxMoves;
+    private final SortedColumn costPerMove;
+    private final SortedColumn costInitial;
+    private final SortedColumn costFinal;
+
+    DroneColumns(List<Drone> drones) {
+        this.drones = drones;
+        this.size = drones.size();
+        this.ids = new String[size];
+        this.names = new String[size];
+        this.withCapability = DroneBitsets.empty(size);
+        this.cooling = DroneBitsets.empty(size);
+        this.heating = DroneBitsets.empty(size);
+
+        for (int i = 0; i < size; i++) {
+            Drone drone = drones.get(i);
+            ids[i] = drone.getId();
+            names[i] = drone.getName();
+            DroneCapability cap = drone.getCapability();
+            if (cap == null) {
+                continue;
+            }
+            DroneBitsets.set(withCapability, i);
+            if (cap.isCooling()) {
+                DroneBitsets.set(cooling, i);
+            }
+            if (cap.isHeating()) {
+                DroneBitsets.set(heating, i);
+            }
+        }
+
+        this.capacity = new SortedColumn(drones, withCapability, DroneCapability::getCapacity);
+        this.maxMoves = new SortedColumn(drones, withCapability, DroneCapability::getMaxMoves);
+        this.costPerMove = new SortedColumn(drones, withCapability, DroneCapability::getCostPerMove);
+        this.costInitial = new SortedColumn(drones, withCapability, DroneCapability::getCostInitial);
+        this.costFinal = new SortedColumn(drones, withCapability, DroneCapability::getCostFinal);
+    }
+
+    /**
+     * Whether this store was built from exactly this list.
+     */
+    boolean isFor(List<Drone> drones) {
+        return this.drones == drones;
+    }
+
+    /**
+     * Every drone in the snapshot.
+     */
+    long[] all() {
+        long[] result = DroneBitsets.empty(size);
+        for (int i = 0; i < size; i++) {
+            DroneBitsets.set(result, i);
+        }
+        return result;
+    }
+
+    /**
+     * Drones with a non-null ID that equals value, or with negated, differs from it.
+     */
+    long[] id(String value, boolean negated) {
+        return matching(ids, value, negated);
+    }
+
+    /**
+     * Drones with a non-null name that equals value, or with negated, differs from it.
+     */
+    long[] name(String value, boolean negated) {
+        return matching(names, value, negated);
+    }
+
+    /**
+     * Drones whose cooling capability is the given state.
+     */
+    long[] cooling(boolean state) {
+        return flag(cooling, state);
+    }
+
+    /**
+     * Drones whose heating capability is the given state.
+     */
+    long[] heating(boolean state) {
+        return flag(heating, state);
+    }
+
+    SortedColumn capacity() {
+        return capacity;
+    }
+
+    SortedColumn maxMoves() {
+        return maxMoves;
+    }
+
+    SortedColumn costPerMove() {
+        return costPerMove;
+    }
+
+    SortedColumn costInitial() {
+        return costInitial;
+    }
+
+    SortedColumn costFinal() {
+        return costFinal;
+    }
+
+    /**
+     * IDs of the drones in the set, in drone list order.
+     */
+    List<String> ids(long[] set) {
+        List<String> result = new ArrayList<>(DroneBitsets.count(set));
+        for (int i = DroneBitsets.next(set, 0); i >= 0; i = DroneBitsets.next(set, i + 1)) {
+            result.add(ids[i]);
+        }
+        return result;
+    }
+
+    private long[] matching(String[] column, String value, boolean negated) {
+        long[] result = DroneBitsets.empty(size);
+        for (int i = 0; i < size; i++) {
+            if (column[i] != null && column[i].equals(value) != negated) {
+                DroneBitsets.set(result, i);
+            }
+        }
+        return result;
+    }
+
+    private long[] flag(long[] set, boolean state) {
+        long[] result = withCapability.clone();
+        if (state) {
+            DroneBitsets.and(result, set);
+        } else {
+            DroneBitsets.andNot(result, set);
+        }
+        return result;
+    }
+}
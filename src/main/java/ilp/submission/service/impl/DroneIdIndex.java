@@ -0,0 +1,74 @@
+package ilp.submission.service.impl;
+
+import ilp.submission.cache.ContentDigest;
+import ilp.submission.model.Drone;
+import ilp.submission.model.DroneCapability;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * One snapshot of the drone list keyed by drone ID, so a detail lookup is a
+ * hash probe instead of a scan. Where IDs repeat, the first drone in the list
+ * wins, as it did for the scan. The tag is a digest of every field a drone
+ * is served with, so the same list content gets the same tag in every
+ * process and after every restart.
+ */
+final class DroneIdIndex {
+
+    private final List<Drone> drones;
+    private final String tag;
+    private final Map<String, Drone> byId;
+
+    DroneIdIndex(List<Drone> drones) {
+        this.drones = drones;
+        this.tag = tag(drones);
+        this.byId = new HashMap<>();
+        for (Drone drone : drones) {
+            if (drone.getId() != null) {
+                byId.putIfAbsent(drone.getId(), drone);
+            }
+        }
+    }
+
+    /**
+     * Whether this index was built from exactly this list.
+     */
+    boolean isFor(List<Drone> drones) {
+        return this.drones == drones;
+    }
+
+    String tag() {
+        return tag;
+    }
+
+    Optional<Drone> find(String id) {
+        return Optional.ofNullable(byId.get(id));
+    }
+
+    private static String tag(List<Drone> drones) {
+        ContentDigest digest = new ContentDigest();
+        digest.putInt(drones.size());
+        for (Drone drone : drones) {
+            digest.putString(drone.getName());
+            digest.putString(drone.getId());
+            DroneCapability cap = drone.getCapability();
+            digest.putBoolean(cap != null);
+            if (cap != null) {
+                digest.putBoolean(cap.isCooling());
+                digest.putBoolean(cap.isHeating());
+                digest.putDouble(cap.getCapacity());
+                digest.putInt(cap.getMaxMoves());
+                digest.putDouble(cap.getCostPerMove());
+                digest.putDouble(cap.getCostInitial());
+                digest.putDouble(cap.getCostFinal());
+            }
+        }
+        // 128 bits are plenty to tell drone lists apart
+        return HexFormat.of().formatHex(Arrays.copyOf(digest.finish(), 16));
+    }
+}
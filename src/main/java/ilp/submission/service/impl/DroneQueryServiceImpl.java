@@ -1,7 +1,6 @@
 package ilp.submission.service.impl;
 
 import ilp.submission.model.Drone;
-import ilp.submission.model.DroneCapability;
 import ilp.submission.model.QueryAttribute;
 import ilp.submission.service.DroneQueryService;
 import ilp.submission.service.IlpRestClient;
@@ -19,35 +18,35 @@ public class DroneQueryServiceImpl implements DroneQueryService {
 
     private final IlpRestClient ilpRestClient;
 
+    // Rebuilt when the fetched drone list changes
+    private volatile DroneColumns columns;
+    private volatile DroneIdIndex idIndex;
+
     public DroneQueryServiceImpl(IlpRestClient ilpRestClient) {
         this.ilpRestClient = ilpRestClient;
     }
 
     @Override
     public List<String> findDronesWithCooling(boolean hasCooling) {
-        List<Drone> drones = ilpRestClient.fetchDrones();
-        return drones.stream()
-                .filter(drone -> drone.getCapability() != null &&
-                        drone.getCapability().isCooling() == hasCooling)
-                .map(Drone::getId)
-                .collect(Collectors.toList());
+        DroneColumns columns = columns(ilpRestClient.fetchDrones());
+        return columns.ids(columns.cooling(hasCooling));
     }
 
     @Override
     public Optional<Drone> findDroneById(String id) {
-        List<Drone> drones = ilpRestClient.fetchDrones();
-        return drones.stream()
-                .filter(drone -> drone.getId() != null && drone.getId().equals(id))
-                .findFirst();
+        return idIndex(ilpRestClient.fetchDrones()).find(id);
+    }
+
+    @Override
+    public Optional<VersionedDrone> findVersionedDroneById(String id) {
+        // Drone and version come from the same snapshot
+        DroneIdIndex index = idIndex(ilpRestClient.fetchDrones());
+        return index.find(id).map(drone -> new VersionedDrone(drone, index.tag()));
     }
 
     @Override
     public List<String> queryByAttribute(String attribute, String value) {
-        List<Drone> drones = ilpRestClient.fetchDrones();
-        return drones.stream()
-                .filter(drone -> matchesAttribute(drone, attribute, "=", value))
-                .map(Drone::getId)
-                .collect(Collectors.toList());
+        return queryByMultipleAttributes(List.of(new QueryAttribute(attribute, "=", value)));
     }
 
     @Override
@@ -58,137 +57,29 @@ public class DroneQueryServiceImpl implements DroneQueryService {
                     .collect(Collectors.toList());
         }
 
-        // Start with all drones
-        List<Drone> result = ilpRestClient.fetchDrones();
-
-        // Iteratively filter by each query attribute (AND logic)
-        // Each query narrows down the result set
-        for (QueryAttribute query : queries) {
-            result = result.stream()
-                    .filter(drone -> matchesAttribute(drone, query.getAttribute(),
-                            query.getOperator(), query.getValue()))
-                    .collect(Collectors.toList());
-
-            // Early exit if no drones remain
-            if (result.isEmpty()) {
-                return List.of();
-            }
-        }
-
-        // Return drone IDs from final filtered set
-        return result.stream()
-                .map(Drone::getId)
-                .collect(Collectors.toList());
-    }
-
-    private boolean matchesAttribute(Drone drone, String attribute, String operator, String value) {
-        if (attribute == null || value == null) {
-            return false;
-        }
-
-        String attrLower = attribute.toLowerCase();
-        DroneCapability cap = drone.getCapability();
-
-        switch (attrLower) {
-            case "id":
-                return compareString(drone.getId(), operator, value);
-            case "name":
-                return compareString(drone.getName(), operator, value);
-            case "cooling":
-                if (cap == null) return false;
-                return compareBoolean(cap.isCooling(), operator, value);
-            case "heating":
-                if (cap == null) return false;
-                return compareBoolean(cap.isHeating(), operator, value);
-            case "capacity":
-                if (cap == null) return false;
-                return compareDouble(cap.getCapacity(), operator, value);
-            case "maxmoves":
-                if (cap == null) return false;
-                return compareInt(cap.getMaxMoves(), operator, value);
-            case "costpermove":
-                if (cap == null) return false;
-                return compareDouble(cap.getCostPerMove(), operator, value);
-            case "costinitial":
-                if (cap == null) return false;
-                return compareDouble(cap.getCostInitial(), operator, value);
-            case "costfinal":
-                if (cap == null) return false;
-                return compareDouble(cap.getCostFinal(), operator, value);
-            default:
-                return false;
-        }
-    }
-
-    private boolean compareString(String actual, String operator, String expected) {
-        if (actual == null) return false;
-        switch (operator) {
-            case "=":
-                return actual.equals(expected);
-            case "!=":
-                return !actual.equals(expected);
-            default:
-                return actual.equals(expected);
-        }
-    }
-
-    private boolean compareBoolean(boolean actual, String operator, String expected) {
-        boolean expectedBool = Boolean.parseBoolean(expected);
-        switch (operator) {
-            case "=":
-                return actual == expectedBool;
-            case "!=":
-                return actual != expectedBool;
-            default:
-                return actual == expectedBool;
+        // Compiled once, then answered from the column store (AND logic)
+        QueryPlan plan = QueryPlan.compile(queries);
+        if (plan.matchesNothing()) {
+            return List.of();
         }
+        return plan.select(columns(ilpRestClient.fetchDrones()));
     }
 
-    private boolean compareDouble(double actual, String operator, String expected) {
-        try {
-            double expectedVal = Double.parseDouble(expected);
-            switch (operator) {
-                case "=":
-                    return Double.compare(actual, expectedVal) == 0;
-                case "!=":
-                    return Double.compare(actual, expectedVal) != 0;
-                case "<":
-                    return actual < expectedVal;
-                case ">":
-                    return actual > expectedVal;
-                case "<=":
-                    return actual <= expectedVal;
-                case ">=":
-                    return actual >= expectedVal;
-                default:
-                    return Double.compare(actual, expectedVal) == 0;
-            }
-        } catch (NumberFormatException e) {
-            return false;
+    private DroneColumns columns(List<Drone> drones) {
+        DroneColumns current = columns;
+        if (current == null || !current.isFor(drones)) {
+            current = new DroneColumns(drones);
+            columns = current;
         }
+        return current;
     }
 
-    private boolean compareInt(int actual, String operator, String expected) {
-        try {
-            int expectedVal = Integer.parseInt(expected);
-            switch (operator) {
-                case "=":
-                    return actual == expectedVal;
-                case "!=":
-                    return actual != expectedVal;
-                case "<":
-                    return actual < expectedVal;
-                case ">":
-                    return actual > expectedVal;
-                case "<=":
-                    return actual <= expectedVal;
-                case ">=":
-                    return actual >= expectedVal;
-                default:
-                    return actual == expectedVal;
-            }
-        } catch (NumberFormatException e) {
-            return false;
+    private DroneIdIndex idIndex(List<Drone> drones) {
+        DroneIdIndex current = idIndex;
+        if (current == null || !current.isFor(drones)) {
+            current = new DroneIdIndex(drones);
+            idIndex = current;
         }
+        return current;
     }
 }
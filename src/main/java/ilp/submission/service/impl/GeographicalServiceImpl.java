@@ -5,6 +5,7 @@ import ilp.submission.model.Region;
 import ilp.submission.service.GeographicalService;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
 import java.util.Objects;
 
 /**
@@ -52,4 +53,84 @@ public class GeographicalServiceImpl implements GeographicalService {
         // Delegate to domain model
         return region.contains(point);
     }
+
+    @Override
+    public boolean[] isInRegion(List<LngLat> points, Region region) {
+        Objects.requireNonNull(points, "Points cannot be null");
+        return isInRegions(points, List.of(region))[0];
+    }
+
+    @Override
+    public boolean[][] isInRegions(List<LngLat> points, List<Region> regions) {
+        Objects.requireNonNull(points, "Points cannot be null");
+        Objects.requireNonNull(regions, "Regions cannot be null");
+        for (Region region : regions) {
+            Objects.requireNonNull(region, "Region cannot be null");
+            if (!region.isValid()) {
+                throw new IllegalArgumentException(
+                        "Region must be a valid closed polygon with at least 4 vertices");
+            }
+        }
+
+        // Unbox the points once and test them all against each compiled region
+        double[] lngs = new double[points.size()];
+        double[] lats = new double[points.size()];
+        for (int i = 0; i < lngs.length; i++) {
+            LngLat point = Objects.requireNonNull(points.get(i), "Point cannot be null");
+            lngs[i] = point.lng();
+            lats[i] = point.lat();
+        }
+        boolean[][] result = new boolean[regions.size()][];
+        for (int r = 0; r < result.length; r++) {
+            result[r] = regions.get(r).containsAll(lngs, lats);
+        }
+        return result;
+    }
+
+    @Override
+    public double[] calculateDistances(double[] fromLngs, double[] fromLats, double[] toLngs, double[] toLats) {
+        int count = checkSameLength(fromLngs, fromLats, toLngs, toLats);
+        double[] distances = new double[count];
+        for (int i = 0; i < count; i++) {
+            distances[i] = LngLat.distance(fromLngs[i], fromLats[i], toLngs[i], toLats[i]);
+        }
+        return distances;
+    }
+
+    @Override
+    public boolean[] areCloseTo(double[] fromLngs, double[] fromLats, double[] toLngs, double[] toLats) {
+        int count = checkSameLength(fromLngs, fromLats, toLngs, toLats);
+        boolean[] close = new boolean[count];
+        for (int i = 0; i < count; i++) {
+            close[i] = LngLat.isClose(fromLngs[i], fromLats[i], toLngs[i], toLats[i]);
+        }
+        return close;
+    }
+
+    @Override
+    public double[] calculateNextPositions(double[] lngs, double[] lats, double[] angles) {
+        int count = checkSameLength(lngs, lats, angles);
+        double[] next = new double[2 * count];
+        for (int i = 0; i < count; i++) {
+            double lng = LngLat.nextLng(lngs[i], angles[i]);
+            double lat = LngLat.nextLat(lats[i], angles[i]);
+            // Same range rules as constructing the LngLat a single request returns
+            if (lng < -180.0 || lng > 180.0 || lat < -90.0 || lat > 90.0) {
+                throw new IllegalArgumentException("[" + i + "] next position is out of range: (" + lng + ", " + lat + ")");
+            }
+            next[2 * i] = lng;
+            next[2 * i + 1] = lat;
+        }
+        return next;
+    }
+
+    private static int checkSameLength(double[]... columns) {
+        int count = columns[0].length;
+        for (double[] column : columns) {
+            if (column.length != count) {
+                throw new IllegalArgumentException("Batch arrays must have the same length");
+            }
+        }
+        return count;
+    }
 }
@@ -13,7 +13,8 @@ import java.util.List;
 
 /**
  * Implementation of IlpRestClient that fetches data from ILP REST API.
- * Data is fetched fresh on every call (no caching).
+ * Data is fetched fresh on every call; services reach it through
+ * CachingIlpRestClient, which holds the reference data.
  */
 @Service
 public class IlpRestClientImpl implements IlpRestClient {
@@ -102,21 +103,13 @@ public class IlpRestClientImpl implements IlpRestClient {
         }
     }
 
-    /**
-     * Fetches the central area region.
-     *
-     * @return the central area region
-     */
+    @Override
     public Region fetchCentralArea() {
         String url = ilpEndpoint + "centralArea";
         return restTemplate.getForObject(url, Region.class);
     }
 
-    /**
-     * Fetches drone availability for service points.
-     *
-     * @return list of drones for service points
-     */
+    @Override
     public List<DroneForServicePoint> fetchDroneAvailability() {
         String url = ilpEndpoint + "drones-for-service-points";
         ResponseEntity<List<DroneForServicePoint>> response = restTemplate.exchange(
@@ -1,12 +1,30 @@
 package ilp.submission.service.impl;
 
+import ilp.submission.cache.ReferenceDataVersion;
+import ilp.submission.geojson.GeoJsonWriter;
 import ilp.submission.model.*;
+import ilp.submission.pathfinding.BlockedCellMap;
+import ilp.submission.pathfinding.CoordinatePath;
+import ilp.submission.pathfinding.DetourGraph;
+import ilp.submission.pathfinding.GridNoFlyZoneIndex;
+import ilp.submission.pathfinding.IndexedMinHeap;
+import ilp.submission.pathfinding.LegCostMatrix;
+import ilp.submission.pathfinding.LegCache;
+import ilp.submission.pathfinding.LongIntHashMap;
+import ilp.submission.pathfinding.NoFlyZoneIndex;
+import ilp.submission.pathfinding.PlanCache;
+import ilp.submission.pathfinding.RouteOptimizer;
+import ilp.submission.pathfinding.SearchState;
 import ilp.submission.service.DroneAvailabilityService;
-import ilp.submission.service.IlpRestClient;
+import ilp.submission.service.AsyncIlpRestClient;
 import ilp.submission.service.PathCalculationService;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 
 /**
  * Implementation of PathCalculationService for Group 5.
@@ -15,20 +33,36 @@ import java.util.*;
 @Service
 public class PathCalculationServiceImpl implements PathCalculationService {
 
-    private static final double MOVE_DISTANCE = 0.00015;
+    private static final double MOVE_DISTANCE = LatticeMoves.MOVE_DISTANCE;
     private static final double CLOSE_THRESHOLD = 0.00015;
-    private static final double[] DIRECTIONS = {
-            0, 22.5, 45, 67.5, 90, 112.5, 135, 157.5,
-            180, 202.5, 225, 247.5, 270, 292.5, 315, 337.5
-    };
+    // Safety limit on the direct path flown when A* finds no route
+    private static final int FALLBACK_MAX_MOVES = 2000;
 
-    private final IlpRestClient ilpRestClient;
-    private final DroneAvailabilityService availabilityService;
+    // Search buffers are reused per thread so the A* loop does not allocate per node
+    private static final ThreadLocal<SearchState> SEARCH_STATE = ThreadLocal.withInitial(SearchState::new);
 
-    public PathCalculationServiceImpl(IlpRestClient ilpRestClient,
-                                      DroneAvailabilityService availabilityService) {
+    private final AsyncIlpRestClient ilpRestClient;
+    private final DroneAvailabilityService availabilityService;
+    private final LegCache legCache;
+    private final PlanCache planCache;
+    private final Executor planningExecutor;
+    private final ReferenceDataVersion referenceDataVersion = new ReferenceDataVersion();
+
+    // Rebuilt only when the fetched restricted areas change
+    private volatile BlockedCellMap noFlyZoneIndex = new BlockedCellMap(new GridNoFlyZoneIndex(List.of()));
+    // Rebuilt alongside the no-fly index, on first use after the zones change
+    private volatile DetourGraph detourGraph = new DetourGraph(noFlyZoneIndex.getExactIndex());
+
+    public PathCalculationServiceImpl(AsyncIlpRestClient ilpRestClient,
+                                      DroneAvailabilityService availabilityService,
+                                      LegCache legCache,
+                                      PlanCache planCache,
+                                      @Qualifier("pathPlanningExecutor") Executor planningExecutor) {
         this.ilpRestClient = ilpRestClient;
         this.availabilityService = availabilityService;
+        this.legCache = legCache;
+        this.planCache = planCache;
+        this.planningExecutor = planningExecutor;
     }
 
     @Override
@@ -41,12 +75,19 @@ public class PathCalculationServiceImpl implements PathCalculationService {
         List<DroneServicePoint> servicePoints;
         List<Drone> drones;
         List<DroneForServicePoint> droneAvailability;
+        PlanCache.Key planKey = null;
 
         try {
-            noFlyZones = ilpRestClient.fetchRestrictedAreas();
-            servicePoints = ilpRestClient.fetchServicePoints();
-            drones = ilpRestClient.fetchDrones();
-            droneAvailability = ((IlpRestClientImpl) ilpRestClient).fetchDroneAvailability();
+            // Start all four fetches before waiting on any of them
+            CompletableFuture<List<RestrictedArea>> noFlyZonesFetch = ilpRestClient.fetchRestrictedAreasAsync();
+            CompletableFuture<List<DroneServicePoint>> servicePointsFetch = ilpRestClient.fetchServicePointsAsync();
+            CompletableFuture<List<Drone>> dronesFetch = ilpRestClient.fetchDronesAsync();
+            CompletableFuture<List<DroneForServicePoint>> droneAvailabilityFetch = ilpRestClient.fetchDroneAvailabilityAsync();
+
+            noFlyZones = AsyncIlpRestClient.await(noFlyZonesFetch);
+            servicePoints = AsyncIlpRestClient.await(servicePointsFetch);
+            drones = AsyncIlpRestClient.await(dronesFetch);
+            droneAvailability = AsyncIlpRestClient.await(droneAvailabilityFetch);
 
             System.out.println("Fetched " + servicePoints.size() + " service points");
             System.out.println("Fetched " + drones.size() + " drones");
@@ -55,6 +96,10 @@ public class PathCalculationServiceImpl implements PathCalculationService {
             for (DroneServicePoint sp : servicePoints) {
                 System.out.println("  Service Point: " + sp);
             }
+
+            // Only plans built on successfully fetched data are cached
+            long referenceVersion = referenceDataVersion.of(noFlyZones, servicePoints, drones, droneAvailability);
+            planKey = PlanCache.key(dispatches, referenceVersion);
         } catch (Exception e) {
             System.err.println("Error fetching API data: " + e.getMessage());
             e.printStackTrace();
@@ -64,6 +109,15 @@ public class PathCalculationServiceImpl implements PathCalculationService {
             droneAvailability = List.of();
         }
 
+        if (planKey != null) {
+            DeliveryPathResult cachedPlan = planCache.get(planKey);
+            if (cachedPlan != null) {
+                return cachedPlan;
+            }
+        }
+
+        BlockedCellMap noFlyZoneIndex = noFlyZoneIndex(noFlyZones);
+
         // Default values
         LngLat defaultLocation = new LngLat(-3.186874, 55.944494);
         double costPerMove = 0.001;
@@ -94,10 +148,8 @@ public class PathCalculationServiceImpl implements PathCalculationService {
         Map<Integer, List<MedDispatchRec>> dispatchesByServicePoint = groupDispatchesByServicePoint(
                 dispatches, servicePoints, servicePointMap, defaultLocation);
 
-        // Calculate paths for each service point
-        List<DeliveryPathResult.DronePathInfo> dronePaths = new ArrayList<>();
-        double totalCost = 0;
-        int totalMoves = 0;
+        // Assign dispatches to drones at each service point
+        List<DroneJob> jobs = new ArrayList<>();
 
         for (Map.Entry<Integer, List<MedDispatchRec>> entry : dispatchesByServicePoint.entrySet()) {
             Integer servicePointId = entry.getKey();
@@ -122,17 +174,26 @@ public class PathCalculationServiceImpl implements PathCalculationService {
 
             System.out.println("  Available drones: " + servicePointDrones.size());
 
+            // Leg estimates for this service point, read by both assignment and ordering
+            LegCostMatrix legCosts = legCosts(servicePointDispatches, servicePointLocation, noFlyZoneIndex);
+
             // Assign dispatches to drones at this service point
-            List<List<MedDispatchRec>> droneAssignments = assignDispatchesToDrones(
-                    servicePointDispatches, servicePointDrones, servicePointLocation);
+            List<List<Integer>> droneAssignments = assignDispatchesToDrones(
+                    servicePointDispatches, servicePointDrones, legCosts);
 
-            // Calculate paths for each drone at this service point
             for (int droneIndex = 0; droneIndex < droneAssignments.size(); droneIndex++) {
-                List<MedDispatchRec> droneDispatches = droneAssignments.get(droneIndex);
-                if (droneDispatches.isEmpty()) {
+                List<Integer> assigned = droneAssignments.get(droneIndex);
+                if (assigned.isEmpty()) {
                     continue;
                 }
 
+                int[] stops = new int[assigned.size()];
+                List<MedDispatchRec> droneDispatches = new ArrayList<>(assigned.size());
+                for (int i = 0; i < stops.length; i++) {
+                    stops[i] = assigned.get(i);
+                    droneDispatches.add(servicePointDispatches.get(stops[i]));
+                }
+
                 // Get drone ID
                 String droneId;
                 if (servicePointDrones != null && droneIndex < servicePointDrones.size() &&
@@ -142,97 +203,149 @@ public class PathCalculationServiceImpl implements PathCalculationService {
                     droneId = "SP" + servicePointId + "-D" + (droneIndex + 1);
                 }
 
-                // Calculate path for this drone
-                List<DeliveryPathResult.DeliveryInfo> deliveries = new ArrayList<>();
-                List<LngLat> combinedPath = new ArrayList<>();
-                int droneMoves = 0;
-                LngLat currentLocation = servicePointLocation;
+                // Virtual drones have no move limit
+                int maxMoves = 0;
+                if (servicePointDrones != null && droneIndex < servicePointDrones.size() &&
+                        servicePointDrones.get(droneIndex).getCapability() != null) {
+                    maxMoves = servicePointDrones.get(droneIndex).getCapability().getMaxMoves();
+                }
 
-                // Add start location to combined path
-                combinedPath.add(servicePointLocation);
+                jobs.add(new DroneJob(droneId, servicePointLocation, maxMoves, droneDispatches, stops, legCosts));
+            }
+        }
 
-                // Use greedy nearest-neighbor for delivery order
-                List<MedDispatchRec> orderedDispatches = orderByNearestNeighbor(droneDispatches, servicePointLocation);
+        // Plan each drone's flight; drones are independent so this can run in parallel
+        List<CompletableFuture<DeliveryPathResult.DronePathInfo>> plans = new ArrayList<>();
+        for (DroneJob job : jobs) {
+            plans.add(CompletableFuture.supplyAsync(() -> planDrone(job, noFlyZoneIndex), planningExecutor));
+        }
 
-                for (int deliveryIndex = 0; deliveryIndex < orderedDispatches.size(); deliveryIndex++) {
-                    MedDispatchRec dispatch = orderedDispatches.get(deliveryIndex);
-                    boolean isLastDelivery = (deliveryIndex == orderedDispatches.size() - 1);
+        // Merge in assignment order so the result matches a serial run
+        List<DeliveryPathResult.DronePathInfo> dronePaths = new ArrayList<>();
+        double totalCost = 0;
+        int totalMoves = 0;
 
-                    LngLat pickupLocation = dispatch.getPickupLocation();
-                    LngLat deliveryLocation = dispatch.getDeliveryLocation();
+        for (CompletableFuture<DeliveryPathResult.DronePathInfo> plan : plans) {
+            DeliveryPathResult.DronePathInfo dronePath = join(plan);
+            int droneMoves = dronePath.getTotalMoves();
 
-                    // Debug logging
-                    System.out.println("  Processing dispatch " + dispatch.getId() +
-                            ": pickup=" + pickupLocation + ", delivery=" + deliveryLocation);
+            // Calculate drone cost
+            double droneCost = costInitial + (droneMoves * costPerMove) + costFinal;
+            totalCost += droneCost;
+            totalMoves += droneMoves;
 
-                    // Use default locations if missing
-                    if (pickupLocation == null) {
-                        System.out.println("  WARNING: Dispatch " + dispatch.getId() + " has no pickup location, using service point");
-                        pickupLocation = servicePointLocation;
-                    }
-                    if (deliveryLocation == null) {
-                        System.out.println("  WARNING: Dispatch " + dispatch.getId() + " has no delivery location, using service point");
-                        deliveryLocation = servicePointLocation;
-                    }
+            dronePaths.add(dronePath);
+        }
 
-                    // Path to pickup
-                    List<LngLat> toPickup = findPath(currentLocation, pickupLocation, noFlyZones);
-                    // Path from pickup to delivery
-                    List<LngLat> toDelivery = findPath(pickupLocation, deliveryLocation, noFlyZones);
+        DeliveryPathResult result = new DeliveryPathResult(totalCost, totalMoves, dronePaths);
+        if (planKey != null) {
+            planCache.put(planKey, result);
+        }
+        return result;
+    }
 
-                    // Combine paths avoiding duplicate at pickup location
-                    List<LngLat> flightPath = new ArrayList<>();
-                    flightPath.addAll(toPickup);
+    /**
+     * Plans the full flight for one drone: every assigned delivery in order,
+     * then the return to its service point.
+     */
+    private DeliveryPathResult.DronePathInfo planDrone(DroneJob job, BlockedCellMap noFlyZoneIndex) {
+        String droneId = job.droneId();
+        LngLat servicePointLocation = job.servicePoint();
+        List<MedDispatchRec> droneDispatches = job.dispatches();
 
-                    // Skip first point of toDelivery to avoid duplicate at pickup
-                    for (int i = 1; i < toDelivery.size(); i++) {
-                        flightPath.add(toDelivery.get(i));
-                    }
+        // Calculate path for this drone
+        List<DeliveryPathResult.DeliveryInfo> deliveries = new ArrayList<>();
+        List<LngLat> combinedPath = new ArrayList<>();
+        int droneMoves = 0;
+        LngLat currentLocation = servicePointLocation;
 
-                    // Ensure delivery location is in the path
-                    if (flightPath.isEmpty() || !flightPath.get(flightPath.size() - 1).equals(deliveryLocation)) {
-                        flightPath.add(deliveryLocation);
-                    }
+        // Add start location to combined path
+        combinedPath.add(servicePointLocation);
 
-                    // Add hover (duplicate delivery location to indicate delivery)
-                    flightPath.add(deliveryLocation);
+        // Shortest round trip over all of this drone's deliveries
+        List<MedDispatchRec> orderedDispatches = orderDispatches(job);
 
-                    // If this is the last delivery, add return path to service point
-                    if (isLastDelivery && !deliveryLocation.equals(servicePointLocation)) {
-                        List<LngLat> returnPath = findPath(deliveryLocation, servicePointLocation, noFlyZones);
-                        // Skip first point of return path to avoid duplicate at delivery location
-                        for (int i = 1; i < returnPath.size(); i++) {
-                            flightPath.add(returnPath.get(i));
-                        }
-                    }
+        for (int deliveryIndex = 0; deliveryIndex < orderedDispatches.size(); deliveryIndex++) {
+            MedDispatchRec dispatch = orderedDispatches.get(deliveryIndex);
+            boolean isLastDelivery = (deliveryIndex == orderedDispatches.size() - 1);
 
-                    // Add to combined path (skip first point if it duplicates the last point)
-                    for (int i = 0; i < flightPath.size(); i++) {
-                        if (i == 0 && !combinedPath.isEmpty() &&
-                                combinedPath.get(combinedPath.size() - 1).equals(flightPath.get(i))) {
-                            continue;
-                        }
-                        combinedPath.add(flightPath.get(i));
-                    }
+            LngLat pickupLocation = dispatch.getPickupLocation();
+            LngLat deliveryLocation = dispatch.getDeliveryLocation();
 
-                    deliveries.add(new DeliveryPathResult.DeliveryInfo(dispatch.getId(), flightPath));
+            // Debug logging
+            System.out.println("  Processing dispatch " + dispatch.getId() +
+                    ": pickup=" + pickupLocation + ", delivery=" + deliveryLocation);
 
-                    int moves = Math.max(0, flightPath.size() - 1);
-                    droneMoves += moves;
+            // Use default locations if missing
+            if (pickupLocation == null) {
+                System.out.println("  WARNING: Dispatch " + dispatch.getId() + " has no pickup location, using service point");
+                pickupLocation = servicePointLocation;
+            }
+            if (deliveryLocation == null) {
+                System.out.println("  WARNING: Dispatch " + dispatch.getId() + " has no delivery location, using service point");
+                deliveryLocation = servicePointLocation;
+            }
 
-                    currentLocation = deliveryLocation;
-                }
+            // Path to pickup
+            List<LngLat> toPickup = planLeg(currentLocation, pickupLocation, noFlyZoneIndex);
+            // Path from pickup to delivery
+            List<LngLat> toDelivery = planLeg(pickupLocation, deliveryLocation, noFlyZoneIndex);
 
-                // Calculate drone cost
-                double droneCost = costInitial + (droneMoves * costPerMove) + costFinal;
-                totalCost += droneCost;
-                totalMoves += droneMoves;
+            // Combine paths avoiding duplicate at pickup location
+            List<LngLat> flightPath = new ArrayList<>();
+            flightPath.addAll(toPickup);
+
+            // Skip first point of toDelivery to avoid duplicate at pickup
+            for (int i = 1; i < toDelivery.size(); i++) {
+                flightPath.add(toDelivery.get(i));
+            }
 
-                dronePaths.add(new DeliveryPathResult.DronePathInfo(droneId, servicePointLocation, deliveries, combinedPath, droneMoves));
+            // Ensure delivery location is in the path
+            if (flightPath.isEmpty() || !flightPath.get(flightPath.size() - 1).equals(deliveryLocation)) {
+                flightPath.add(deliveryLocation);
             }
+
+            // Add hover (duplicate delivery location to indicate delivery)
+            flightPath.add(deliveryLocation);
+
+            // If this is the last delivery, add return path to service point
+            if (isLastDelivery && !deliveryLocation.equals(servicePointLocation)) {
+                List<LngLat> returnPath = planLeg(deliveryLocation, servicePointLocation, noFlyZoneIndex);
+                // Skip first point of return path to avoid duplicate at delivery location
+                for (int i = 1; i < returnPath.size(); i++) {
+                    flightPath.add(returnPath.get(i));
+                }
+            }
+
+            // Add to combined path (skip first point if it duplicates the last point)
+            for (int i = 0; i < flightPath.size(); i++) {
+                if (i == 0 && !combinedPath.isEmpty() &&
+                        combinedPath.get(combinedPath.size() - 1).equals(flightPath.get(i))) {
+                    continue;
+                }
+                combinedPath.add(flightPath.get(i));
+            }
+
+            deliveries.add(new DeliveryPathResult.DeliveryInfo(dispatch.getId(), flightPath));
+
+            int moves = Math.max(0, flightPath.size() - 1);
+            droneMoves += moves;
+
+            currentLocation = deliveryLocation;
         }
 
-        return new DeliveryPathResult(totalCost, totalMoves, dronePaths);
+        return new DeliveryPathResult.DronePathInfo(droneId, servicePointLocation, deliveries, combinedPath, droneMoves);
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
     }
 
     /**
@@ -245,20 +358,21 @@ public class PathCalculationServiceImpl implements PathCalculationService {
      * CORRECTED: Capacity is NOT accumulated in chained deliveries since items
      * are delivered before picking up the next one.
      */
-    private List<List<MedDispatchRec>> assignDispatchesToDrones(
+    private List<List<Integer>> assignDispatchesToDrones(
             List<MedDispatchRec> dispatches,
             List<Drone> drones,
-            LngLat servicePointLocation) {
+            LegCostMatrix legCosts) {
 
         // Track state for each drone
         Map<Integer, Set<String>> droneTimeSlots = new HashMap<>();
         Map<Integer, Integer> droneEstimatedMoves = new HashMap<>();
-        List<List<MedDispatchRec>> assignments = new ArrayList<>();
+        List<List<Integer>> assignments = new ArrayList<>();
 
         // Determine available drones
         int maxDrones = drones != null && !drones.isEmpty() ? drones.size() : dispatches.size();
 
-        for (MedDispatchRec dispatch : dispatches) {
+        for (int dispatchIndex = 0; dispatchIndex < dispatches.size(); dispatchIndex++) {
+            MedDispatchRec dispatch = dispatches.get(dispatchIndex);
             String timeSlot = getTimeSlot(dispatch);
             MedDispatchRec.Requirements req = dispatch.getRequirements();
 
@@ -267,13 +381,8 @@ public class PathCalculationServiceImpl implements PathCalculationService {
             boolean requiresCooling = req != null && req.requiresCooling();
             boolean requiresHeating = req != null && req.requiresHeating();
 
-            // Estimate moves for this dispatch (round trip from service point to delivery)
-            LngLat deliveryLoc = dispatch.getDeliveryLocation();
-            int estimatedMoves = 0;
-            if (deliveryLoc != null) {
-                double dist = distance(servicePointLocation, deliveryLoc);
-                estimatedMoves = (int) Math.ceil(dist / MOVE_DISTANCE) * 2; // Round trip
-            }
+            // Estimate moves for this dispatch (round trip from service point via pickup and delivery)
+            int estimatedMoves = (int) Math.ceil(legCosts.roundTrip(dispatchIndex));
 
             int assignedDrone = -1;
 
@@ -326,8 +435,9 @@ public class PathCalculationServiceImpl implements PathCalculationService {
 
             // If no suitable drone found, try to create/use a new one
             if (assignedDrone == -1) {
-                // Find or create a drone that can handle this dispatch
-                for (int i = 0; i < dispatches.size(); i++) {
+                // Find or create a drone that can handle this dispatch; real drones were
+                // all checked above, so only virtual ones past them are considered
+                for (int i = maxDrones; i < maxDrones + dispatches.size(); i++) {
                     Set<String> occupiedSlots = droneTimeSlots.computeIfAbsent(i, k -> new HashSet<>());
                     if (!occupiedSlots.contains(timeSlot)) {
                         // Check if this virtual drone can be matched to any available drone
@@ -370,7 +480,7 @@ public class PathCalculationServiceImpl implements PathCalculationService {
                 assignments.add(new ArrayList<>());
             }
 
-            assignments.get(assignedDrone).add(dispatch);
+            assignments.get(assignedDrone).add(dispatchIndex);
         }
 
         return assignments;
@@ -387,92 +497,118 @@ public class PathCalculationServiceImpl implements PathCalculationService {
 
     @Override
     public String generateGeoJson(List<MedDispatchRec> dispatches) {
-        DeliveryPathResult result = calculateDeliveryPaths(dispatches);
-
-        StringBuilder json = new StringBuilder();
-        json.append("{\"type\":\"FeatureCollection\",\"features\":[");
-
-        boolean firstFeature = true;
-        for (DeliveryPathResult.DronePathInfo dronePath : result.getDronePaths()) {
-            List<LngLat> path = dronePath.getPath();
-            if (path == null || path.isEmpty()) {
-                continue;
-            }
-
-            if (!firstFeature) {
-                json.append(",");
-            }
-            firstFeature = false;
+        return GeoJsonWriter.toString(calculateDeliveryPaths(dispatches));
+    }
 
-            json.append("{\"type\":\"Feature\",\"geometry\":{\"type\":\"LineString\",\"coordinates\":[");
+    /**
+     * Orders a drone's dispatches for the shortest round trip, pricing each
+     * candidate leg from its service point's leg-cost matrix.
+     */
+    private List<MedDispatchRec> orderDispatches(DroneJob job) {
+        List<MedDispatchRec> dispatches = job.dispatches();
+        int n = dispatches.size();
+        if (n <= 1) {
+            return new ArrayList<>(dispatches);
+        }
 
-            for (int i = 0; i < path.size(); i++) {
-                LngLat point = path.get(i);
-                json.append(String.format("[%.6f,%.6f]", point.lng(), point.lat()));
-                if (i < path.size() - 1) {
-                    json.append(",");
+        int[] stops = job.stops();
+        LegCostMatrix legCosts = job.legCosts();
+        double stopMoves = 0;
+
+        // Node 0 is the service point, node i + 1 is dispatch i
+        double[][] cost = new double[n + 1][n + 1];
+        for (int from = 0; from < n; from++) {
+            // Pickup-to-delivery leg plus the hover; the same whatever the order
+            stopMoves += legCosts.carry(stops[from]) + 1;
+            cost[0][from + 1] = legCosts.outbound(stops[from]);
+            cost[from + 1][0] = legCosts.inbound(stops[from]);
+            for (int to = 0; to < n; to++) {
+                if (from != to) {
+                    cost[from + 1][to + 1] = legCosts.between(stops[from], stops[to]);
                 }
             }
-
-            json.append("]},\"properties\":{\"droneId\":\"");
-            json.append(dronePath.getDroneId() != null ? dronePath.getDroneId() : "1");
-            json.append("\"}}");
         }
 
-        json.append("]}");
+        int[] order = RouteOptimizer.order(cost);
+        double estimatedMoves = RouteOptimizer.tourCost(cost, order) + stopMoves;
+        if (job.maxMoves() > 0 && estimatedMoves > job.maxMoves()) {
+            System.out.println("  WARNING: Estimated " + (int) Math.ceil(estimatedMoves) +
+                    " moves exceeds the drone limit of " + job.maxMoves());
+        }
 
-        return json.toString();
+        List<MedDispatchRec> ordered = new ArrayList<>(n);
+        for (int stop : order) {
+            ordered.add(dispatches.get(stop - 1));
+        }
+        return ordered;
     }
 
     /**
-     * Orders dispatches using greedy nearest-neighbor heuristic.
-     * From current location, always pick the dispatch with nearest pickup.
+     * Estimates every leg the service point's drones may fly for these
+     * dispatches. Missing locations count as the service point, as they do
+     * when the legs are flown; a leg into or out of a no-fly zone has no A*
+     * route and is priced as the fallback path it will end up flying.
      */
-    private List<MedDispatchRec> orderByNearestNeighbor(List<MedDispatchRec> dispatches, LngLat start) {
-        if (dispatches == null || dispatches.isEmpty()) {
-            return new ArrayList<>();
-        }
-        if (dispatches.size() == 1) {
-            return new ArrayList<>(dispatches);
+    private LegCostMatrix legCosts(List<MedDispatchRec> dispatches, LngLat servicePoint, BlockedCellMap noFlyZones) {
+        List<LngLat> pickups = new ArrayList<>(dispatches.size());
+        List<LngLat> deliveries = new ArrayList<>(dispatches.size());
+        for (MedDispatchRec dispatch : dispatches) {
+            pickups.add(dispatch.getPickupLocation() != null ? dispatch.getPickupLocation() : servicePoint);
+            deliveries.add(dispatch.getDeliveryLocation() != null ? dispatch.getDeliveryLocation() : servicePoint);
         }
+        return LegCostMatrix.compute(detourGraph(noFlyZones), servicePoint, pickups, deliveries,
+                FALLBACK_MAX_MOVES, planningExecutor);
+    }
 
-        List<MedDispatchRec> remaining = new ArrayList<>(dispatches);
-        List<MedDispatchRec> ordered = new ArrayList<>();
-        LngLat current = start;
-
-        while (!remaining.isEmpty()) {
-            MedDispatchRec nearest = null;
-            double minDistance = Double.MAX_VALUE;
-
-            for (MedDispatchRec dispatch : remaining) {
-                LngLat pickup = dispatch.getPickupLocation();
-                if (pickup == null) continue;
-
-                double dist = distance(current, pickup);
-                if (dist < minDistance) {
-                    minDistance = dist;
-                    nearest = dispatch;
-                }
-            }
+    /**
+     * Returns the detour graph for the given no-fly index, rebuilding it when the zones have changed.
+     */
+    private DetourGraph detourGraph(BlockedCellMap noFlyZones) {
+        DetourGraph graph = detourGraph;
+        if (graph.getZones() != noFlyZones.getExactIndex()) {
+            graph = new DetourGraph(noFlyZones.getExactIndex());
+            detourGraph = graph;
+        }
+        return graph;
+    }
 
-            if (nearest != null) {
-                ordered.add(nearest);
-                remaining.remove(nearest);
-                current = nearest.getDeliveryLocation() != null ? nearest.getDeliveryLocation() : current;
-            } else {
-                // No valid pickup found, add remaining as-is
-                ordered.addAll(remaining);
-                break;
-            }
+    /**
+     * Returns the no-fly-zone index for the given restricted areas, reusing the current one
+     * if the zone set is unchanged. Lookups go through the blocked-cell map first and only
+     * fall back to exact edge tests near zone boundaries. Cached legs are dropped when the zones change.
+     */
+    private BlockedCellMap noFlyZoneIndex(List<RestrictedArea> noFlyZones) {
+        BlockedCellMap index = noFlyZoneIndex;
+        if (!index.getExactIndex().getZones().equals(noFlyZones)) {
+            index = new BlockedCellMap(new GridNoFlyZoneIndex(noFlyZones));
+            noFlyZoneIndex = index;
+            legCache.invalidateAll();
         }
+        return index;
+    }
 
-        return ordered;
+    /**
+     * Plans a single leg, reusing the cached path when the same leg has already been
+     * planned against the same restricted areas.
+     */
+    private List<LngLat> planLeg(LngLat start, LngLat end, BlockedCellMap noFlyZones) {
+        if (start == null || end == null) {
+            return List.of();
+        }
+        int zoneSetHash = noFlyZones.getExactIndex().getZoneSetHash();
+        List<LngLat> cached = legCache.get(start, end, zoneSetHash);
+        if (cached != null) {
+            return cached;
+        }
+        List<LngLat> path = findPath(start, end, noFlyZones);
+        legCache.put(start, end, zoneSetHash, path);
+        return path;
     }
 
     /**
      * A* pathfinding algorithm with 16 compass directions.
      */
-    private List<LngLat> findPath(LngLat start, LngLat end, List<RestrictedArea> noFlyZones) {
+    private List<LngLat> findPath(LngLat start, LngLat end, NoFlyZoneIndex noFlyZones) {
         if (start == null || end == null) {
             return List.of();
         }
@@ -482,61 +618,62 @@ public class PathCalculationServiceImpl implements PathCalculationService {
             return List.of(start);
         }
 
-        PriorityQueue<Node> openSet = new PriorityQueue<>(Comparator.comparingDouble(n -> n.fScore));
-        Map<String, Node> allNodes = new HashMap<>();
-        Set<String> closedSet = new HashSet<>();
+        SearchState state = SEARCH_STATE.get();
+        state.reset();
+        IndexedMinHeap openSet = state.openSet();
 
-        Node startNode = new Node(start, null, 0, heuristic(start, end));
-        openSet.add(startNode);
-        allNodes.put(nodeKey(start), startNode);
+        double endLng = end.lng();
+        double endLat = end.lat();
+        int startNode = state.add(SearchState.cellKey(start.lng(), start.lat()),
+                start.lng(), start.lat(), SearchState.NO_NODE, 0, heuristic(start, end));
+        openSet.insert(startNode, state.fScore(startNode));
 
-        // With fixed priority queue logic, A* should find paths efficiently
+        // With decrease-key on the open set, A* should find paths efficiently
         int maxIterations = 20000;
         int iterations = 0;
 
         while (!openSet.isEmpty() && iterations < maxIterations) {
             iterations++;
-            Node current = openSet.poll();
+            int current = openSet.poll();
+            double currentLng = state.lng(current);
+            double currentLat = state.lat(current);
 
-            if (isCloseTo(current.position, end)) {
+            if (distance(currentLng, currentLat, endLng, endLat) < CLOSE_THRESHOLD) {
                 // A* successfully found path
                 if (iterations > 5000) {
                     System.out.println("  A* found path in " + iterations + " iterations (complex path)");
                 }
-                return reconstructPath(current, end);
+                return reconstructPath(state, current, end);
             }
 
-            closedSet.add(nodeKey(current.position));
+            state.close(current);
 
             // Try all 16 directions
-            for (double angle : DIRECTIONS) {
-                LngLat nextPos = nextPosition(current.position, angle);
-                String key = nodeKey(nextPos);
+            for (int direction = 0; direction < LatticeMoves.DIRECTION_COUNT; direction++) {
+                double nextLng = currentLng + LatticeMoves.dLng(direction);
+                double nextLat = currentLat + LatticeMoves.dLat(direction);
+                long key = SearchState.cellKey(nextLng, nextLat);
+                int neighbor = state.find(key);
 
-                if (closedSet.contains(key)) {
+                if (neighbor != SearchState.NO_NODE && state.isClosed(neighbor)) {
                     continue;
                 }
 
                 // Check if move crosses no-fly zone
-                if (crossesNoFlyZone(current.position, nextPos, noFlyZones)) {
+                if (noFlyZones.crosses(currentLng, currentLat, nextLng, nextLat)) {
                     continue;
                 }
 
-                double tentativeG = current.gScore + MOVE_DISTANCE;
-                Node neighbor = allNodes.get(key);
-
-                if (neighbor == null) {
-                    neighbor = new Node(nextPos, current, tentativeG, tentativeG + heuristic(nextPos, end));
-                    allNodes.put(key, neighbor);
-                    openSet.add(neighbor);
-                } else if (tentativeG < neighbor.gScore) {
-                    // CRITICAL FIX: Remove from queue before updating, then re-add
-                    // This ensures the priority queue reorders based on new fScore
-                    openSet.remove(neighbor);
-                    neighbor.parent = current;
-                    neighbor.gScore = tentativeG;
-                    neighbor.fScore = tentativeG + heuristic(nextPos, end);
-                    openSet.add(neighbor);
+                double tentativeG = state.gScore(current) + MOVE_DISTANCE;
+                double tentativeF = tentativeG + distance(nextLng, nextLat, endLng, endLat);
+
+                if (neighbor == SearchState.NO_NODE) {
+                    neighbor = state.add(key, nextLng, nextLat, current, tentativeG, tentativeF);
+                    openSet.insert(neighbor, tentativeF);
+                } else if (tentativeG < state.gScore(neighbor)) {
+                    // Better route to a node still in the open set: decrease its key in place
+                    state.update(neighbor, current, tentativeG, tentativeF);
+                    openSet.decreaseKey(neighbor, tentativeF);
                 }
             }
         }
@@ -553,76 +690,89 @@ public class PathCalculationServiceImpl implements PathCalculationService {
      * Uses a visited set to avoid loops and implements wall-following when stuck.
      * Used as fallback when A* cannot find a path.
      */
-    private List<LngLat> generateDirectPath(LngLat start, LngLat end, List<RestrictedArea> noFlyZones) {
-        List<LngLat> path = new ArrayList<>();
-        path.add(start);
+    private List<LngLat> generateDirectPath(LngLat start, LngLat end, NoFlyZoneIndex noFlyZones) {
+        int maxMoves = FALLBACK_MAX_MOVES;
+        double endLng = end.lng();
+        double endLat = end.lat();
+        double currentLng = start.lng();
+        double currentLat = start.lat();
+
+        CoordinatePath path = new CoordinatePath();
+        path.add(currentLng, currentLat);
 
-        LngLat current = start;
-        int maxMoves = 2000; // Increased safety limit
         int moves = 0;
         int consecutiveBlocked = 0;
-        Set<String> visited = new HashSet<>();
-        visited.add(nodeKey(start));
+        LongIntHashMap visited = new LongIntHashMap(maxMoves);
+        visited.put(SearchState.cellKey(currentLng, currentLat), 0);
+        int[] directionOrder = new int[LatticeMoves.DIRECTION_COUNT];
+        double[] angleDiff = new double[LatticeMoves.DIRECTION_COUNT];
 
-        while (!isCloseTo(current, end) && moves < maxMoves) {
+        while (distance(currentLng, currentLat, endLng, endLat) >= CLOSE_THRESHOLD && moves < maxMoves) {
             // Calculate angle to target
-            double dx = end.lng() - current.lng();
-            double dy = end.lat() - current.lat();
+            double dx = endLng - currentLng;
+            double dy = endLat - currentLat;
             double angleToTarget = Math.toDegrees(Math.atan2(dy, dx));
             if (angleToTarget < 0) {
                 angleToTarget += 360;
             }
 
-            // Sort directions by how close they are to target angle
-            List<Double> sortedDirections = new ArrayList<>();
-            for (double angle : DIRECTIONS) {
-                sortedDirections.add(angle);
+            // Sort directions by how close they are to target angle (stable, ties keep index order)
+            for (int d = 0; d < directionOrder.length; d++) {
+                double diff = Math.abs(LatticeMoves.angle(d) - angleToTarget);
+                if (diff > 180) diff = 360 - diff;
+                angleDiff[d] = diff;
+                int i = d;
+                while (i > 0 && angleDiff[directionOrder[i - 1]] > diff) {
+                    directionOrder[i] = directionOrder[i - 1];
+                    i--;
+                }
+                directionOrder[i] = d;
             }
-            double finalAngleToTarget = angleToTarget;
-            sortedDirections.sort((a1, a2) -> {
-                double diff1 = Math.abs(a1 - finalAngleToTarget);
-                if (diff1 > 180) diff1 = 360 - diff1;
-                double diff2 = Math.abs(a2 - finalAngleToTarget);
-                if (diff2 > 180) diff2 = 360 - diff2;
-                return Double.compare(diff1, diff2);
-            });
 
             // Try directions in order of preference, checking for no-fly zones
             boolean foundValidMove = false;
-            LngLat bestUnvisitedMove = null;
+            boolean hasVisitedMove = false;
+            double visitedMoveLng = 0;
+            double visitedMoveLat = 0;
 
-            for (double angle : sortedDirections) {
-                LngLat nextPos = nextPosition(current, angle);
-                String nextKey = nodeKey(nextPos);
+            for (int direction : directionOrder) {
+                double nextLng = currentLng + LatticeMoves.dLng(direction);
+                double nextLat = currentLat + LatticeMoves.dLat(direction);
 
                 // Check if this move crosses a no-fly zone
-                if (!crossesNoFlyZone(current, nextPos, noFlyZones)) {
+                if (!noFlyZones.crosses(currentLng, currentLat, nextLng, nextLat)) {
+                    long nextKey = SearchState.cellKey(nextLng, nextLat);
                     // Prefer unvisited positions
-                    if (!visited.contains(nextKey)) {
-                        current = nextPos;
-                        path.add(current);
-                        visited.add(nextKey);
+                    if (visited.get(nextKey) == LongIntHashMap.MISSING) {
+                        currentLng = nextLng;
+                        currentLat = nextLat;
+                        path.add(currentLng, currentLat);
+                        visited.put(nextKey, path.size() - 1);
                         foundValidMove = true;
                         consecutiveBlocked = 0;
                         break;
-                    } else if (bestUnvisitedMove == null) {
+                    } else if (!hasVisitedMove) {
                         // Keep track of first valid move even if visited (for last resort)
-                        bestUnvisitedMove = nextPos;
+                        hasVisitedMove = true;
+                        visitedMoveLng = nextLng;
+                        visitedMoveLat = nextLat;
                     }
                 }
             }
 
             // If no unvisited valid move found, use visited position as last resort
-            if (!foundValidMove && bestUnvisitedMove != null) {
-                current = bestUnvisitedMove;
-                path.add(current);
+            if (!foundValidMove && hasVisitedMove) {
+                currentLng = visitedMoveLng;
+                currentLat = visitedMoveLat;
+                path.add(currentLng, currentLat);
                 foundValidMove = true;
                 consecutiveBlocked++;
 
                 // If we're revisiting positions too much, we're likely stuck in a loop
                 if (consecutiveBlocked > 20) {
-                    System.err.println("ERROR: Stuck in loop trying to reach " + end + " from " + current);
-                    return path;
+                    System.err.println("ERROR: Stuck in loop trying to reach " + end + " from " +
+                            new LngLat(currentLng, currentLat));
+                    return withStart(path, start);
                 }
             }
 
@@ -631,32 +781,47 @@ public class PathCalculationServiceImpl implements PathCalculationService {
                 consecutiveBlocked++;
                 if (consecutiveBlocked > 10) {
                     System.err.println("ERROR: Cannot find valid path from " + start + " to " + end +
-                                     " - all directions blocked by no-fly zones at " + current);
+                                     " - all directions blocked by no-fly zones at " +
+                                     new LngLat(currentLng, currentLat));
                     // Return path to current position (partial path)
-                    return path;
+                    return withStart(path, start);
                 }
                 // Hover in place
-                path.add(current);
+                path.add(currentLng, currentLat);
             }
 
             moves++;
         }
 
-        if (!isCloseTo(current, end)) {
+        if (distance(currentLng, currentLat, endLng, endLat) >= CLOSE_THRESHOLD) {
             System.err.println("WARNING: Fallback path reached max moves (" + maxMoves + ") without reaching target");
         }
 
-        return path;
+        return withStart(path, start);
     }
 
-    private List<LngLat> reconstructPath(Node endNode, LngLat target) {
-        List<LngLat> path = new ArrayList<>();
-        Node current = endNode;
+    /**
+     * Materialises a planned path, keeping the caller's start object as its first point.
+     */
+    private static List<LngLat> withStart(CoordinatePath path, LngLat start) {
+        List<LngLat> points = path.toLngLats();
+        points.set(0, start);
+        return points;
+    }
 
-        while (current != null) {
-            path.add(0, current.position);
-            current = current.parent;
+    private List<LngLat> reconstructPath(SearchState state, int endNode, LngLat target) {
+        // The path is API output, so this is where its LngLats are created: sized once, filled back to front
+        int length = 0;
+        for (int node = endNode; node != SearchState.NO_NODE; node = state.parent(node)) {
+            length++;
         }
+        LngLat[] points = new LngLat[length];
+        int index = length;
+        for (int node = endNode; node != SearchState.NO_NODE; node = state.parent(node)) {
+            points[--index] = new LngLat(state.lng(node), state.lat(node));
+        }
+        List<LngLat> path = new ArrayList<>(length + 1);
+        Collections.addAll(path, points);
 
         // Add the actual target position
         if (!path.isEmpty() && !isCloseTo(path.get(path.size() - 1), target)) {
@@ -666,21 +831,17 @@ public class PathCalculationServiceImpl implements PathCalculationService {
         return path;
     }
 
-    private LngLat nextPosition(LngLat current, double angleDegrees) {
-        // 0° = East, 90° = North, 180° = West, 270° = South
-        double angleRadians = Math.toRadians(angleDegrees);
-        double newLng = current.lng() + MOVE_DISTANCE * Math.cos(angleRadians);
-        double newLat = current.lat() + MOVE_DISTANCE * Math.sin(angleRadians);
-        return new LngLat(newLng, newLat);
-    }
-
     private boolean isCloseTo(LngLat p1, LngLat p2) {
         return distance(p1, p2) < CLOSE_THRESHOLD;
     }
 
     private double distance(LngLat p1, LngLat p2) {
-        double dx = p1.lng() - p2.lng();
-        double dy = p1.lat() - p2.lat();
+        return distance(p1.lng(), p1.lat(), p2.lng(), p2.lat());
+    }
+
+    private double distance(double lng1, double lat1, double lng2, double lat2) {
+        double dx = lng1 - lng2;
+        double dy = lat1 - lat2;
         return Math.sqrt(dx * dx + dy * dy);
     }
 
@@ -688,127 +849,6 @@ public class PathCalculationServiceImpl implements PathCalculationService {
         return distance(from, to);
     }
 
-    private String nodeKey(LngLat pos) {
-        // Round to avoid floating point precision issues
-        long lng = Math.round(pos.lng() * 1000000);
-        long lat = Math.round(pos.lat() * 1000000);
-        return lng + "," + lat;
-    }
-
-    private boolean crossesNoFlyZone(LngLat from, LngLat to, List<RestrictedArea> noFlyZones) {
-        for (RestrictedArea zone : noFlyZones) {
-            // Check if line segment intersects polygon boundary
-            if (lineIntersectsPolygon(from, to, zone.getVertices())) {
-                return true;
-            }
-            // Check if starting point is inside the zone
-            if (isPointInPolygon(from, zone.getVertices())) {
-                return true;
-            }
-            // Check if endpoint is inside the zone
-            if (isPointInPolygon(to, zone.getVertices())) {
-                return true;
-            }
-        }
-        return false;
-    }
-
-    private boolean isPointInPolygon(LngLat point, List<LngLat> vertices) {
-        if (vertices == null || vertices.size() < 3) {
-            return false;
-        }
-
-        int n = vertices.size();
-
-        // Check if polygon is closed (first vertex equals last vertex)
-        boolean isClosed = vertices.get(0).equals(vertices.get(n - 1));
-
-        // If closed, exclude the duplicate last vertex from edge checks
-        int edgeCount = isClosed ? n - 1 : n;
-
-        boolean inside = false;
-
-        for (int i = 0, j = edgeCount - 1; i < edgeCount; j = i++) {
-            LngLat vi = vertices.get(i);
-            LngLat vj = vertices.get(j);
-
-            if ((vi.lat() > point.lat()) != (vj.lat() > point.lat()) &&
-                    point.lng() < (vj.lng() - vi.lng()) * (point.lat() - vi.lat()) /
-                            (vj.lat() - vi.lat()) + vi.lng()) {
-                inside = !inside;
-            }
-        }
-
-        return inside;
-    }
-
-    private boolean lineIntersectsPolygon(LngLat p1, LngLat p2, List<LngLat> vertices) {
-        if (vertices == null || vertices.size() < 3) {
-            return false;
-        }
-
-        int n = vertices.size();
-
-        // Check if polygon is closed (first vertex equals last vertex)
-        boolean isClosed = vertices.get(0).equals(vertices.get(n - 1));
-
-        // If closed, we only need to check edges up to n-1 (excluding the duplicate last vertex)
-        // If open, we need to check all consecutive edges plus the closing edge
-        if (isClosed) {
-            // For closed polygon, check edges: 0-1, 1-2, ..., (n-2)-(n-1)
-            // The last edge (n-1)-0 is already represented as it's the same as (n-1)-(duplicate of 0)
-            for (int i = 0; i < n - 1; i++) {
-                if (linesIntersect(p1, p2, vertices.get(i), vertices.get(i + 1))) {
-                    return true;
-                }
-            }
-        } else {
-            // For open polygon, check consecutive edges
-            for (int i = 0; i < n - 1; i++) {
-                if (linesIntersect(p1, p2, vertices.get(i), vertices.get(i + 1))) {
-                    return true;
-                }
-            }
-            // Check closing edge from last to first vertex
-            if (linesIntersect(p1, p2, vertices.get(n - 1), vertices.get(0))) {
-                return true;
-            }
-        }
-
-        return false;
-    }
-
-    private boolean linesIntersect(LngLat p1, LngLat p2, LngLat p3, LngLat p4) {
-        double d1 = direction(p3, p4, p1);
-        double d2 = direction(p3, p4, p2);
-        double d3 = direction(p1, p2, p3);
-        double d4 = direction(p1, p2, p4);
-
-        if (((d1 > 0 && d2 < 0) || (d1 < 0 && d2 > 0)) &&
-                ((d3 > 0 && d4 < 0) || (d3 < 0 && d4 > 0))) {
-            return true;
-        }
-
-        if (d1 == 0 && onSegment(p3, p4, p1)) return true;
-        if (d2 == 0 && onSegment(p3, p4, p2)) return true;
-        if (d3 == 0 && onSegment(p1, p2, p3)) return true;
-        if (d4 == 0 && onSegment(p1, p2, p4)) return true;
-
-        return false;
-    }
-
-    private double direction(LngLat p1, LngLat p2, LngLat p3) {
-        return (p3.lng() - p1.lng()) * (p2.lat() - p1.lat()) -
-                (p2.lng() - p1.lng()) * (p3.lat() - p1.lat());
-    }
-
-    private boolean onSegment(LngLat p1, LngLat p2, LngLat p) {
-        return Math.min(p1.lng(), p2.lng()) <= p.lng() &&
-                p.lng() <= Math.max(p1.lng(), p2.lng()) &&
-                Math.min(p1.lat(), p2.lat()) <= p.lat() &&
-                p.lat() <= Math.max(p1.lat(), p2.lat());
-    }
-
     /**
      * Groups dispatches by their nearest service point.
      * Each dispatch is assigned to the service point that is closest to its delivery location.
@@ -905,17 +945,11 @@ public class PathCalculationServiceImpl implements PathCalculationService {
         return result;
     }
 
-    private static class Node {
-        LngLat position;
-        Node parent;
-        double gScore;
-        double fScore;
-
-        Node(LngLat position, Node parent, double gScore, double fScore) {
-            this.position = position;
-            this.parent = parent;
-            this.gScore = gScore;
-            this.fScore = fScore;
-        }
+    /**
+     * One drone's share of the dispatches, ready to be planned. stops[i] is the
+     * index of dispatches.get(i) in legCosts.
+     */
+    private record DroneJob(String droneId, LngLat servicePoint, int maxMoves, List<MedDispatchRec> dispatches,
+                            int[] stops, LegCostMatrix legCosts) {
     }
 }
@@ -0,0 +1,193 @@
+package ilp.submission.service.impl;
+
+import ilp.submission.model.QueryAttribute;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * A list of query attributes compiled into typed conditions. Attribute names
+ * are resolved to DroneColumns columns and values parsed once, when the plan
+ * is built, so evaluating it does no parsing at all.
+ * Each condition selects a set of drones, numeric ones by binary search on a
+ * sorted column, and the sets are ANDed most selective first, stopping as
+ * soon as none are left. A condition that can never hold (an unknown
+ * attribute, a missing value or a number that does not parse) makes the
+ * whole plan match nothing.
+ */
+final class QueryPlan {
+
+    private static final QueryPlan NOTHING = new QueryPlan(null);
+
+    // Null when nothing can match
+    private final Condition[] conditions;
+
+    private QueryPlan(Condition[] conditions) {
+        this.conditions = conditions;
+    }
+
+    static QueryPlan compile(List<QueryAttribute> queries) {
+        List<Condition> conditions = new ArrayList<>(queries.size());
+        for (QueryAttribute query : queries) {
+            Condition condition = compile(query.getAttribute(), query.getOperator(), query.getValue());
+            if (condition == null) {
+                return NOTHING;
+            }
+            conditions.add(condition);
+        }
+        conditions.sort(Comparator.comparingInt(Condition::rank));
+        return new QueryPlan(conditions.toArray(new Condition[0]));
+    }
+
+    /**
+     * Whether no drone can match, so the drone list need not be read.
+     */
+    boolean matchesNothing() {
+        return conditions == null;
+    }
+
+    /**
+     * IDs of the matching drones, in drone list order. Only for a plan that
+     * can match something; see matchesNothing.
+     */
+    List<String> select(DroneColumns columns) {
+        long[] result = columns.all();
+        for (Condition condition : conditions) {
+            DroneBitsets.and(result, condition.select(columns));
+            if (DroneBitsets.isEmpty(result)) {
+                break;
+            }
+        }
+        return columns.ids(result);
+    }
+
+    private static Condition compile(String attribute, String operator, String value) {
+        if (attribute == null || value == null) {
+            return null;
+        }
+        return switch (attribute.toLowerCase()) {
+            case "id" -> text(operator, (columns, negated) -> columns.id(value, negated));
+            case "name" -> text(operator, (columns, negated) -> columns.name(value, negated));
+            case "cooling" -> flag(operator, value, DroneColumns::cooling);
+            case "heating" -> flag(operator, value, DroneColumns::heating);
+            case "capacity" -> decimal(DroneColumns::capacity, operator, value);
+            case "maxmoves" -> whole(DroneColumns::maxMoves, operator, value);
+            case "costpermove" -> decimal(DroneColumns::costPerMove, operator, value);
+            case "costinitial" -> decimal(DroneColumns::costInitial, operator, value);
+            case "costfinal" -> decimal(DroneColumns::costFinal, operator, value);
+            default -> null;
+        };
+    }
+
+    /**
+     * Strings support = and !=; any other operator is treated as =.
+     */
+    private static Condition text(String operator, BiFunction<DroneColumns, Boolean, long[]> field) {
+        boolean negated = "!=".equals(operator);
+        // An ID or name equality picks out at most a handful of drones
+        return new Condition(negated ? 4 : 0, columns -> field.apply(columns, negated));
+    }
+
+    /**
+     * Booleans support = and !=; any other operator is treated as =.
+     */
+    private static Condition flag(String operator, String value, BiFunction<DroneColumns, Boolean, long[]> field) {
+        boolean expected = Boolean.parseBoolean(value) != "!=".equals(operator);
+        return new Condition(3, columns -> field.apply(columns, expected));
+    }
+
+    private static Condition decimal(Function<DroneColumns, SortedColumn> field, String operator, String value) {
+        double operand;
+        try {
+            operand = Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        return number(field, Comparison.of(operator), operand);
+    }
+
+    private static Condition whole(Function<DroneColumns, SortedColumn> field, String operator, String value) {
+        int operand;
+        try {
+            operand = Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        // Every int is exact as a double, so comparing as doubles gives the same answers
+        return number(field, Comparison.of(operator), operand);
+    }
+
+    private static Condition number(Function<DroneColumns, SortedColumn> field, Comparison comparison,
+                                    double operand) {
+        return new Condition(comparison.rank, columns -> comparison.select(field.apply(columns), operand));
+    }
+
+    /**
+     * One compiled attribute. Lower ranks are expected to select fewer drones.
+     */
+    private record Condition(int rank, Function<DroneColumns, long[]> selector) {
+
+        long[] select(DroneColumns columns) {
+            return selector.apply(columns);
+        }
+    }
+
+    /**
+     * Numeric operators; anything unrecognised is treated as =.
+     */
+    private enum Comparison {
+        // Double.compare, so NaN equals NaN and 0.0 differs from -0.0
+        EQUAL(1) {
+            long[] select(SortedColumn column, double operand) {
+                return column.equalTo(operand);
+            }
+        },
+        NOT_EQUAL(4) {
+            long[] select(SortedColumn column, double operand) {
+                return column.notEqualTo(operand);
+            }
+        },
+        LESS(2) {
+            long[] select(SortedColumn column, double operand) {
+                return column.lessThan(operand);
+            }
+        },
+        GREATER(2) {
+            long[] select(SortedColumn column, double operand) {
+                return column.greaterThan(operand);
+            }
+        },
+        AT_MOST(2) {
+            long[] select(SortedColumn column, double operand) {
+                return column.atMost(operand);
+            }
+        },
+        AT_LEAST(2) {
+            long[] select(SortedColumn column, double operand) {
+                return column.atLeast(operand);
+            }
+        };
+
+        private final int rank;
+
+        Comparison(int rank) {
+            this.rank = rank;
+        }
+
+        abstract long[] select(SortedColumn column, double operand);
+
+        static Comparison of(String operator) {
+            return switch (operator) {
+                case "!=" -> NOT_EQUAL;
+                case "<" -> LESS;
+                case ">" -> GREATER;
+                case "<=" -> AT_MOST;
+                case ">=" -> AT_LEAST;
+                default -> EQUAL;
+            };
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package ilp.submission.service.impl;
+
+import ilp.submission.model.Drone;
+import ilp.submission.model.DroneCapability;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.DoublePredicate;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * One numeric capability of a drone list snapshot, with the values sorted
+ * together with their drone indices so that every comparison is a binary
+ * search and its matches are one contiguous run, returned as a DroneBitsets set.
+ * Values are kept in Double.compare order: NaN sorts last and fails every
+ * range, and -0.0 sorts just before 0.0, which only equality tells apart.
+ */
+final class SortedColumn {
+
+    private final int fleetSize;
+    // Drones that have a value, i.e. a capability record
+    private final long[] present;
+    private final double[] values;
+    private final int[] drones;
+    // Values before this position are not NaN
+    private final int numbers;
+
+    SortedColumn(List<Drone> fleet, long[] present, ToDoubleFunction<DroneCapability> field) {
+        this.fleetSize = fleet.size();
+        this.present = present.clone();
+        List<Integer> order = new ArrayList<>();
+        for (int i = DroneBitsets.next(present, 0); i >= 0; i = DroneBitsets.next(present, i + 1)) {
+            order.add(i);
+        }
+        order.sort((a, b) -> Double.compare(
+                field.applyAsDouble(fleet.get(a).getCapability()),
+                field.applyAsDouble(fleet.get(b).getCapability())));
+
+        this.drones = new int[order.size()];
+        this.values = new double[order.size()];
+        int numbers = 0;
+        for (int k = 0; k < drones.length; k++) {
+            drones[k] = order.get(k);
+            values[k] = field.applyAsDouble(fleet.get(drones[k]).getCapability());
+            if (!Double.isNaN(values[k])) {
+                numbers = k + 1;
+            }
+        }
+        this.numbers = numbers;
+    }
+
+    /**
+     * Drones whose value is the operand by Double.compare, so NaN matches NaN.
+     */
+    long[] equalTo(double operand) {
+        return run(first(values.length, v -> Double.compare(v, operand) >= 0),
+                first(values.length, v -> Double.compare(v, operand) > 0));
+    }
+
+    /**
+     * Drones that have a value and whose value is not the operand by Double.compare.
+     */
+    long[] notEqualTo(double operand) {
+        long[] result = present.clone();
+        DroneBitsets.andNot(result, equalTo(operand));
+        return result;
+    }
+
+    long[] lessThan(double operand) {
+        return run(0, first(numbers, v -> !(v < operand)));
+    }
+
+    long[] atMost(double operand) {
+        return run(0, first(numbers, v -> !(v <= operand)));
+    }
+
+    long[] greaterThan(double operand) {
+        return run(first(numbers, v -> v > operand), numbers);
+    }
+
+    long[] atLeast(double operand) {
+        return run(first(numbers, v -> v >= operand), numbers);
+    }
+
+    /**
+     * The first position below end whose value satisfies the condition, or
+     * end if there is none. The condition must be false up to some position
+     * and true from there on.
+     */
+    private int first(int end, DoublePredicate condition) {
+        int low = 0;
+        int high = end;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (condition.test(values[mid])) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return low;
+    }
+
+    private long[] run(int from, int to) {
+        long[] result = DroneBitsets.empty(fleetSize);
+        for (int k = from; k < to; k++) {
+            DroneBitsets.set(result, drones[k]);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,125 @@
+package ilp.submission.benchmark;
+
+import ilp.submission.model.LngLat;
+import ilp.submission.model.RestrictedArea;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Shared benchmark data: the restricted zones around the central area
+ * (George Square, Dr Elsie Inglis Quadrangle, Bristo Square, Bayes) and
+ * legs that have to route around them.
+ */
+final class CentralAreaFixture {
+
+    static final LngLat APPLETON_TOWER = new LngLat(-3.186874, 55.944494);
+
+    static final double[][] GEORGE_SQUARE = {
+            {-3.190578818321228, 55.94402412577528},
+            {-3.1899887323379517, 55.94284650540911},
+            {-3.187097311019897, 55.94328811724263},
+            {-3.187682032585144, 55.944477740393744},
+            {-3.190578818321228, 55.94402412577528}
+    };
+
+    static final double[][] ELSIE_INGLIS = {
+            {-3.1907182931900024, 55.94519570234043},
+            {-3.1906163692474365, 55.94498241796357},
+            {-3.1900262832641597, 55.94507554227258},
+            {-3.190133571624756, 55.94529783810495},
+            {-3.1907182931900024, 55.94519570234043}
+    };
+
+    static final double[][] BRISTO_SQUARE = {
+            {-3.189543485641479, 55.94552313663306},
+            {-3.189382553100586, 55.94553214854692},
+            {-3.189259171485901, 55.94544803726933},
+            {-3.1892001628875732, 55.94533688994374},
+            {-3.189194798469543, 55.94519570234043},
+            {-3.189135789871216, 55.94511759833873},
+            {-3.188138008117676, 55.9452738061846},
+            {-3.1885510683059692, 55.946105902745614},
+            {-3.1895381212234497, 55.94555918427592},
+            {-3.189543485641479, 55.94552313663306}
+    };
+
+    static final double[][] BAYES = {
+            {-3.1876927614212036, 55.94520696732767},
+            {-3.187555968761444, 55.9449621408666},
+            {-3.186981976032257, 55.94505676722831},
+            {-3.1872327625751495, 55.94536993377657},
+            {-3.1874459981918335, 55.9453361389472},
+            {-3.1873735785484314, 55.94519344934259},
+            {-3.1875935196876526, 55.94515665035927},
+            {-3.187624365091324, 55.94521973430925},
+            {-3.1876927614212036, 55.94520696732767}
+    };
+
+    static final double[][][] ZONES = {GEORGE_SQUARE, ELSIE_INGLIS, BRISTO_SQUARE, BAYES};
+
+    /**
+     * Legs as {fromLng, fromLat, toLng, toLat}; each one crosses the line of at least one zone.
+     */
+    static final double[][] LEGS = {
+            {-3.1915, 55.9436, -3.1860, 55.9430},
+            {-3.1890, 55.9420, -3.1888, 55.9465},
+            {-3.1920, 55.9452, -3.1860, 55.9451},
+            {-3.1868, 55.9445, -3.1910, 55.9425}
+    };
+
+    private CentralAreaFixture() {
+    }
+
+    static List<RestrictedArea> restrictedAreas() {
+        String[] names = {"George Square Area", "Dr Elsie Inglis Quadrangle", "Bristo Square Open Area", "Bayes Central Area"};
+        List<RestrictedArea> areas = new ArrayList<>();
+        for (int z = 0; z < ZONES.length; z++) {
+            List<LngLat> vertices = new ArrayList<>();
+            for (double[] v : ZONES[z]) {
+                vertices.add(new LngLat(v[0], v[1]));
+            }
+            areas.add(new RestrictedArea(names[z], z + 1, null, vertices));
+        }
+        return areas;
+    }
+
+    /**
+     * Same rule as the planner: a move is blocked if it touches a zone edge
+     * or either endpoint lies inside a zone.
+     */
+    static boolean blocked(double x1, double y1, double x2, double y2) {
+        for (double[][] zone : ZONES) {
+            int n = zone.length - 1;
+            boolean fromInside = false;
+            boolean toInside = false;
+            for (int i = 0, j = n - 1; i < n; j = i++) {
+                double xi = zone[i][0], yi = zone[i][1];
+                double xj = zone[j][0], yj = zone[j][1];
+                if (segmentsIntersect(x1, y1, x2, y2, xi, yi, xj, yj)) {
+                    return true;
+                }
+                if ((yi > y1) != (yj > y1) && x1 < (xj - xi) * (y1 - yi) / (yj - yi) + xi) {
+                    fromInside = !fromInside;
+                }
+                if ((yi > y2) != (yj > y2) && x2 < (xj - xi) * (y2 - yi) / (yj - yi) + xi) {
+                    toInside = !toInside;
+                }
+            }
+            if (fromInside || toInside) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean segmentsIntersect(double x1, double y1, double x2, double y2,
+                                             double x3, double y3, double x4, double y4) {
+        double d1 = (x1 - x3) * (y4 - y3) - (x4 - x3) * (y1 - y3);
+        double d2 = (x2 - x3) * (y4 - y3) - (x4 - x3) * (y2 - y3);
+        double d3 = (x3 - x1) * (y2 - y1) - (x2 - x1) * (y3 - y1);
+        double d4 = (x4 - x1) * (y2 - y1) - (x2 - x1) * (y4 - y1);
+        return ((d1 > 0 && d2 < 0) || (d1 < 0 && d2 > 0)) &&
+                ((d3 > 0 && d4 < 0) || (d3 < 0 && d4 > 0));
+    }
+}
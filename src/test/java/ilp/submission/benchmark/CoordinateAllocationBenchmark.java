@@ -0,0 +1,114 @@
+package ilp.submission.benchmark;
+
+import ilp.submission.model.LatticeMoves;
+import ilp.submission.model.LngLat;
+import ilp.submission.model.RestrictedArea;
+import ilp.submission.pathfinding.CoordinatePath;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Greedy walk towards a target through the central-area restricted zones, in
+ * the style of the planner: each step tests all 16 candidate moves for zone
+ * containment and keeps the free one closest to the target. Once with an
+ * LngLat per candidate (boxed Doubles and range validation on each), once on
+ * primitive coordinates that are only turned into LngLat when the finished
+ * path is returned. Run with -prof gc to compare gc.alloc.rate.norm.
+ *
+ * Run with:
+ * mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=org.openjdk.jmh.Main -Dexec.args="CoordinateAllocationBenchmark -prof gc"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class CoordinateAllocationBenchmark {
+
+    private static final LngLat TARGET = new LngLat(-3.1925, 55.9425);
+
+    @Param({"200"})
+    public int steps;
+
+    private List<RestrictedArea> zones;
+
+    @Setup
+    public void setUp() {
+        zones = CentralAreaFixture.restrictedAreas();
+    }
+
+    private boolean blocked(LngLat point) {
+        for (RestrictedArea zone : zones) {
+            if (zone.contains(point)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean blocked(double lng, double lat) {
+        for (RestrictedArea zone : zones) {
+            if (zone.contains(lng, lat)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Benchmark
+    public List<LngLat> boxed() {
+        List<LngLat> path = new ArrayList<>(steps + 1);
+        LngLat current = CentralAreaFixture.APPLETON_TOWER;
+        path.add(current);
+        for (int step = 0; step < steps; step++) {
+            LngLat best = current;
+            double bestDistance = Double.POSITIVE_INFINITY;
+            for (int direction = 0; direction < LatticeMoves.DIRECTION_COUNT; direction++) {
+                LngLat candidate = current.nextPosition(LatticeMoves.angle(direction));
+                double distance = candidate.distanceTo(TARGET);
+                if (distance < bestDistance && !blocked(candidate)) {
+                    best = candidate;
+                    bestDistance = distance;
+                }
+            }
+            current = best;
+            path.add(current);
+        }
+        return path;
+    }
+
+    @Benchmark
+    public List<LngLat> primitive() {
+        CoordinatePath path = new CoordinatePath(steps + 1);
+        double lng = CentralAreaFixture.APPLETON_TOWER.lng();
+        double lat = CentralAreaFixture.APPLETON_TOWER.lat();
+        double targetLng = TARGET.lng();
+        double targetLat = TARGET.lat();
+        path.add(lng, lat);
+        for (int step = 0; step < steps; step++) {
+            double bestLng = lng;
+            double bestLat = lat;
+            double bestDistance = Double.POSITIVE_INFINITY;
+            for (int direction = 0; direction < LatticeMoves.DIRECTION_COUNT; direction++) {
+                double candidateLng = lng + LatticeMoves.dLng(direction);
+                double candidateLat = lat + LatticeMoves.dLat(direction);
+                double dx = candidateLng - targetLng;
+                double dy = candidateLat - targetLat;
+                double distance = Math.sqrt(dx * dx + dy * dy);
+                if (distance < bestDistance && !blocked(candidateLng, candidateLat)) {
+                    bestLng = candidateLng;
+                    bestLat = candidateLat;
+                    bestDistance = distance;
+                }
+            }
+            lng = bestLng;
+            lat = bestLat;
+            path.add(lng, lat);
+        }
+        return path.toLngLats();
+    }
+}
@@ -0,0 +1,98 @@
+package ilp.submission.benchmark;
+
+import ilp.submission.config.PathPlanningConfig;
+import ilp.submission.model.*;
+import ilp.submission.pathfinding.GridNoFlyZoneIndex;
+import ilp.submission.pathfinding.LegCache;
+import ilp.submission.pathfinding.PlanCache;
+import ilp.submission.service.AsyncIlpRestClient;
+import ilp.submission.service.impl.AsyncIlpRestClientImpl;
+import ilp.submission.service.impl.DroneAvailabilityServiceImpl;
+import ilp.submission.service.impl.PathCalculationServiceImpl;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Plans a 200-dispatch day around the central-area restricted zones with the
+ * per-drone planning pool at different sizes. The leg and plan caches are
+ * disabled so every iteration runs the full A* workload; threads=1 is the
+ * serial baseline.
+ *
+ * Run with:
+ * mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=org.openjdk.jmh.Main -Dexec.args=DeliveryPlanningBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DeliveryPlanningBenchmark {
+
+    private static final int DISPATCHES = 200;
+    private static final int DRONES = 24;
+
+    @Param({"1", "8"})
+    public int threads;
+
+    private Executor executor;
+    private PathCalculationServiceImpl service;
+    private List<MedDispatchRec> dispatches;
+
+    @Setup
+    public void setUp() {
+        AsyncIlpRestClient client = new AsyncIlpRestClientImpl(new FixtureClient(DRONES,
+                i -> new DroneCapability(i % 2 == 0, i % 3 == 0, 4 + i % 8, 2000, 0.01, 4.3, 6.5, null),
+                CentralAreaFixture.restrictedAreas()), Runnable::run);
+        executor = PathPlanningConfig.planningExecutor(threads);
+        service = new PathCalculationServiceImpl(client, new DroneAvailabilityServiceImpl(client),
+                new LegCache(0, 0), new PlanCache(0, 0), executor);
+        dispatches = dispatches(new GridNoFlyZoneIndex(CentralAreaFixture.restrictedAreas()));
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (executor instanceof ExecutorService pool) {
+            pool.shutdownNow();
+        }
+    }
+
+    @Benchmark
+    public DeliveryPathResult planDay() {
+        return service.calculateDeliveryPaths(dispatches);
+    }
+
+    /**
+     * Dispatches spread across the day, with pickup and delivery points around
+     * the central area but never inside a restricted zone.
+     */
+    private static List<MedDispatchRec> dispatches(GridNoFlyZoneIndex zones) {
+        Random random = new Random(42);
+        List<MedDispatchRec> records = new ArrayList<>();
+        for (int i = 0; i < DISPATCHES; i++) {
+            LngLat pickup = freePoint(random, zones);
+            LngLat delivery = freePoint(random, zones);
+            int minute = 7 * 60 + i * 4;
+            String time = String.format("%02d:%02d", minute / 60, minute % 60);
+            records.add(new MedDispatchRec(i + 1, "2025-12-22", time, "P", pickup, delivery,
+                    new MedDispatchRec.Requirements(1 + random.nextInt(4), random.nextInt(5) == 0, false, null)));
+        }
+        return records;
+    }
+
+    private static LngLat freePoint(Random random, GridNoFlyZoneIndex zones) {
+        while (true) {
+            double lng = -3.1935 + random.nextDouble() * 0.01;
+            double lat = 55.9415 + random.nextDouble() * 0.006;
+            if (!zones.isInside(lng, lat)) {
+                return new LngLat(lng, lat);
+            }
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package ilp.submission.benchmark;
+
+import ilp.submission.model.*;
+import ilp.submission.service.IlpRestClient;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntFunction;
+
+/**
+ * Serves fixed reference data for planning benchmarks and tests: two service
+ * points sharing the fleet, every drone available all week. Drone i (from 1)
+ * has ID "i" and the capability the caller gives for i; odd drones are based
+ * at Appleton Tower and even ones at the Meadows.
+ */
+public final class FixtureClient implements IlpRestClient {
+
+    private final int drones;
+    private final IntFunction<DroneCapability> capability;
+    private final List<RestrictedArea> restrictedAreas;
+
+    public FixtureClient(int drones, IntFunction<DroneCapability> capability, List<RestrictedArea> restrictedAreas) {
+        this.drones = drones;
+        this.capability = capability;
+        this.restrictedAreas = restrictedAreas;
+    }
+
+    @Override
+    public List<Drone> fetchDrones() {
+        List<Drone> fleet = new ArrayList<>();
+        for (int i = 1; i <= drones; i++) {
+            fleet.add(new Drone("D" + i, String.valueOf(i), capability.apply(i)));
+        }
+        return fleet;
+    }
+
+    @Override
+    public List<Region> fetchRegions() {
+        return List.of();
+    }
+
+    @Override
+    public List<RestrictedArea> fetchRestrictedAreas() {
+        return restrictedAreas;
+    }
+
+    @Override
+    public List<DroneServicePoint> fetchServicePoints() {
+        return List.of(
+                new DroneServicePoint(1, "Appleton Tower", new DroneServicePoint.Location(
+                        CentralAreaFixture.APPLETON_TOWER.lng(), CentralAreaFixture.APPLETON_TOWER.lat(), 50)),
+                new DroneServicePoint(2, "Meadows", new DroneServicePoint.Location(-3.1920, 55.9418, 50)));
+    }
+
+    @Override
+    public List<MedDispatchRec> fetchMedDispatchRecords(String date) {
+        return List.of();
+    }
+
+    @Override
+    public List<DroneForServicePoint> fetchDroneAvailability() {
+        List<DroneForServicePoint.AvailabilityWindow> week = new ArrayList<>();
+        for (String day : List.of("MONDAY", "TUESDAY", "WEDNESDAY", "THURSDAY", "FRIDAY", "SATURDAY", "SUNDAY")) {
+            week.add(new DroneForServicePoint.AvailabilityWindow(day, "00:00:00", "23:59:59"));
+        }
+        List<DroneForServicePoint.DroneAvailability> first = new ArrayList<>();
+        List<DroneForServicePoint.DroneAvailability> second = new ArrayList<>();
+        for (int i = 1; i <= drones; i++) {
+            (i % 2 == 1 ? first : second).add(new DroneForServicePoint.DroneAvailability(String.valueOf(i), week));
+        }
+        return List.of(new DroneForServicePoint(1, first), new DroneForServicePoint(2, second));
+    }
+
+    @Override
+    public Region fetchCentralArea() {
+        return null;
+    }
+
+    @Override
+    public boolean isAlive() {
+        return true;
+    }
+}
@@ -0,0 +1,98 @@
+package ilp.submission.benchmark;
+
+import ilp.submission.geojson.GeoJsonWriter;
+import ilp.submission.model.DeliveryPathResult;
+import ilp.submission.model.LngLat;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialises a day's worth of drone paths as GeoJSON: the previous
+ * StringBuilder + String.format approach against the streaming writer
+ * sending bytes to a discarding output stream.
+ *
+ * Run with:
+ * mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=org.openjdk.jmh.Main -Dexec.args=GeoJsonBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GeoJsonBenchmark {
+
+    @Param({"50000"})
+    public int points;
+
+    private DeliveryPathResult result;
+
+    @Setup
+    public void setUp() {
+        List<DeliveryPathResult.DronePathInfo> drones = new ArrayList<>();
+        int perDrone = points / 20;
+        for (int d = 0; d < 20; d++) {
+            List<LngLat> path = new ArrayList<>();
+            LngLat position = CentralAreaFixture.APPLETON_TOWER;
+            for (int i = 0; i < perDrone; i++) {
+                path.add(position);
+                position = position.nextPosition(((i / 50 + d) % 16) * 22.5);
+            }
+            drones.add(new DeliveryPathResult.DronePathInfo("D" + d, path.get(0), List.of(), path, perDrone - 1));
+        }
+        result = new DeliveryPathResult(0, points, drones);
+    }
+
+    @Benchmark
+    public int stringFormat() {
+        StringBuilder json = new StringBuilder();
+        json.append("{\"type\":\"FeatureCollection\",\"features\":[");
+        boolean firstFeature = true;
+        for (DeliveryPathResult.DronePathInfo dronePath : result.getDronePaths()) {
+            List<LngLat> path = dronePath.getPath();
+            if (!firstFeature) {
+                json.append(",");
+            }
+            firstFeature = false;
+            json.append("{\"type\":\"Feature\",\"geometry\":{\"type\":\"LineString\",\"coordinates\":[");
+            for (int i = 0; i < path.size(); i++) {
+                LngLat point = path.get(i);
+                json.append(String.format("[%.6f,%.6f]", point.lng(), point.lat()));
+                if (i < path.size() - 1) {
+                    json.append(",");
+                }
+            }
+            json.append("]},\"properties\":{\"droneId\":\"");
+            json.append(dronePath.getDroneId());
+            json.append("\"}}");
+        }
+        json.append("]}");
+        return json.toString().length();
+    }
+
+    @Benchmark
+    public long streamingWriter() throws IOException {
+        CountingStream out = new CountingStream();
+        GeoJsonWriter.write(result, out);
+        return out.count;
+    }
+
+    private static final class CountingStream extends OutputStream {
+        long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
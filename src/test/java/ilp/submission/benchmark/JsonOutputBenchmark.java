@@ -0,0 +1,86 @@
+package ilp.submission.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectWriter;
+import ilp.submission.config.JacksonConfig;
+import ilp.submission.model.DeliveryPathResult;
+import ilp.submission.model.LngLat;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialises a large delivery plan with the application's ObjectMapper,
+ * compact (the default) against pretty printed (the per-request opt-in).
+ * Each method returns the response size in bytes; the sizes are also printed
+ * once at setup.
+ *
+ * Run with:
+ * mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=org.openjdk.jmh.Main -Dexec.args=JsonOutputBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonOutputBenchmark {
+
+    @Param({"50000"})
+    public int points;
+
+    private DeliveryPathResult result;
+    private ObjectWriter compact;
+    private ObjectWriter pretty;
+
+    @Setup
+    public void setUp() throws IOException {
+        List<DeliveryPathResult.DronePathInfo> drones = new ArrayList<>();
+        int perDrone = points / 20;
+        for (int d = 0; d < 20; d++) {
+            List<LngLat> path = new ArrayList<>();
+            LngLat position = CentralAreaFixture.APPLETON_TOWER;
+            for (int i = 0; i < perDrone; i++) {
+                path.add(position);
+                position = position.nextPosition(((i / 50 + d) % 16) * 22.5);
+            }
+            drones.add(new DeliveryPathResult.DronePathInfo("D" + d, path.get(0), List.of(), path, perDrone - 1));
+        }
+        result = new DeliveryPathResult(0, points, drones);
+
+        compact = new JacksonConfig().objectMapper().writer();
+        pretty = compact.withDefaultPrettyPrinter();
+        System.out.printf("%nbytes/response: compact=%d pretty=%d%n", compact(), pretty());
+    }
+
+    @Benchmark
+    public long compact() throws IOException {
+        CountingStream out = new CountingStream();
+        compact.writeValue(out, result);
+        return out.count;
+    }
+
+    @Benchmark
+    public long pretty() throws IOException {
+        CountingStream out = new CountingStream();
+        pretty.writeValue(out, result);
+        return out.count;
+    }
+
+    private static final class CountingStream extends OutputStream {
+        long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
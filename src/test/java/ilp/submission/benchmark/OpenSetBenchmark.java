@@ -0,0 +1,137 @@
+package ilp.submission.benchmark;
+
+import ilp.submission.pathfinding.IndexedMinHeap;
+import ilp.submission.pathfinding.SearchState;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the A* open set backed by IndexedMinHeap (decrease-key) with the
+ * previous PriorityQueue remove-and-re-add approach on legs around the
+ * central-area restricted zones.
+ *
+ * Run with:
+ * mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=ilp.submission.benchmark.OpenSetBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class OpenSetBenchmark {
+
+    private static final double MOVE_DISTANCE = 0.00015;
+    private static final int MAX_ITERATIONS = 20000;
+
+    @Param({"0", "1", "2", "3"})
+    public int leg;
+
+    private final double[] dLng = new double[16];
+    private final double[] dLat = new double[16];
+    private final SearchState state = new SearchState();
+
+    @Setup
+    public void setUp() {
+        for (int d = 0; d < 16; d++) {
+            double radians = Math.toRadians(d * 22.5);
+            dLng[d] = MOVE_DISTANCE * Math.cos(radians);
+            dLat[d] = MOVE_DISTANCE * Math.sin(radians);
+        }
+    }
+
+    @Benchmark
+    public int indexedHeap() {
+        double[] l = CentralAreaFixture.LEGS[leg];
+        double endLng = l[2], endLat = l[3];
+        state.reset();
+        IndexedMinHeap open = state.openSet();
+        int start = state.add(SearchState.cellKey(l[0], l[1]), l[0], l[1], SearchState.NO_NODE,
+                0, Math.hypot(l[0] - endLng, l[1] - endLat));
+        open.insert(start, state.fScore(start));
+
+        for (int iterations = 0; !open.isEmpty() && iterations < MAX_ITERATIONS; iterations++) {
+            int current = open.poll();
+            double lng = state.lng(current), lat = state.lat(current);
+            if (Math.hypot(lng - endLng, lat - endLat) < MOVE_DISTANCE) {
+                return iterations;
+            }
+            state.close(current);
+            for (int d = 0; d < 16; d++) {
+                double nLng = lng + dLng[d], nLat = lat + dLat[d];
+                long key = SearchState.cellKey(nLng, nLat);
+                int neighbor = state.find(key);
+                if (neighbor != SearchState.NO_NODE && state.isClosed(neighbor)) {
+                    continue;
+                }
+                if (CentralAreaFixture.blocked(lng, lat, nLng, nLat)) {
+                    continue;
+                }
+                double g = state.gScore(current) + MOVE_DISTANCE;
+                double f = g + Math.hypot(nLng - endLng, nLat - endLat);
+                if (neighbor == SearchState.NO_NODE) {
+                    neighbor = state.add(key, nLng, nLat, current, g, f);
+                    open.insert(neighbor, f);
+                } else if (g < state.gScore(neighbor)) {
+                    state.update(neighbor, current, g, f);
+                    open.decreaseKey(neighbor, f);
+                }
+            }
+        }
+        return -1;
+    }
+
+    @Benchmark
+    public int priorityQueue() {
+        double[] l = CentralAreaFixture.LEGS[leg];
+        double endLng = l[2], endLat = l[3];
+        state.reset();
+        PriorityQueue<Integer> open = new PriorityQueue<>(
+                (a, b) -> Double.compare(state.fScore(a), state.fScore(b)));
+        int start = state.add(SearchState.cellKey(l[0], l[1]), l[0], l[1], SearchState.NO_NODE,
+                0, Math.hypot(l[0] - endLng, l[1] - endLat));
+        open.add(start);
+
+        for (int iterations = 0; !open.isEmpty() && iterations < MAX_ITERATIONS; iterations++) {
+            int current = open.poll();
+            double lng = state.lng(current), lat = state.lat(current);
+            if (Math.hypot(lng - endLng, lat - endLat) < MOVE_DISTANCE) {
+                return iterations;
+            }
+            state.close(current);
+            for (int d = 0; d < 16; d++) {
+                double nLng = lng + dLng[d], nLat = lat + dLat[d];
+                long key = SearchState.cellKey(nLng, nLat);
+                int neighbor = state.find(key);
+                if (neighbor != SearchState.NO_NODE && state.isClosed(neighbor)) {
+                    continue;
+                }
+                if (CentralAreaFixture.blocked(lng, lat, nLng, nLat)) {
+                    continue;
+                }
+                double g = state.gScore(current) + MOVE_DISTANCE;
+                double f = g + Math.hypot(nLng - endLng, nLat - endLat);
+                if (neighbor == SearchState.NO_NODE) {
+                    neighbor = state.add(key, nLng, nLat, current, g, f);
+                    open.add(neighbor);
+                } else if (g < state.gScore(neighbor)) {
+                    open.remove(neighbor);
+                    state.update(neighbor, current, g, f);
+                    open.add(neighbor);
+                }
+            }
+        }
+        return -1;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(OpenSetBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
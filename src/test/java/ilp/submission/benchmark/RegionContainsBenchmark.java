@@ -0,0 +1,105 @@
+package ilp.submission.benchmark;
+
+import ilp.submission.model.LngLat;
+import ilp.submission.model.Region;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Region containment for a batch of points around the central area: the
+ * previous List<LngLat> implementation (vertex and boundary pass, then a
+ * separate ray-cast pass) against the compiled polygon.
+ *
+ * Run with:
+ * mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=org.openjdk.jmh.Main -Dexec.args=RegionContainsBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RegionContainsBenchmark {
+
+    private static final int POINTS = 10_000;
+
+    private Region centralArea;
+    private LngLat[] points;
+
+    @Setup
+    public void setUp() {
+        centralArea = new Region("central", List.of(
+                new LngLat(-3.192473, 55.946233), new LngLat(-3.192473, 55.942617),
+                new LngLat(-3.184319, 55.942617), new LngLat(-3.184319, 55.946233),
+                new LngLat(-3.192473, 55.946233)));
+        // Half the points fall inside the central area, half around it
+        Random random = new Random(42);
+        points = new LngLat[POINTS];
+        for (int i = 0; i < POINTS; i++) {
+            points[i] = new LngLat(-3.1965 + random.nextDouble() * 0.0162, 55.9408 + random.nextDouble() * 0.0072);
+        }
+    }
+
+    @Benchmark
+    public int listBased() {
+        int inside = 0;
+        for (LngLat point : points) {
+            if (listContains(centralArea.getVertices(), point)) {
+                inside++;
+            }
+        }
+        return inside;
+    }
+
+    @Benchmark
+    public int compiled() {
+        int inside = 0;
+        for (LngLat point : points) {
+            if (centralArea.contains(point)) {
+                inside++;
+            }
+        }
+        return inside;
+    }
+
+    private static boolean listContains(List<LngLat> vertices, LngLat point) {
+        int n = vertices.size();
+        for (int i = 0; i < n - 1; i++) {
+            LngLat vi = vertices.get(i);
+            LngLat vj = vertices.get(i + 1);
+            if (point.equals(vi) || isPointOnSegment(point, vi, vj)) {
+                return true;
+            }
+        }
+        boolean inside = false;
+        for (int i = 0, j = n - 1; i < n; j = i++) {
+            LngLat vi = vertices.get(i);
+            LngLat vj = vertices.get(j);
+            boolean intersect = ((vi.lat() > point.lat()) != (vj.lat() > point.lat())) &&
+                    (point.lng() < (vj.lng() - vi.lng()) * (point.lat() - vi.lat()) /
+                            (vj.lat() - vi.lat()) + vi.lng());
+            if (intersect) {
+                inside = !inside;
+            }
+        }
+        return inside;
+    }
+
+    private static boolean isPointOnSegment(LngLat point, LngLat segmentStart, LngLat segmentEnd) {
+        final double EPSILON = 1e-10;
+        double minLng = Math.min(segmentStart.lng(), segmentEnd.lng());
+        double maxLng = Math.max(segmentStart.lng(), segmentEnd.lng());
+        double minLat = Math.min(segmentStart.lat(), segmentEnd.lat());
+        double maxLat = Math.max(segmentStart.lat(), segmentEnd.lat());
+        if (point.lng() < minLng - EPSILON || point.lng() > maxLng + EPSILON ||
+                point.lat() < minLat - EPSILON || point.lat() > maxLat + EPSILON) {
+            return false;
+        }
+        double crossProduct = (segmentEnd.lng() - segmentStart.lng()) * (point.lat() - segmentStart.lat()) -
+                (segmentEnd.lat() - segmentStart.lat()) * (point.lng() - segmentStart.lng());
+        return Math.abs(crossProduct) < EPSILON;
+    }
+}
@@ -0,0 +1,39 @@
+package ilp.submission.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ReferenceDataVersion Tests")
+class ReferenceDataVersionTest {
+
+    @Test
+    @DisplayName("Should keep the version for the same or equal datasets")
+    void testUnchanged() {
+        ReferenceDataVersion version = new ReferenceDataVersion();
+        List<String> drones = List.of("1", "2");
+        List<String> zones = List.of("George Square");
+
+        long first = version.of(drones, zones);
+
+        assertEquals(first, version.of(drones, zones));
+        assertEquals(first, version.of(new ArrayList<>(drones), new ArrayList<>(zones)));
+    }
+
+    @Test
+    @DisplayName("Should advance the version when any dataset changes")
+    void testChanged() {
+        ReferenceDataVersion version = new ReferenceDataVersion();
+        long first = version.of(List.of("1", "2"), List.of("George Square"));
+
+        long second = version.of(List.of("1", "2", "3"), List.of("George Square"));
+        long third = version.of(List.of("1", "2", "3"), List.of());
+
+        assertTrue(second > first);
+        assertTrue(third > second);
+    }
+}
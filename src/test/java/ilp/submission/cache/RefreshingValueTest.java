@@ -0,0 +1,151 @@
+package ilp.submission.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("RefreshingValue Tests")
+class RefreshingValueTest {
+
+    private static final Duration TTL = Duration.ofSeconds(10);
+    private static final Duration STALE = Duration.ofSeconds(20);
+
+    private final AtomicLong clock = new AtomicLong();
+    private final AtomicInteger loads = new AtomicInteger();
+    private final List<Runnable> pendingRefreshes = new ArrayList<>();
+
+    private RefreshingValue<Integer> counting() {
+        return new RefreshingValue<>("test", loads::incrementAndGet, TTL, STALE,
+                pendingRefreshes::add, clock::get);
+    }
+
+    private void advance(Duration duration) {
+        clock.addAndGet(duration.toNanos());
+    }
+
+    @Test
+    @DisplayName("Should load once and serve from memory within the TTL")
+    void testFreshHit() {
+        RefreshingValue<Integer> value = counting();
+
+        assertEquals(1, value.get());
+        advance(Duration.ofSeconds(9));
+        assertEquals(1, value.get());
+
+        assertEquals(1, loads.get());
+        assertEquals(1, value.missCount());
+        assertEquals(1, value.hitCount());
+    }
+
+    @Test
+    @DisplayName("Should serve stale data and refresh once in the background")
+    void testStaleWhileRevalidate() {
+        RefreshingValue<Integer> value = counting();
+        value.get();
+        advance(Duration.ofSeconds(15));
+
+        assertEquals(1, value.get());
+        assertEquals(1, value.get());
+        assertEquals(1, pendingRefreshes.size(), "Only one refresh should be scheduled");
+
+        pendingRefreshes.get(0).run();
+        assertEquals(2, value.get());
+        assertEquals(2, value.staleHitCount());
+    }
+
+    @Test
+    @DisplayName("Should reload on the caller's thread once past the stale window")
+    void testExpired() {
+        RefreshingValue<Integer> value = counting();
+        value.get();
+        advance(Duration.ofSeconds(31));
+
+        assertEquals(2, value.get());
+        assertTrue(pendingRefreshes.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should keep the cached value when a background refresh fails")
+    void testRefreshFailure() {
+        AtomicInteger calls = new AtomicInteger();
+        RefreshingValue<String> value = new RefreshingValue<>("test", () -> {
+            if (calls.incrementAndGet() > 1) {
+                throw new IllegalStateException("upstream down");
+            }
+            return "first";
+        }, TTL, STALE, pendingRefreshes::add, clock::get);
+
+        value.get();
+        advance(Duration.ofSeconds(15));
+        value.get();
+        pendingRefreshes.get(0).run();
+
+        assertEquals("first", value.get());
+        assertEquals(1, value.refreshFailureCount());
+    }
+
+    @Test
+    @DisplayName("Should rethrow load failures to the caller")
+    void testLoadFailure() {
+        RefreshingValue<String> value = new RefreshingValue<>("test", () -> {
+            throw new IllegalStateException("upstream down");
+        }, TTL, STALE, Runnable::run, clock::get);
+
+        assertThrows(IllegalStateException.class, value::get);
+    }
+
+    @Test
+    @DisplayName("Should share one upstream call between concurrent misses")
+    void testSingleFlight() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        RefreshingValue<Integer> value = new RefreshingValue<>("test", () -> {
+            loading.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return loads.incrementAndGet();
+        }, TTL, STALE, Runnable::run);
+
+        ExecutorService callers = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            results.add(callers.submit(value::get));
+            assertTrue(loading.await(5, TimeUnit.SECONDS));
+            for (int i = 0; i < 3; i++) {
+                results.add(callers.submit(value::get));
+            }
+            // Give the other callers time to join the in-flight load
+            Thread.sleep(100);
+            release.countDown();
+
+            for (Future<Integer> result : results) {
+                assertEquals(1, result.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1, loads.get());
+        } finally {
+            callers.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject negative durations")
+    void testNegativeDuration() {
+        assertThrows(IllegalArgumentException.class, () ->
+                new RefreshingValue<>("test", () -> 1, Duration.ofSeconds(-1), STALE, Runnable::run));
+    }
+}
@@ -0,0 +1,82 @@
+package ilp.submission.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import ilp.submission.model.Drone;
+import ilp.submission.model.DroneCapability;
+import ilp.submission.model.QueryAttribute;
+import ilp.submission.service.DroneQueryService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@DisplayName("Drone Details ETag Tests")
+class DroneDetailsETagTest {
+
+    /**
+     * Serves one drone from a drone list whose version can be moved on.
+     */
+    private static final class FixedQueryService implements DroneQueryService {
+        private final Drone drone = new Drone("Drone 1", "1",
+                new DroneCapability(true, false, 4, 2000, 0.01, 4.3, 6.5, null));
+        private String version = "v-1";
+
+        @Override
+        public Optional<VersionedDrone> findVersionedDroneById(String id) {
+            return findDroneById(id).map(found -> new VersionedDrone(found, version));
+        }
+
+        @Override
+        public Optional<Drone> findDroneById(String id) {
+            return drone.getId().equals(id) ? Optional.of(drone) : Optional.empty();
+        }
+
+        @Override
+        public List<String> findDronesWithCooling(boolean hasCooling) {
+            return List.of();
+        }
+
+        @Override
+        public List<String> queryByAttribute(String attribute, String value) {
+            return List.of();
+        }
+
+        @Override
+        public List<String> queryByMultipleAttributes(List<QueryAttribute> queries) {
+            return List.of();
+        }
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/droneDetails should answer a matching If-None-Match with 304")
+    void testNotModified() throws Exception {
+        FixedQueryService service = new FixedQueryService();
+        MockMvc mockMvc = MockMvcBuilders
+                .standaloneSetup(new DroneController(service, null, null, new ObjectMapper()))
+                .build();
+
+        mockMvc.perform(get("/api/v1/droneDetails/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"v-1\""))
+                .andExpect(jsonPath("$.id").value("1"));
+
+        mockMvc.perform(get("/api/v1/droneDetails/1").header(HttpHeaders.IF_NONE_MATCH, "\"v-1\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        service.version = "v-2";
+        mockMvc.perform(get("/api/v1/droneDetails/1").header(HttpHeaders.IF_NONE_MATCH, "\"v-1\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"v-2\""));
+
+        mockMvc.perform(get("/api/v1/droneDetails/2").header(HttpHeaders.IF_NONE_MATCH, "\"v-1\""))
+                .andExpect(status().isNotFound());
+    }
+}
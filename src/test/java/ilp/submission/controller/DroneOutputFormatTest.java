@@ -0,0 +1,155 @@
+package ilp.submission.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import ilp.submission.config.JacksonConfig;
+import ilp.submission.model.*;
+import ilp.submission.service.DroneQueryService;
+import ilp.submission.service.PathCalculationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@DisplayName("Drone Output Format Tests")
+class DroneOutputFormatTest {
+
+    private static final String DISPATCHES = """
+            [{"id": 1, "date": "2025-12-22", "time": "09:00",
+              "requirements": {"capacity": 1},
+              "delivery": {"lng": -3.1865, "lat": 55.9446}}]
+            """;
+
+    private static final String QUERIES = """
+            [{"attribute": "cooling", "operator": "=", "value": "true"}]
+            """;
+
+    private MockMvc mockMvc;
+
+    /**
+     * Answers every plan with one fixed drone path.
+     */
+    private static final class FixedPathService implements PathCalculationService {
+        private final DeliveryPathResult result = new DeliveryPathResult(13.5, 2, List.of(
+                new DeliveryPathResult.DronePathInfo("1", new LngLat(-3.186874, 55.944494),
+                        List.of(new DeliveryPathResult.DeliveryInfo(1, List.of(
+                                new LngLat(-3.186874, 55.944494), new LngLat(-3.186724, 55.944494)))),
+                        List.of(new LngLat(-3.186874, 55.944494), new LngLat(-3.186724, 55.944494)), 2)));
+
+        @Override
+        public DeliveryPathResult calculateDeliveryPaths(List<MedDispatchRec> dispatches) {
+            return result;
+        }
+
+        @Override
+        public String generateGeoJson(List<MedDispatchRec> dispatches) {
+            return "{}";
+        }
+    }
+
+    /**
+     * Answers every query with the same two drones.
+     */
+    private static final class FixedQueryService implements DroneQueryService {
+        @Override
+        public List<String> findDronesWithCooling(boolean hasCooling) {
+            return List.of("1", "5");
+        }
+
+        @Override
+        public Optional<Drone> findDroneById(String id) {
+            return Optional.empty();
+        }
+
+        @Override
+        public Optional<VersionedDrone> findVersionedDroneById(String id) {
+            return Optional.empty();
+        }
+
+        @Override
+        public List<String> queryByAttribute(String attribute, String value) {
+            return List.of("1", "5");
+        }
+
+        @Override
+        public List<String> queryByMultipleAttributes(List<QueryAttribute> queries) {
+            return List.of("1", "5");
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        JacksonConfig config = new JacksonConfig();
+        ObjectMapper objectMapper = config.objectMapper();
+        mockMvc = MockMvcBuilders
+                .standaloneSetup(new DroneController(new FixedQueryService(), null, new FixedPathService(),
+                        objectMapper))
+                .setMessageConverters(config.mappingJackson2HttpMessageConverter(objectMapper))
+                .build();
+    }
+
+    @Test
+    @DisplayName("POST /api/v1/calcDeliveryPath should be compact by default and indented with ?pretty")
+    void testCalcDeliveryPath() throws Exception {
+        mockMvc.perform(post("/api/v1/calcDeliveryPath")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(DISPATCHES))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalMoves").value(2))
+                .andExpect(content().string(not(containsString("\n"))));
+
+        mockMvc.perform(post("/api/v1/calcDeliveryPath")
+                        .param("pretty", "")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(DISPATCHES))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalMoves").value(2))
+                .andExpect(content().string(containsString("\n  \"totalMoves\" : 2")));
+    }
+
+    @Test
+    @DisplayName("POST /api/v1/query should be compact by default and pretty with Accept ;pretty=true")
+    void testQuery() throws Exception {
+        mockMvc.perform(post("/api/v1/query")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(QUERIES))
+                .andExpect(status().isOk())
+                .andExpect(content().string("[\"1\",\"5\"]"));
+
+        mockMvc.perform(post("/api/v1/query")
+                        .accept("application/json;pretty=true")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(QUERIES))
+                .andExpect(status().isOk())
+                // Jackson's default pretty printer keeps a flat array on one line, spaced out
+                .andExpect(content().string("[ \"1\", \"5\" ]"));
+    }
+
+    @Test
+    @DisplayName("POST /api/v1/calcDeliveryPathWithGeoJson should indent its plan only when asked")
+    void testCalcDeliveryPathWithGeoJson() throws Exception {
+        mockMvc.perform(post("/api/v1/calcDeliveryPathWithGeoJson")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(DISPATCHES))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.deliveryPaths.totalMoves").value(2))
+                .andExpect(jsonPath("$.geoJson.type").value("FeatureCollection"))
+                .andExpect(content().string(not(containsString("\n"))));
+
+        mockMvc.perform(post("/api/v1/calcDeliveryPathWithGeoJson")
+                        .param("pretty", "true")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(DISPATCHES))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.deliveryPaths.totalMoves").value(2))
+                .andExpect(content().string(containsString("\n  \"totalMoves\" : 2")));
+    }
+}
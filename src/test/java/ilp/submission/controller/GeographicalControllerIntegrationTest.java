@@ -920,4 +920,285 @@ class GeographicalControllerIntegrationTest {
                         .content(requestBody))
                 .andExpect(status().isOk());
     }
+
+    // ==================== isInRegion Batch Endpoints ====================
+
+    @Test
+    @DisplayName("POST /api/v1/isInRegionBatch should answer every position in order")
+    void testIsInRegionBatch() throws Exception {
+        String requestBody = """
+                {
+                    "positions": [
+                        {"lng": 1.5, "lat": 1.5},
+                        {"lng": 3.0, "lat": 3.0},
+                        {"lng": 2.0, "lat": 1.5},
+                        {"lng": 1.0, "lat": 1.0}
+                    ],
+                    "region": {
+                        "name": "test-region",
+                        "vertices": [
+                            {"lng": 1.0, "lat": 1.0},
+                            {"lng": 2.0, "lat": 1.0},
+                            {"lng": 2.0, "lat": 2.0},
+                            {"lng": 1.0, "lat": 2.0},
+                            {"lng": 1.0, "lat": 1.0}
+                        ]
+                    }
+                }
+                """;
+
+        mockMvc.perform(post("/api/v1/isInRegionBatch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(requestBody))
+                .andExpect(status().isOk())
+                .andExpect(content().json("[true, false, true, true]"));
+    }
+
+    @Test
+    @DisplayName("POST /api/v1/isInRegionsBatch should return one row per region")
+    void testIsInRegionsBatch() throws Exception {
+        String requestBody = """
+                {
+                    "positions": [
+                        {"lng": 1.5, "lat": 1.5},
+                        {"lng": 5.5, "lat": 5.5}
+                    ],
+                    "regions": [
+                        {
+                            "name": "first",
+                            "vertices": [
+                                {"lng": 1.0, "lat": 1.0}, {"lng": 2.0, "lat": 1.0},
+                                {"lng": 2.0, "lat": 2.0}, {"lng": 1.0, "lat": 2.0},
+                                {"lng": 1.0, "lat": 1.0}
+                            ]
+                        },
+                        {
+                            "name": "second",
+                            "vertices": [
+                                {"lng": 5.0, "lat": 5.0}, {"lng": 6.0, "lat": 5.0},
+                                {"lng": 6.0, "lat": 6.0}, {"lng": 5.0, "lat": 6.0},
+                                {"lng": 5.0, "lat": 5.0}
+                            ]
+                        }
+                    ]
+                }
+                """;
+
+        mockMvc.perform(post("/api/v1/isInRegionsBatch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(requestBody))
+                .andExpect(status().isOk())
+                .andExpect(content().json("[[true, false], [false, true]]"));
+    }
+
+    @Test
+    @DisplayName("POST /api/v1/isInRegionBatch with an open region should return 400")
+    void testIsInRegionBatch_InvalidRegion() throws Exception {
+        String requestBody = """
+                {
+                    "positions": [{"lng": 1.5, "lat": 1.5}],
+                    "region": {
+                        "name": "open",
+                        "vertices": [
+                            {"lng": 1.0, "lat": 1.0}, {"lng": 2.0, "lat": 1.0},
+                            {"lng": 2.0, "lat": 2.0}, {"lng": 1.0, "lat": 2.0}
+                        ]
+                    }
+                }
+                """;
+
+        mockMvc.perform(post("/api/v1/isInRegionBatch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(requestBody))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("POST /api/v1/isInRegionBatch with a null position should return 400")
+    void testIsInRegionBatch_NullPosition() throws Exception {
+        String requestBody = """
+                {
+                    "positions": [{"lng": 1.5, "lat": 1.5}, null],
+                    "region": {
+                        "name": "test-region",
+                        "vertices": [
+                            {"lng": 1.0, "lat": 1.0}, {"lng": 2.0, "lat": 1.0},
+                            {"lng": 2.0, "lat": 2.0}, {"lng": 1.0, "lat": 2.0},
+                            {"lng": 1.0, "lat": 1.0}
+                        ]
+                    }
+                }
+                """;
+
+        mockMvc.perform(post("/api/v1/isInRegionBatch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(requestBody))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("positions[1] cannot be null"));
+    }
+
+    // ==================== Geometry Batch Endpoints ====================
+
+    @Test
+    @DisplayName("POST /api/v1/distanceToBatch should return one distance per pair")
+    void testDistanceToBatch() throws Exception {
+        String requestBody = """
+                [
+                    {"position1": {"lng": 0, "lat": 0}, "position2": {"lng": 3, "lat": 4}},
+                    {"position1": {"lng": 1, "lat": 1}, "position2": {"lng": 1, "lat": 1}}
+                ]
+                """;
+
+        mockMvc.perform(post("/api/v1/distanceToBatch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(requestBody))
+                .andExpect(status().isOk())
+                .andExpect(content().json("[5.0, 0.0]"));
+    }
+
+    @Test
+    @DisplayName("POST /api/v1/isCloseToBatch should return one boolean per pair")
+    void testIsCloseToBatch() throws Exception {
+        String requestBody = """
+                [
+                    {"position1": {"lng": 0, "lat": 0}, "position2": {"lng": 0.0001, "lat": 0}},
+                    {"position1": {"lng": 0, "lat": 0}, "position2": {"lng": 0.0002, "lat": 0}}
+                ]
+                """;
+
+        mockMvc.perform(post("/api/v1/isCloseToBatch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(requestBody))
+                .andExpect(status().isOk())
+                .andExpect(content().json("[true, false]"));
+    }
+
+    @Test
+    @DisplayName("POST /api/v1/nextPositionBatch should match nextPosition for each request")
+    void testNextPositionBatch() throws Exception {
+        String requestBody = """
+                [
+                    {"start": {"lng": -3.192473, "lat": 55.946233}, "angle": 90},
+                    {"start": {"lng": -3.192473, "lat": 55.946233}, "angle": 10}
+                ]
+                """;
+
+        mockMvc.perform(post("/api/v1/nextPositionBatch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(requestBody))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0][0]").value(-3.192473))
+                .andExpect(jsonPath("$[0][1]").value(closeTo(55.946383, 1e-9)))
+                .andExpect(jsonPath("$[1][0]").value(-3.192473 + 0.00015 * Math.cos(Math.toRadians(10))));
+    }
+
+    @Test
+    @DisplayName("POST /api/v1/nextPositionBatch with an invalid element should return 400 naming its index")
+    void testNextPositionBatch_InvalidElement() throws Exception {
+        String requestBody = """
+                [
+                    {"start": {"lng": 0, "lat": 0}, "angle": 90},
+                    {"start": {"lng": 0, "lat": 0}, "angle": 400}
+                ]
+                """;
+
+        mockMvc.perform(post("/api/v1/nextPositionBatch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(requestBody))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value(startsWith("[1] angle must be between 0 and 360")));
+    }
+
+    @Test
+    @DisplayName("POST /api/v1/distanceToBatch with malformed JSON should return 400")
+    void testDistanceToBatch_MalformedJson() throws Exception {
+        mockMvc.perform(post("/api/v1/distanceToBatch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"position1\": {\"lng\": 0, \"lat\": 0}, "))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("POST /api/v1/distanceToBatch with a bare object should return 400")
+    void testDistanceToBatch_NotAnArray() throws Exception {
+        mockMvc.perform(post("/api/v1/distanceToBatch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"position1\": {\"lng\": 0, \"lat\": 0}, \"position2\": {\"lng\": 3, \"lat\": 4}}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Request body must be a JSON array"));
+    }
+
+    @Test
+    @DisplayName("POST /api/v1/isCloseToBatch with several root values should return 400")
+    void testIsCloseToBatch_ConcatenatedArrays() throws Exception {
+        String pair = "{\"position1\": {\"lng\": 0, \"lat\": 0}, \"position2\": {\"lng\": 0, \"lat\": 0}}";
+
+        mockMvc.perform(post("/api/v1/isCloseToBatch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[" + pair + "] [" + pair + "]"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Request body must be a single JSON array"));
+    }
+
+    @Test
+    @DisplayName("POST /api/v1/distanceToBatch should answer batches spanning several chunks in order")
+    void testDistanceToBatch_ManyChunks() throws Exception {
+        int count = 2500;
+        StringBuilder requestBody = new StringBuilder("[");
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                requestBody.append(',');
+            }
+            requestBody.append("{\"position1\": {\"lng\": 0, \"lat\": 0}, \"position2\": {\"lng\": ")
+                    .append(i / 100.0).append(", \"lat\": 0}}");
+        }
+        requestBody.append(']');
+
+        mockMvc.perform(post("/api/v1/distanceToBatch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(requestBody.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(count))
+                .andExpect(jsonPath("$[1023]").value(closeTo(10.23, 1e-12)))
+                .andExpect(jsonPath("$[1024]").value(closeTo(10.24, 1e-12)))
+                .andExpect(jsonPath("$[2499]").value(closeTo(24.99, 1e-12)));
+    }
+
+    // ==================== Output Format ====================
+
+    @Test
+    @DisplayName("JSON responses should be compact by default")
+    void testCompactByDefault() throws Exception {
+        mockMvc.perform(post("/api/v1/distanceTo")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{ invalid json }"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status").value(400))
+                .andExpect(content().string(not(containsString("\n"))));
+    }
+
+    @Test
+    @DisplayName("?pretty=true should indent the JSON response")
+    void testPrettyQueryParameter() throws Exception {
+        mockMvc.perform(post("/api/v1/distanceTo")
+                        .param("pretty", "true")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{ invalid json }"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status").value(400))
+                .andExpect(content().string(containsString("\n")));
+    }
+
+    @Test
+    @DisplayName("Accept: application/json;pretty=true should indent the JSON response")
+    void testPrettyAcceptParameter() throws Exception {
+        mockMvc.perform(post("/api/v1/distanceTo")
+                        .accept("application/json;pretty=true")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{ invalid json }"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status").value(400))
+                .andExpect(content().string(containsString("\n")));
+    }
 }
@@ -0,0 +1,91 @@
+package ilp.submission.geojson;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Locale;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("FixedDecimal Tests")
+class FixedDecimalTest {
+
+    private static String format(double value) {
+        char[] buffer = new char[FixedDecimal.MAX_LENGTH];
+        return new String(buffer, 0, FixedDecimal.format(value, buffer, 0));
+    }
+
+    private static String expected(double value) {
+        return String.format(Locale.ROOT, "%.6f", value);
+    }
+
+    @ParameterizedTest
+    @ValueSource(doubles = {0.0, -0.0, 1.0, -1.0, 0.5, 0.0000005, -0.0000005, 0.0000015, 0.0000025,
+            0.15, 2.675, 1e-7, -1e-7, 0.9999995, 9.9999995, -3.192473, 55.946233, -3.1868740000000003,
+            123456789.123456789, 1e12, 9999.9999995, -525984.5411975, 16793.7359715, -1e15, Double.MAX_VALUE, Double.MIN_VALUE,
+            Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY})
+    @DisplayName("Should match String.format for edge values")
+    void testEdgeValues(double value) {
+        assertEquals(expected(value), format(value));
+    }
+
+    @Test
+    @DisplayName("Should match String.format for coordinates around Edinburgh")
+    void testRandomCoordinates() {
+        Random random = new Random(7);
+        for (int i = 0; i < 200_000; i++) {
+            double lng = -3.2 + random.nextDouble() * 0.05;
+            double lat = 55.9 + random.nextDouble() * 0.1;
+            assertEquals(expected(lng), format(lng));
+            assertEquals(expected(lat), format(lat));
+        }
+    }
+
+    @Test
+    @DisplayName("Should match String.format for lattice positions and near ties")
+    void testLatticeAndTies() {
+        double lng = -3.186874;
+        double lat = 55.944494;
+        for (int i = 0; i < 20_000; i++) {
+            double angle = Math.toRadians((i % 16) * 22.5);
+            lng += 0.00015 * Math.cos(angle);
+            lat += 0.00015 * Math.sin(angle);
+            assertEquals(expected(lng), format(lng));
+            assertEquals(expected(lat), format(lat));
+        }
+        for (int i = 0; i < 10_000; i++) {
+            double tie = (i + 0.5) / 1_000_000.0;
+            assertEquals(expected(tie), format(tie));
+            assertEquals(expected(-3 - tie), format(-3 - tie));
+        }
+    }
+
+    @Test
+    @DisplayName("Should match String.format for large magnitudes")
+    void testLargeMagnitudes() {
+        Random random = new Random(11);
+        for (double range : new double[]{1e4, 1e6, 1e8, 1e10, 1e12}) {
+            for (int i = 0; i < 20_000; i++) {
+                double value = (random.nextDouble() * 2 - 1) * range;
+                assertEquals(expected(value), format(value));
+                // Seven decimals, so the shortest decimal form often ends in a tie
+                double tie = Math.rint(value * 1e7) / 1e7;
+                assertEquals(expected(tie), format(tie));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should write at the given position")
+    void testOffset() {
+        char[] buffer = new char[4 + FixedDecimal.MAX_LENGTH];
+        buffer[0] = '[';
+
+        int end = FixedDecimal.format(-3.25, buffer, 1);
+
+        assertEquals("[-3.250000", new String(buffer, 0, end));
+    }
+}
@@ -0,0 +1,73 @@
+package ilp.submission.geojson;
+
+import ilp.submission.model.DeliveryPathResult;
+import ilp.submission.model.LngLat;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("GeoJsonWriter Tests")
+class GeoJsonWriterTest {
+
+    private static DeliveryPathResult.DronePathInfo drone(String id, List<LngLat> path) {
+        return new DeliveryPathResult.DronePathInfo(id, path.isEmpty() ? null : path.get(0), List.of(), path,
+                Math.max(0, path.size() - 1));
+    }
+
+    @Test
+    @DisplayName("Should write one LineString feature per drone with a path")
+    void testFeatures() {
+        DeliveryPathResult result = new DeliveryPathResult(0, 0, List.of(
+                drone("D1", List.of(new LngLat(-3.186874, 55.944494), new LngLat(-3.18672400000001, 55.944494))),
+                drone("D2", List.of()),
+                drone(null, List.of(new LngLat(0.0, -0.5)))));
+
+        assertEquals("{\"type\":\"FeatureCollection\",\"features\":["
+                        + "{\"type\":\"Feature\",\"geometry\":{\"type\":\"LineString\",\"coordinates\":"
+                        + "[[-3.186874,55.944494],[-3.186724,55.944494]]},\"properties\":{\"droneId\":\"D1\"}},"
+                        + "{\"type\":\"Feature\",\"geometry\":{\"type\":\"LineString\",\"coordinates\":"
+                        + "[[0.000000,-0.500000]]},\"properties\":{\"droneId\":\"1\"}}]}",
+                GeoJsonWriter.toString(result));
+    }
+
+    @Test
+    @DisplayName("Should write an empty FeatureCollection for no paths")
+    void testEmpty() {
+        assertEquals("{\"type\":\"FeatureCollection\",\"features\":[]}",
+                GeoJsonWriter.toString(new DeliveryPathResult(0, 0, List.of())));
+    }
+
+    @Test
+    @DisplayName("Should escape drone IDs")
+    void testEscaping() {
+        DeliveryPathResult result = new DeliveryPathResult(0, 0, List.of(
+                drone("a\"b\\c\n", List.of(new LngLat(1.0, 1.0)))));
+
+        assertTrue(GeoJsonWriter.toString(result).contains("\"droneId\":\"a\\\"b\\\\c\\u000a\""));
+    }
+
+    @Test
+    @DisplayName("Should stream long paths to an output stream")
+    void testLongPathToStream() throws IOException {
+        List<LngLat> path = new ArrayList<>();
+        for (int i = 0; i < 50_000; i++) {
+            path.add(new LngLat(-3.19 + i * 1e-6, 55.94));
+        }
+        DeliveryPathResult result = new DeliveryPathResult(0, 0, List.of(drone("D1", path)));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        GeoJsonWriter.write(result, out);
+
+        String json = out.toString(StandardCharsets.UTF_8);
+        assertEquals(GeoJsonWriter.toString(result), json);
+        assertTrue(json.contains("[-3.190000,55.940000],[-3.189999,55.940000]"));
+        assertTrue(json.endsWith("[-3.140001,55.940000]]},\"properties\":{\"droneId\":\"D1\"}}]}"));
+    }
+}
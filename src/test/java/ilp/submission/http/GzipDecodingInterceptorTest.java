@@ -0,0 +1,83 @@
+package ilp.submission.http;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+@DisplayName("GzipDecodingInterceptor Tests")
+class GzipDecodingInterceptorTest {
+
+    private static final String URL = "http://ilp.test/drones";
+
+    private RestTemplate restTemplate;
+    private MockRestServiceServer server;
+
+    @BeforeEach
+    void setUp() {
+        restTemplate = new RestTemplate();
+        restTemplate.setInterceptors(List.of(new GzipDecodingInterceptor()));
+        server = MockRestServiceServer.bindTo(restTemplate).build();
+    }
+
+    private static byte[] gzip(String text) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+            out.write(text.getBytes(StandardCharsets.UTF_8));
+        }
+        return bytes.toByteArray();
+    }
+
+    @Test
+    @DisplayName("Should request gzip and inflate a gzip response")
+    void testGzipResponse() throws IOException {
+        server.expect(requestTo(URL))
+                .andExpect(header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+                .andRespond(withSuccess(gzip("[\"1\",\"2\"]"), MediaType.APPLICATION_JSON)
+                        .header(HttpHeaders.CONTENT_ENCODING, "gzip"));
+
+        ResponseEntity<String> response = restTemplate.getForEntity(URL, String.class);
+
+        assertEquals("[\"1\",\"2\"]", response.getBody());
+        assertFalse(response.getHeaders().containsKey(HttpHeaders.CONTENT_ENCODING));
+        server.verify();
+    }
+
+    @Test
+    @DisplayName("Should pass identity-encoded responses through")
+    void testPlainResponse() {
+        server.expect(requestTo(URL))
+                .andRespond(withSuccess("[]", MediaType.APPLICATION_JSON));
+
+        assertEquals("[]", restTemplate.getForObject(URL, String.class));
+    }
+
+    @Test
+    @DisplayName("Should accept an empty gzip-encoded body")
+    void testEmptyBody() {
+        server.expect(requestTo(URL))
+                .andRespond(withStatus(HttpStatus.NO_CONTENT).header(HttpHeaders.CONTENT_ENCODING, "gzip"));
+
+        ResponseEntity<String> response = restTemplate.getForEntity(URL, String.class);
+
+        assertEquals(HttpStatus.NO_CONTENT, response.getStatusCode());
+        assertNull(response.getBody());
+    }
+}
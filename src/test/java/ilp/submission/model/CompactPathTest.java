@@ -0,0 +1,137 @@
+package ilp.submission.model;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("CompactPath Tests")
+class CompactPathTest {
+
+    private static final LngLat START = new LngLat(-3.186874, 55.944494);
+
+    private static List<LngLat> walk(LngLat start, int... directions) {
+        List<LngLat> path = new ArrayList<>();
+        LngLat current = start;
+        path.add(current);
+        for (int direction : directions) {
+            current = direction == CompactPath.HOVER ? current : current.nextPosition(direction * 22.5);
+            path.add(current);
+        }
+        return path;
+    }
+
+    @Test
+    @DisplayName("Lattice moves and hovers should encode one byte per step")
+    void testLatticeSteps() {
+        List<LngLat> path = walk(START, 0, 3, 15, 16, 8);
+
+        CompactPath compact = CompactPath.encode(path);
+
+        assertEquals(START, compact.getStart());
+        assertArrayEquals(new byte[]{0, 3, 15, CompactPath.HOVER, 8}, compact.getSteps());
+        assertTrue(compact.getJumps().isEmpty());
+        assertEquals(path, compact.decode());
+    }
+
+    @Test
+    @DisplayName("Off-lattice steps should be kept as exact jumps")
+    void testJumps() {
+        List<LngLat> path = new ArrayList<>(walk(START, 4, 4));
+        LngLat target = new LngLat(-3.186800, 55.944800);
+        path.add(target);
+        path.add(target);
+
+        CompactPath compact = CompactPath.encode(path);
+
+        assertArrayEquals(new byte[]{4, 4, CompactPath.JUMP, CompactPath.HOVER}, compact.getSteps());
+        assertEquals(List.of(target), compact.getJumps());
+        assertEquals(path, compact.decode());
+    }
+
+    @Test
+    @DisplayName("Empty path should round-trip")
+    void testEmpty() {
+        CompactPath compact = CompactPath.encode(List.of());
+
+        assertNull(compact.getStart());
+        assertEquals(List.of(), compact.decode());
+    }
+
+    @Test
+    @DisplayName("Unknown step codes should be rejected")
+    void testUnknownStep() {
+        CompactPath compact = new CompactPath(START, new byte[]{18}, List.of());
+
+        assertThrows(IllegalArgumentException.class, compact::decode);
+    }
+
+    private static DeliveryPathResult result() {
+        List<LngLat> toFirst = walk(START, 0, 0, 1);
+        List<LngLat> toSecond = walk(toFirst.get(toFirst.size() - 1), 16, 8, 8, 9);
+        List<LngLat> path = new ArrayList<>(toFirst);
+        path.addAll(toSecond.subList(1, toSecond.size()));
+        return new DeliveryPathResult(12.5, path.size() - 1, List.of(
+                new DeliveryPathResult.DronePathInfo("4", START, List.of(
+                        new DeliveryPathResult.DeliveryInfo(1, toFirst),
+                        new DeliveryPathResult.DeliveryInfo(2, toSecond),
+                        new DeliveryPathResult.DeliveryInfo(3, walk(new LngLat(1.0, 1.0), 2))),
+                        // As planned: the sum of the flight path moves
+                        path, 3 + 4 + 1)));
+    }
+
+    @Test
+    @DisplayName("Delivery flight paths should be sent as ranges of the drone path")
+    void testDeliverySlices() {
+        CompactDeliveryPathResult compact = CompactDeliveryPathResult.encode(result());
+
+        List<CompactDeliveryPathResult.Delivery> deliveries = compact.getDronePaths().get(0).getDeliveries();
+        assertEquals(0, deliveries.get(0).getFrom());
+        assertEquals(4, deliveries.get(0).getTo());
+        assertEquals(3, deliveries.get(1).getFrom());
+        assertEquals(8, deliveries.get(1).getTo());
+        assertNull(deliveries.get(1).getFlightPath());
+        // Not part of the drone path, so encoded on its own
+        assertEquals(-1, deliveries.get(2).getFrom());
+        assertNotNull(deliveries.get(2).getFlightPath());
+    }
+
+    @Test
+    @DisplayName("JSON form should decode to the original paths")
+    void testJsonRoundTrip() throws IOException {
+        DeliveryPathResult original = result();
+        ObjectMapper mapper = new ObjectMapper();
+
+        String json = mapper.writeValueAsString(CompactDeliveryPathResult.encode(original));
+        DeliveryPathResult decoded = mapper.readValue(json, CompactDeliveryPathResult.class).decode();
+
+        assertEquals(original, decoded);
+    }
+
+    @Test
+    @DisplayName("Binary form should decode to the original paths")
+    void testBinaryRoundTrip() throws IOException {
+        DeliveryPathResult original = result();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        CompactDeliveryPathResult.encode(original).writeTo(bytes);
+        DeliveryPathResult decoded = CompactDeliveryPathResult
+                .readFrom(new ByteArrayInputStream(bytes.toByteArray())).decode();
+
+        assertEquals(original, decoded);
+    }
+
+    @Test
+    @DisplayName("Binary form with an unknown version should be rejected")
+    void testBinaryVersion() {
+        assertThrows(IOException.class,
+                () -> CompactDeliveryPathResult.readFrom(new ByteArrayInputStream(new byte[]{9})));
+    }
+}
@@ -0,0 +1,128 @@
+package ilp.submission.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("CompiledPolygon Tests")
+class CompiledPolygonTest {
+
+    // Bristo Square: concave, with short edges
+    private static final List<LngLat> BRISTO = List.of(
+            new LngLat(-3.189543485641479, 55.94552313663306),
+            new LngLat(-3.189382553100586, 55.94553214854692),
+            new LngLat(-3.189259171485901, 55.94544803726933),
+            new LngLat(-3.1892001628875732, 55.94533688994374),
+            new LngLat(-3.189194798469543, 55.94519570234043),
+            new LngLat(-3.189135789871216, 55.94511759833873),
+            new LngLat(-3.188138008117676, 55.9452738061846),
+            new LngLat(-3.1885510683059692, 55.946105902745614),
+            new LngLat(-3.1895381212234497, 55.94555918427592),
+            new LngLat(-3.189543485641479, 55.94552313663306));
+
+    /** Region.contains as it was before compilation, on List<LngLat>. */
+    private static boolean referenceRegionContains(List<LngLat> vertices, LngLat point) {
+        int n = vertices.size();
+        for (int i = 0; i < n - 1; i++) {
+            LngLat vi = vertices.get(i);
+            LngLat vj = vertices.get(i + 1);
+            if (point.equals(vi)) {
+                return true;
+            }
+            double minLng = Math.min(vi.lng(), vj.lng());
+            double maxLng = Math.max(vi.lng(), vj.lng());
+            double minLat = Math.min(vi.lat(), vj.lat());
+            double maxLat = Math.max(vi.lat(), vj.lat());
+            if (!(point.lng() < minLng - 1e-10 || point.lng() > maxLng + 1e-10 ||
+                    point.lat() < minLat - 1e-10 || point.lat() > maxLat + 1e-10)) {
+                double crossProduct = (vj.lng() - vi.lng()) * (point.lat() - vi.lat()) -
+                        (vj.lat() - vi.lat()) * (point.lng() - vi.lng());
+                if (Math.abs(crossProduct) < 1e-10) {
+                    return true;
+                }
+            }
+        }
+        return referenceRayCast(vertices, point);
+    }
+
+    /** RestrictedArea.contains as it was before compilation, on List<LngLat>. */
+    private static boolean referenceRayCast(List<LngLat> vertices, LngLat point) {
+        int n = vertices.size();
+        boolean inside = false;
+        for (int i = 0, j = n - 1; i < n; j = i++) {
+            LngLat vi = vertices.get(i);
+            LngLat vj = vertices.get(j);
+            boolean intersect = ((vi.lat() > point.lat()) != (vj.lat() > point.lat())) &&
+                    (point.lng() < (vj.lng() - vi.lng()) * (point.lat() - vi.lat()) /
+                            (vj.lat() - vi.lat()) + vi.lng());
+            if (intersect) {
+                inside = !inside;
+            }
+        }
+        return inside;
+    }
+
+    private static List<LngLat> samplePoints(List<LngLat> vertices) {
+        Random random = new Random(7);
+        List<LngLat> points = new ArrayList<>(vertices);
+        for (int i = 0; i < vertices.size() - 1; i++) {
+            LngLat a = vertices.get(i);
+            LngLat b = vertices.get(i + 1);
+            for (int s = 0; s < 50; s++) {
+                double t = random.nextDouble();
+                double offset = (random.nextDouble() - 0.5) * Math.pow(10, -6 - random.nextInt(10));
+                points.add(new LngLat(a.lng() + t * (b.lng() - a.lng()) + offset,
+                        a.lat() + t * (b.lat() - a.lat()) - offset));
+            }
+        }
+        for (int s = 0; s < 20000; s++) {
+            points.add(new LngLat(-3.1900 + random.nextDouble() * 0.0025, 55.9446 + random.nextDouble() * 0.0020));
+        }
+        return points;
+    }
+
+    @Test
+    @DisplayName("Region.contains should match the list-based implementation exactly")
+    void testRegionMatchesReference() {
+        Region region = new Region("Bristo", BRISTO);
+        int inside = 0;
+        for (LngLat point : samplePoints(BRISTO)) {
+            boolean expected = referenceRegionContains(BRISTO, point);
+            assertEquals(expected, region.contains(point), () -> "at " + point);
+            if (expected) inside++;
+        }
+        assertTrue(inside > 0);
+    }
+
+    @Test
+    @DisplayName("RestrictedArea.contains should match the list-based implementation exactly")
+    void testRestrictedAreaMatchesReference() {
+        RestrictedArea area = new RestrictedArea("Bristo", 1, null, BRISTO);
+        for (LngLat point : samplePoints(BRISTO)) {
+            assertEquals(referenceRayCast(BRISTO, point), area.contains(point), () -> "at " + point);
+        }
+    }
+
+    @Test
+    @DisplayName("Points outside the bounding box should be rejected")
+    void testBoundingBoxReject() {
+        Region region = new Region("Bristo", BRISTO);
+
+        assertFalse(region.contains(-3.2, 55.9455));
+        assertFalse(region.contains(-3.189, 55.95));
+    }
+
+    @Test
+    @DisplayName("Open or short polygons should be invalid")
+    void testValidity() {
+        assertTrue(new Region("Bristo", BRISTO).isValid());
+        assertFalse(new Region("Open", BRISTO.subList(0, BRISTO.size() - 1)).isValid());
+        assertFalse(new Region("Short", List.of(BRISTO.get(0), BRISTO.get(1), BRISTO.get(0))).isValid());
+        assertFalse(new RestrictedArea().isValid());
+    }
+}
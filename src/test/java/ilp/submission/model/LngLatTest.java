@@ -180,6 +180,30 @@ class LngLatTest {
         assertTrue(next.lat() > start.lat());
     }
 
+    @ParameterizedTest
+    @CsvSource({"0", "22.5", "67.5", "135", "202.5", "270", "337.5"})
+    @DisplayName("Compass directions should match the trigonometric move exactly")
+    void testNextPosition_CompassTableMatchesTrig(double angle) {
+        LngLat start = new LngLat(-3.192473, 55.946233);
+
+        LngLat next = start.nextPosition(angle);
+
+        double radians = Math.toRadians(angle);
+        assertEquals(start.lng() + 0.00015 * Math.cos(radians), next.lng());
+        assertEquals(start.lat() + 0.00015 * Math.sin(radians), next.lat());
+    }
+
+    @Test
+    @DisplayName("Non-compass angles should still be supported")
+    void testNextPosition_NonCompassAngle() {
+        LngLat start = new LngLat(0.0, 0.0);
+
+        LngLat next = start.nextPosition(10);
+
+        assertEquals(0.00015 * Math.cos(Math.toRadians(10)), next.lng(), EPSILON);
+        assertEquals(0.00015 * Math.sin(Math.toRadians(10)), next.lat(), EPSILON);
+    }
+
     // ==================== Equals and HashCode ====================
 
     @Test
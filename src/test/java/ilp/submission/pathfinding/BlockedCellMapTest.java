@@ -0,0 +1,71 @@
+package ilp.submission.pathfinding;
+
+import ilp.submission.model.LngLat;
+import ilp.submission.model.RestrictedArea;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("BlockedCellMap Tests")
+class BlockedCellMapTest {
+
+    private static final List<RestrictedArea> ZONES = List.of(
+            new RestrictedArea("George Square Area", 1, null, List.of(
+                    new LngLat(-3.190578818321228, 55.94402412577528),
+                    new LngLat(-3.1899887323379517, 55.94284650540911),
+                    new LngLat(-3.187097311019897, 55.94328811724263),
+                    new LngLat(-3.187682032585144, 55.944477740393744),
+                    new LngLat(-3.190578818321228, 55.94402412577528))),
+            new RestrictedArea("Bayes Central Area", 2, null, List.of(
+                    new LngLat(-3.1876927614212036, 55.94520696732767),
+                    new LngLat(-3.187555968761444, 55.9449621408666),
+                    new LngLat(-3.186981976032257, 55.94505676722831),
+                    new LngLat(-3.1872327625751495, 55.94536993377657),
+                    new LngLat(-3.1874459981918335, 55.9453361389472),
+                    new LngLat(-3.1873735785484314, 55.94519344934259),
+                    new LngLat(-3.1875935196876526, 55.94515665035927),
+                    new LngLat(-3.187624365091324, 55.94521973430925),
+                    new LngLat(-3.1876927614212036, 55.94520696732767))));
+
+    @Test
+    @DisplayName("Should agree with the exact index for random moves")
+    void testMatchesExactIndex() {
+        GridNoFlyZoneIndex exact = new GridNoFlyZoneIndex(ZONES);
+        BlockedCellMap map = new BlockedCellMap(exact);
+        Random random = new Random(11);
+
+        for (int i = 0; i < 50000; i++) {
+            double lng = -3.1920 + random.nextDouble() * 0.0060;
+            double lat = 55.9420 + random.nextDouble() * 0.0045;
+            int direction = random.nextInt(16);
+            double nextLng = lng + 0.00015 * Math.cos(Math.toRadians(direction * 22.5));
+            double nextLat = lat + 0.00015 * Math.sin(Math.toRadians(direction * 22.5));
+
+            assertEquals(exact.crosses(lng, lat, nextLng, nextLat), map.crosses(lng, lat, nextLng, nextLat));
+            assertEquals(exact.isInside(lng, lat), map.isInside(lng, lat));
+        }
+    }
+
+    @Test
+    @DisplayName("Should answer interior and far-away cells without an edge test")
+    void testInteriorAndExterior() {
+        BlockedCellMap map = new BlockedCellMap(new GridNoFlyZoneIndex(ZONES));
+
+        assertTrue(map.isInside(-3.1888, 55.9437));
+        assertTrue(map.crosses(-3.1888, 55.9437, -3.18865, 55.9437));
+        assertFalse(map.crosses(-3.2000, 55.9500, -3.19985, 55.9500));
+    }
+
+    @Test
+    @DisplayName("Empty zone set should never block")
+    void testEmptyMap() {
+        BlockedCellMap map = new BlockedCellMap(new GridNoFlyZoneIndex(List.of()));
+
+        assertFalse(map.crosses(-3.1888, 55.9437, -3.18865, 55.9437));
+        assertFalse(map.isInside(-3.1888, 55.9437));
+    }
+}
@@ -0,0 +1,50 @@
+package ilp.submission.pathfinding;
+
+import ilp.submission.model.LngLat;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("CoordinatePath Tests")
+class CoordinatePathTest {
+
+    @Test
+    @DisplayName("Should grow past its initial capacity and keep insertion order")
+    void testGrowth() {
+        CoordinatePath path = new CoordinatePath(1);
+        for (int i = 0; i < 100; i++) {
+            path.add(i, -i);
+        }
+
+        assertEquals(100, path.size());
+        assertEquals(42.0, path.lng(42));
+        assertEquals(-42.0, path.lat(42));
+    }
+
+    @Test
+    @DisplayName("Hovers should share one LngLat when materialised")
+    void testHoverSharing() {
+        CoordinatePath path = new CoordinatePath();
+        path.add(1, 2);
+        path.add(1, 2);
+        path.add(3, 4);
+
+        List<LngLat> points = path.toLngLats();
+
+        assertEquals(3, points.size());
+        assertSame(points.get(0), points.get(1));
+        assertNotSame(points.get(1), points.get(2));
+    }
+
+    @Test
+    @DisplayName("Empty path should materialise as an empty list")
+    void testEmpty() {
+        CoordinatePath path = new CoordinatePath();
+
+        assertTrue(path.isEmpty());
+        assertTrue(path.toLngLats().isEmpty());
+    }
+}
@@ -0,0 +1,61 @@
+package ilp.submission.pathfinding;
+
+import ilp.submission.model.LngLat;
+import ilp.submission.model.RestrictedArea;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("DetourGraph Tests")
+class DetourGraphTest {
+
+    // Square block from (-3.190, 55.943) to (-3.188, 55.945)
+    private static final List<RestrictedArea> ZONES = List.of(
+            new RestrictedArea("Block", 1, null, List.of(
+                    new LngLat(-3.190, 55.943),
+                    new LngLat(-3.188, 55.943),
+                    new LngLat(-3.188, 55.945),
+                    new LngLat(-3.190, 55.945),
+                    new LngLat(-3.190, 55.943))));
+
+    private final DetourGraph graph = new DetourGraph(new GridNoFlyZoneIndex(ZONES));
+
+    @Test
+    @DisplayName("Clear legs should cost the straight-line distance")
+    void testClearLeg() {
+        LngLat from = new LngLat(-3.1920, 55.9460);
+        LngLat to = new LngLat(-3.1860, 55.9460);
+
+        assertEquals(from.distanceTo(to), graph.distance(graph.view(from), graph.view(to)), 1e-12);
+    }
+
+    @Test
+    @DisplayName("Blocked legs should go round the nearest corners")
+    void testDetour() {
+        LngLat from = new LngLat(-3.1905, 55.9440);
+        LngLat to = new LngLat(-3.1875, 55.9440);
+        double aroundTop = 2 * Math.hypot(0.0005, 0.001) + 0.002;
+
+        double distance = graph.distance(graph.view(from), graph.view(to));
+
+        assertEquals(4, graph.cornerCount());
+        assertEquals(aroundTop, distance, 1e-6);
+        assertTrue(distance > from.distanceTo(to));
+    }
+
+    @Test
+    @DisplayName("Legs into or out of a zone should be unreachable unless both ends share it")
+    void testInside() {
+        DetourGraph.View inside = graph.view(new LngLat(-3.1890, 55.9440));
+        DetourGraph.View alsoInside = graph.view(new LngLat(-3.1885, 55.9445));
+        DetourGraph.View outside = graph.view(new LngLat(-3.1920, 55.9460));
+
+        assertTrue(inside.isInside());
+        assertEquals(Double.POSITIVE_INFINITY, graph.distance(outside, inside));
+        assertEquals(Double.POSITIVE_INFINITY, graph.distance(inside, outside));
+        assertTrue(graph.distance(inside, alsoInside) < 0.001);
+    }
+}
@@ -0,0 +1,79 @@
+package ilp.submission.pathfinding;
+
+import ilp.submission.model.LngLat;
+import ilp.submission.model.RestrictedArea;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("GridNoFlyZoneIndex Tests")
+class GridNoFlyZoneIndexTest {
+
+    private static final List<RestrictedArea> ZONES = List.of(
+            new RestrictedArea("George Square Area", 1, null, List.of(
+                    new LngLat(-3.190578818321228, 55.94402412577528),
+                    new LngLat(-3.1899887323379517, 55.94284650540911),
+                    new LngLat(-3.187097311019897, 55.94328811724263),
+                    new LngLat(-3.187682032585144, 55.944477740393744),
+                    new LngLat(-3.190578818321228, 55.94402412577528))),
+            new RestrictedArea("Open Square", 2, null, List.of(
+                    new LngLat(-3.1860, 55.9440),
+                    new LngLat(-3.1850, 55.9440),
+                    new LngLat(-3.1850, 55.9450),
+                    new LngLat(-3.1860, 55.9450))));
+
+    @Test
+    @DisplayName("Should detect points inside closed and open polygons")
+    void testIsInside() {
+        GridNoFlyZoneIndex index = new GridNoFlyZoneIndex(ZONES);
+
+        assertTrue(index.isInside(-3.1888, 55.9437));
+        assertTrue(index.isInside(-3.1855, 55.9445));
+        assertFalse(index.isInside(-3.1920, 55.9460));
+    }
+
+    @Test
+    @DisplayName("Should block moves that cross or touch an edge")
+    void testCrosses() {
+        GridNoFlyZoneIndex index = new GridNoFlyZoneIndex(ZONES);
+
+        // Crosses the west edge of the open square
+        assertTrue(index.crosses(-3.18610, 55.9445, -3.18595, 55.9445));
+        // Ends exactly on the closing edge of the open square
+        assertTrue(index.crosses(-3.18615, 55.9441, -3.1860, 55.9441));
+        // Well clear of every zone
+        assertFalse(index.crosses(-3.1920, 55.9460, -3.19185, 55.9460));
+    }
+
+    @Test
+    @DisplayName("Should match a single-cell index for random moves")
+    void testMatchesSingleCellIndex() {
+        GridNoFlyZoneIndex grid = new GridNoFlyZoneIndex(ZONES);
+        GridNoFlyZoneIndex singleCell = new GridNoFlyZoneIndex(ZONES, 1.0);
+        Random random = new Random(7);
+
+        for (int i = 0; i < 20000; i++) {
+            double lng = -3.1915 + random.nextDouble() * 0.0075;
+            double lat = 55.9420 + random.nextDouble() * 0.0040;
+            double angle = Math.toRadians(random.nextInt(16) * 22.5);
+            double nextLng = lng + 0.00015 * Math.cos(angle);
+            double nextLat = lat + 0.00015 * Math.sin(angle);
+
+            assertEquals(singleCell.crosses(lng, lat, nextLng, nextLat),
+                    grid.crosses(lng, lat, nextLng, nextLat));
+        }
+    }
+
+    @Test
+    @DisplayName("Empty zone set should never block")
+    void testEmptyIndex() {
+        GridNoFlyZoneIndex index = new GridNoFlyZoneIndex(List.of());
+
+        assertFalse(index.crosses(-3.1888, 55.9437, -3.18865, 55.9437));
+        assertFalse(index.isInside(-3.1888, 55.9437));
+    }
+}
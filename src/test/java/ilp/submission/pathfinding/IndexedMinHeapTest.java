@@ -0,0 +1,99 @@
+package ilp.submission.pathfinding;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("IndexedMinHeap Tests")
+class IndexedMinHeapTest {
+
+    @Test
+    @DisplayName("Should poll nodes in priority order")
+    void testPollOrder() {
+        IndexedMinHeap heap = new IndexedMinHeap(4);
+        heap.insert(0, 5.0);
+        heap.insert(1, 1.0);
+        heap.insert(2, 3.0);
+        heap.insert(3, 2.0);
+
+        assertEquals(1, heap.poll());
+        assertEquals(3, heap.poll());
+        assertEquals(2, heap.poll());
+        assertEquals(0, heap.poll());
+        assertTrue(heap.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Decrease-key should move a node to the front")
+    void testDecreaseKey() {
+        IndexedMinHeap heap = new IndexedMinHeap(4);
+        heap.insert(0, 1.0);
+        heap.insert(1, 2.0);
+        heap.insert(2, 3.0);
+
+        heap.decreaseKey(2, 0.5);
+
+        assertEquals(2, heap.poll());
+        assertEquals(0, heap.poll());
+        assertEquals(1, heap.poll());
+    }
+
+    @Test
+    @DisplayName("Should track membership through insert, poll and clear")
+    void testContains() {
+        IndexedMinHeap heap = new IndexedMinHeap(4);
+        heap.insert(7, 1.0);
+        heap.insert(100, 2.0);
+
+        assertTrue(heap.contains(7));
+        assertTrue(heap.contains(100));
+        assertFalse(heap.contains(3));
+
+        heap.poll();
+        assertFalse(heap.contains(7));
+
+        heap.clear();
+        assertFalse(heap.contains(100));
+        assertTrue(heap.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should stay ordered under random inserts and decrease-keys")
+    void testRandomisedOrdering() {
+        Random random = new Random(42);
+        IndexedMinHeap heap = new IndexedMinHeap(16);
+        double[] priority = new double[2000];
+        for (int node = 0; node < priority.length; node++) {
+            priority[node] = random.nextDouble();
+            heap.insert(node, priority[node]);
+        }
+        for (int i = 0; i < 500; i++) {
+            int node = random.nextInt(priority.length);
+            priority[node] *= random.nextDouble();
+            heap.decreaseKey(node, priority[node]);
+        }
+
+        double last = Double.NEGATIVE_INFINITY;
+        while (!heap.isEmpty()) {
+            double next = priority[heap.poll()];
+            assertTrue(next >= last);
+            last = next;
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject invalid operations")
+    void testInvalidOperations() {
+        IndexedMinHeap heap = new IndexedMinHeap(4);
+        assertThrows(NoSuchElementException.class, heap::poll);
+        assertThrows(IllegalStateException.class, () -> heap.decreaseKey(0, 1.0));
+
+        heap.insert(0, 1.0);
+        assertThrows(IllegalStateException.class, () -> heap.insert(0, 2.0));
+        assertThrows(IllegalArgumentException.class, () -> heap.decreaseKey(0, 2.0));
+    }
+}
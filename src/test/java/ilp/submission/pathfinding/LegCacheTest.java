@@ -0,0 +1,75 @@
+package ilp.submission.pathfinding;
+
+import ilp.submission.model.LngLat;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("LegCache Tests")
+class LegCacheTest {
+
+    private static final LngLat A = new LngLat(-3.186874, 55.944494);
+    private static final LngLat B = new LngLat(-3.188000, 55.945000);
+    private static final LngLat C = new LngLat(-3.190000, 55.946000);
+
+    @Test
+    @DisplayName("Should count hits and misses")
+    void testHitAndMiss() {
+        LegCache cache = new LegCache(10, 1000);
+
+        assertNull(cache.get(A, B, 1));
+        cache.put(A, B, 1, List.of(A, B));
+
+        assertEquals(List.of(A, B), cache.get(A, B, 1));
+        assertEquals(1, cache.hitCount());
+        assertEquals(1, cache.missCount());
+    }
+
+    @Test
+    @DisplayName("Should miss when the zone set or exact endpoints differ")
+    void testKeyParts() {
+        LegCache cache = new LegCache(10, 1000);
+        cache.put(A, B, 1, List.of(A, B));
+
+        assertNull(cache.get(A, B, 2));
+        // Same rounded cell, different exact start
+        assertNull(cache.get(new LngLat(A.lng() + 1e-8, A.lat()), B, 1));
+        assertNull(cache.get(B, A, 1));
+    }
+
+    @Test
+    @DisplayName("Should evict least recently used legs by count and by points")
+    void testEviction() {
+        LegCache byCount = new LegCache(2, 1000);
+        byCount.put(A, B, 1, List.of(A, B));
+        byCount.put(B, C, 1, List.of(B, C));
+        byCount.get(A, B, 1);
+        byCount.put(A, C, 1, List.of(A, C));
+
+        assertNotNull(byCount.get(A, B, 1));
+        assertNull(byCount.get(B, C, 1));
+        assertEquals(1, byCount.evictionCount());
+
+        LegCache byPoints = new LegCache(10, 5);
+        byPoints.put(A, B, 1, List.of(A, B, B));
+        byPoints.put(B, C, 1, List.of(B, C, C));
+
+        assertEquals(1, byPoints.size());
+        assertEquals(3, byPoints.pointCount());
+    }
+
+    @Test
+    @DisplayName("Should drop everything on invalidateAll")
+    void testInvalidateAll() {
+        LegCache cache = new LegCache(10, 1000);
+        cache.put(A, B, 1, List.of(A, B));
+
+        cache.invalidateAll();
+
+        assertEquals(0, cache.size());
+        assertNull(cache.get(A, B, 1));
+    }
+}
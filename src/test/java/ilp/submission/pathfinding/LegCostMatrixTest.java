@@ -0,0 +1,73 @@
+package ilp.submission.pathfinding;
+
+import ilp.submission.config.PathPlanningConfig;
+import ilp.submission.model.LatticeMoves;
+import ilp.submission.model.LngLat;
+import ilp.submission.model.RestrictedArea;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("LegCostMatrix Tests")
+class LegCostMatrixTest {
+
+    private static final List<RestrictedArea> ZONES = List.of(
+            new RestrictedArea("Block", 1, null, List.of(
+                    new LngLat(-3.190, 55.943),
+                    new LngLat(-3.188, 55.943),
+                    new LngLat(-3.188, 55.945),
+                    new LngLat(-3.190, 55.945),
+                    new LngLat(-3.190, 55.943))));
+
+    private static final LngLat SERVICE_POINT = new LngLat(-3.1920, 55.9440);
+
+    private static double moves(LngLat from, LngLat to) {
+        return Math.ceil(from.distanceTo(to) / LatticeMoves.MOVE_DISTANCE);
+    }
+
+    @Test
+    @DisplayName("Should fill every leg, pricing detours and unreachable stops")
+    void testLegs() {
+        LngLat west = new LngLat(-3.1920, 55.9450);
+        LngLat east = new LngLat(-3.1860, 55.9440);
+        LngLat inside = new LngLat(-3.1890, 55.9440);
+        List<LngLat> pickups = List.of(west, west, SERVICE_POINT);
+        List<LngLat> deliveries = List.of(SERVICE_POINT, east, inside);
+
+        Executor executor = PathPlanningConfig.planningExecutor(4);
+        LegCostMatrix matrix;
+        try {
+            matrix = LegCostMatrix.compute(new DetourGraph(new GridNoFlyZoneIndex(ZONES)),
+                    SERVICE_POINT, pickups, deliveries, 2000, executor);
+        } finally {
+            if (executor instanceof ExecutorService pool) {
+                pool.shutdownNow();
+            }
+        }
+
+        assertEquals(3, matrix.size());
+        assertEquals(moves(SERVICE_POINT, west), matrix.outbound(0));
+        assertEquals(moves(west, SERVICE_POINT), matrix.carry(0));
+        assertEquals(0, matrix.inbound(0));
+        assertTrue(matrix.carry(1) > moves(west, east), "east of the block is reached round it");
+        assertEquals(2000, matrix.carry(2));
+        assertEquals(2000, matrix.inbound(2));
+        assertEquals(0, matrix.between(0, 2));
+        assertEquals(matrix.outbound(1), matrix.between(0, 1));
+        assertEquals(matrix.outbound(0) + matrix.carry(0) + 1 + matrix.inbound(0), matrix.roundTrip(0));
+    }
+
+    @Test
+    @DisplayName("Should reject mismatched pickups and deliveries")
+    void testMismatch() {
+        DetourGraph graph = new DetourGraph(new GridNoFlyZoneIndex(ZONES));
+
+        assertThrows(IllegalArgumentException.class, () -> LegCostMatrix.compute(graph, SERVICE_POINT,
+                List.of(SERVICE_POINT), List.of(), 2000, Runnable::run));
+    }
+}
@@ -0,0 +1,108 @@
+package ilp.submission.pathfinding;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("LongIntHashMap Tests")
+class LongIntHashMapTest {
+
+    @Test
+    @DisplayName("Should keep every entry while growing past the load factor")
+    void testGrowth() {
+        LongIntHashMap map = new LongIntHashMap(4);
+        Map<Long, Integer> expected = new HashMap<>();
+        Random random = new Random(3);
+        for (int i = 0; i < 50_000; i++) {
+            long key = random.nextLong();
+            map.put(key, i);
+            expected.put(key, i);
+        }
+        // Overwrites must not add entries
+        for (Map.Entry<Long, Integer> entry : expected.entrySet()) {
+            map.put(entry.getKey(), entry.getValue() + 1);
+        }
+
+        assertEquals(expected.size(), map.size());
+        for (Map.Entry<Long, Integer> entry : expected.entrySet()) {
+            assertEquals(entry.getValue() + 1, map.get(entry.getKey()));
+        }
+    }
+
+    @Test
+    @DisplayName("Should store zero and negative keys and the value 0")
+    void testZeroAndNegativeKeys() {
+        LongIntHashMap map = new LongIntHashMap(16);
+
+        // Key 0 and value 0 must not be mistaken for the empty-slot marker
+        assertEquals(LongIntHashMap.MISSING, map.get(0));
+        map.put(0, 0);
+        map.put(-1, 1);
+        map.put(Long.MIN_VALUE, 2);
+        map.put(Long.MAX_VALUE, 3);
+
+        assertEquals(0, map.get(0));
+        assertEquals(1, map.get(-1));
+        assertEquals(2, map.get(Long.MIN_VALUE));
+        assertEquals(3, map.get(Long.MAX_VALUE));
+        assertEquals(LongIntHashMap.MISSING, map.get(1));
+        assertEquals(4, map.size());
+        assertThrows(IllegalArgumentException.class, () -> map.put(5, -1));
+    }
+
+    @Test
+    @DisplayName("Should be reusable after clear")
+    void testClearAndReuse() {
+        LongIntHashMap map = new LongIntHashMap(16);
+        for (int i = 0; i < 1000; i++) {
+            map.put(i - 500, i);
+        }
+
+        map.clear();
+
+        assertEquals(0, map.size());
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(LongIntHashMap.MISSING, map.get(i - 500));
+        }
+        map.put(7, 70);
+        map.put(-7, 0);
+        assertEquals(70, map.get(7));
+        assertEquals(0, map.get(-7));
+        assertEquals(2, map.size());
+    }
+
+    @Test
+    @DisplayName("SearchState cell keys should round-trip both axes at the rounding edges")
+    void testCellKeyRoundTrip() {
+        double[][] points = {
+                {-3.1868745, 55.9444945},   // a decimal half; the double lies just to one side of it
+                {-3.18687449, 55.94449449},
+                {-3.18687451, -55.94449451},
+                {0.0, -0.0},
+                {-0.0000005, 0.0000005},
+                {-180.0, -90.0},
+                {180.0, 90.0}};
+        for (double[] point : points) {
+            long key = SearchState.cellKey(point[0], point[1]);
+
+            assertEquals(Math.round(point[0] * 1_000_000.0), key >> 32, "lng " + point[0]);
+            assertEquals(Math.round(point[1] * 1_000_000.0), (int) key, "lat " + point[1]);
+        }
+
+        // Points that round to the same cell share a node; the next cell along does not
+        SearchState state = new SearchState();
+        int node = state.add(SearchState.cellKey(-3.1868744, 55.9444944), -3.1868744, 55.9444944,
+                SearchState.NO_NODE, 0, 0);
+        assertEquals(node, state.find(SearchState.cellKey(-3.18687449, 55.94449449)));
+        assertEquals(SearchState.NO_NODE, state.find(SearchState.cellKey(-3.18687451, 55.94449449)));
+        assertEquals(SearchState.NO_NODE, state.find(SearchState.cellKey(-3.18687449, -55.94449449)));
+
+        state.reset();
+        assertEquals(SearchState.NO_NODE, state.find(SearchState.cellKey(-3.1868744, 55.9444944)));
+    }
+}
@@ -0,0 +1,95 @@
+package ilp.submission.pathfinding;
+
+import ilp.submission.model.DeliveryPathResult;
+import ilp.submission.model.LngLat;
+import ilp.submission.model.MedDispatchRec;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("PlanCache Tests")
+class PlanCacheTest {
+
+    private static final LngLat PICKUP = new LngLat(-3.186874, 55.944494);
+    private static final LngLat DELIVERY = new LngLat(-3.188000, 55.945000);
+
+    private static MedDispatchRec dispatch(int id, String time, double capacity) {
+        return new MedDispatchRec(id, "2025-12-22", time, "AT", PICKUP, DELIVERY,
+                new MedDispatchRec.Requirements(capacity, true, null, null));
+    }
+
+    private static DeliveryPathResult plan(int points) {
+        List<LngLat> path = Collections.nCopies(points, PICKUP);
+        return new DeliveryPathResult(1.0, points - 1, List.of(
+                new DeliveryPathResult.DronePathInfo("D1", PICKUP, List.of(), path, points - 1)));
+    }
+
+    @Test
+    @DisplayName("Keys should depend on dispatch content, not identity")
+    void testKeyContent() {
+        PlanCache.Key key = PlanCache.key(List.of(dispatch(1, "10:00", 2), dispatch(2, "11:00", 3)), 1);
+
+        assertEquals(key, PlanCache.key(List.of(dispatch(1, "10:00", 2), dispatch(2, "11:00", 3)), 1));
+        assertNotEquals(key, PlanCache.key(List.of(dispatch(1, "10:00", 2), dispatch(2, "11:00", 3.5)), 1));
+        assertNotEquals(key, PlanCache.key(List.of(dispatch(1, "10:00", 2), dispatch(2, "11:01", 3)), 1));
+        assertNotEquals(key, PlanCache.key(List.of(dispatch(2, "11:00", 3), dispatch(1, "10:00", 2)), 1));
+        assertNotEquals(key, PlanCache.key(List.of(dispatch(1, "10:00", 2), dispatch(2, "11:00", 3)), 2));
+    }
+
+    @Test
+    @DisplayName("Keys should tell missing fields apart from empty ones")
+    void testKeyNulls() {
+        MedDispatchRec noRequirements = new MedDispatchRec(1, "2025-12-22", "10:00", "", PICKUP, DELIVERY, null);
+        MedDispatchRec noPickupName = new MedDispatchRec(1, "2025-12-22", "10:00", null, PICKUP, DELIVERY, null);
+        MedDispatchRec noDelivery = new MedDispatchRec(1, "2025-12-22", "10:00", "", PICKUP, null, null);
+
+        assertNotEquals(PlanCache.key(List.of(noRequirements), 1), PlanCache.key(List.of(noPickupName), 1));
+        assertNotEquals(PlanCache.key(List.of(noRequirements), 1), PlanCache.key(List.of(noDelivery), 1));
+    }
+
+    @Test
+    @DisplayName("Should count hits and misses")
+    void testHitAndMiss() {
+        PlanCache cache = new PlanCache(10, 1000);
+        PlanCache.Key key = PlanCache.key(List.of(dispatch(1, "10:00", 2)), 1);
+        DeliveryPathResult plan = plan(3);
+
+        assertNull(cache.get(key));
+        cache.put(key, plan);
+
+        assertSame(plan, cache.get(key));
+        assertEquals(1, cache.hitCount());
+        assertEquals(1, cache.missCount());
+        assertEquals(3, cache.pointCount());
+    }
+
+    @Test
+    @DisplayName("Should evict least recently used plans by count and by points")
+    void testEviction() {
+        PlanCache.Key a = PlanCache.key(List.of(dispatch(1, "10:00", 2)), 1);
+        PlanCache.Key b = PlanCache.key(List.of(dispatch(2, "10:00", 2)), 1);
+        PlanCache.Key c = PlanCache.key(List.of(dispatch(3, "10:00", 2)), 1);
+
+        PlanCache byCount = new PlanCache(2, 1000);
+        byCount.put(a, plan(2));
+        byCount.put(b, plan(2));
+        byCount.get(a);
+        byCount.put(c, plan(2));
+        assertNotNull(byCount.get(a));
+        assertNull(byCount.get(b));
+        assertEquals(1, byCount.evictionCount());
+
+        PlanCache byPoints = new PlanCache(10, 10);
+        byPoints.put(a, plan(6));
+        byPoints.put(b, plan(6));
+        assertNull(byPoints.get(a));
+        assertEquals(6, byPoints.pointCount());
+
+        byPoints.put(c, plan(11));
+        assertNull(byPoints.get(c), "A plan larger than the whole cache should not be stored");
+    }
+}
@@ -0,0 +1,106 @@
+package ilp.submission.pathfinding;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("RouteOptimizer Tests")
+class RouteOptimizerTest {
+
+    private static double[][] randomCosts(Random random, int stops) {
+        double[][] cost = new double[stops + 1][stops + 1];
+        for (int from = 0; from <= stops; from++) {
+            for (int to = 0; to <= stops; to++) {
+                if (from != to) {
+                    cost[from][to] = random.nextInt(100);
+                }
+            }
+        }
+        return cost;
+    }
+
+    private static double bruteForce(double[][] cost, int[] order, int position) {
+        if (position == order.length) {
+            return RouteOptimizer.tourCost(cost, order);
+        }
+        double best = Double.POSITIVE_INFINITY;
+        for (int i = position; i < order.length; i++) {
+            swap(order, position, i);
+            best = Math.min(best, bruteForce(cost, order, position + 1));
+            swap(order, position, i);
+        }
+        return best;
+    }
+
+    private static void swap(int[] order, int a, int b) {
+        int t = order[a];
+        order[a] = order[b];
+        order[b] = t;
+    }
+
+    private static int[] indexOrder(int stops) {
+        int[] order = new int[stops];
+        Arrays.setAll(order, i -> i + 1);
+        return order;
+    }
+
+    @Test
+    @DisplayName("Small sets should get the optimal order on asymmetric costs")
+    void testExactMatchesBruteForce() {
+        Random random = new Random(7);
+        for (int trial = 0; trial < 50; trial++) {
+            int stops = 2 + random.nextInt(6);
+            double[][] cost = randomCosts(random, stops);
+
+            int[] order = RouteOptimizer.order(cost);
+
+            int[] sorted = order.clone();
+            Arrays.sort(sorted);
+            assertArrayEquals(indexOrder(stops), sorted);
+            assertEquals(bruteForce(cost, indexOrder(stops), 0), RouteOptimizer.tourCost(cost, order));
+        }
+    }
+
+    @Test
+    @DisplayName("Large sets should visit every stop once and beat the index order")
+    void testLocalSearch() {
+        Random random = new Random(11);
+        int stops = RouteOptimizer.EXACT_LIMIT + 18;
+        double[][] cost = randomCosts(random, stops);
+
+        int[] order = RouteOptimizer.order(cost);
+
+        int[] sorted = order.clone();
+        Arrays.sort(sorted);
+        assertArrayEquals(indexOrder(stops), sorted);
+        assertTrue(RouteOptimizer.tourCost(cost, order) < RouteOptimizer.tourCost(cost, indexOrder(stops)));
+    }
+
+    @Test
+    @DisplayName("Should fix the classic nearest-neighbour trap")
+    void testAvoidsGreedyTrap() {
+        // Points on a line at 0 (service point), 1, -2 and 4: greedy goes 1, -2, 4 and back for 14
+        double[] x = {0, 1, -2, 4};
+        double[][] cost = new double[4][4];
+        for (int from = 0; from < 4; from++) {
+            for (int to = 0; to < 4; to++) {
+                cost[from][to] = Math.abs(x[from] - x[to]);
+            }
+        }
+
+        int[] order = RouteOptimizer.order(cost);
+
+        assertEquals(12.0, RouteOptimizer.tourCost(cost, order));
+    }
+
+    @Test
+    @DisplayName("Should handle zero and one stop")
+    void testTrivial() {
+        assertArrayEquals(new int[0], RouteOptimizer.order(new double[1][1]));
+        assertArrayEquals(new int[] {1}, RouteOptimizer.order(new double[2][2]));
+    }
+}
@@ -0,0 +1,123 @@
+package ilp.submission.service.impl;
+
+import ilp.submission.model.*;
+import ilp.submission.service.AsyncIlpRestClient;
+import ilp.submission.service.IlpRestClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("AsyncIlpRestClient Tests")
+class AsyncIlpRestClientImplTest {
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Availability lookup should run its three fetches concurrently")
+    void testFetchesOverlap() {
+        // Each fetch waits until all three have started, so a serial caller would time out
+        CountDownLatch started = new CountDownLatch(3);
+        AsyncIlpRestClient client = new AsyncIlpRestClientImpl(new StubClient(started), executor);
+
+        List<String> available = new DroneAvailabilityServiceImpl(client).findAvailableDrones(List.of(
+                new MedDispatchRec(1, null, null, null, null, null,
+                        new MedDispatchRec.Requirements(1, false, false, null))));
+
+        assertEquals(List.of("1"), available);
+    }
+
+    @Test
+    @DisplayName("await should rethrow the fetch failure unwrapped")
+    void testAwaitUnwraps() {
+        AsyncIlpRestClient client = new AsyncIlpRestClientImpl(new StubClient(new CountDownLatch(0)) {
+            @Override
+            public List<Drone> fetchDrones() {
+                throw new IllegalStateException("upstream down");
+            }
+        }, executor);
+
+        IllegalStateException e = assertThrows(IllegalStateException.class,
+                () -> AsyncIlpRestClient.await(client.fetchDronesAsync()));
+        assertEquals("upstream down", e.getMessage());
+    }
+
+    private static class StubClient implements IlpRestClient {
+
+        private final CountDownLatch started;
+
+        StubClient(CountDownLatch started) {
+            this.started = started;
+        }
+
+        private void rendezvous() {
+            started.countDown();
+            try {
+                if (!started.await(5, TimeUnit.SECONDS)) {
+                    throw new IllegalStateException("fetches did not overlap");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        }
+
+        @Override
+        public List<Drone> fetchDrones() {
+            rendezvous();
+            return List.of(new Drone("Drone 1", "1",
+                    new DroneCapability(false, false, 4, 2000, 0.01, 4.3, 6.5, null)));
+        }
+
+        @Override
+        public List<DroneServicePoint> fetchServicePoints() {
+            rendezvous();
+            return List.of(new DroneServicePoint(1, "Appleton Tower",
+                    new DroneServicePoint.Location(-3.186874, 55.944494, 50)));
+        }
+
+        @Override
+        public List<DroneForServicePoint> fetchDroneAvailability() {
+            rendezvous();
+            return List.of(new DroneForServicePoint(1, List.of(new DroneForServicePoint.DroneAvailability("1",
+                    List.of(new DroneForServicePoint.AvailabilityWindow("MONDAY", "00:00:00", "23:59:59"))))));
+        }
+
+        @Override
+        public List<Region> fetchRegions() {
+            return List.of();
+        }
+
+        @Override
+        public List<RestrictedArea> fetchRestrictedAreas() {
+            return List.of();
+        }
+
+        @Override
+        public List<MedDispatchRec> fetchMedDispatchRecords(String date) {
+            return List.of();
+        }
+
+        @Override
+        public Region fetchCentralArea() {
+            return null;
+        }
+
+        @Override
+        public boolean isAlive() {
+            return true;
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package ilp.submission.service.impl;
+
+import ilp.submission.model.DroneForServicePoint;
+import ilp.submission.model.DroneServicePoint;
+import ilp.submission.model.LngLat;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("AvailabilityIndex Tests")
+class AvailabilityIndexTest {
+
+    private static final List<DroneServicePoint> SERVICE_POINTS = List.of(
+            new DroneServicePoint(1, "Appleton Tower", new DroneServicePoint.Location(-3.186874, 55.944494, 50)),
+            new DroneServicePoint(2, "Ocean Terminal", new DroneServicePoint.Location(-3.17732, 55.98166, 50)));
+
+    private static DroneForServicePoint.AvailabilityWindow window(String day, String from, String until) {
+        return new DroneForServicePoint.AvailabilityWindow(day, from, until);
+    }
+
+    /**
+     * The scan the index replaces: every service point, every window, times parsed on the spot.
+     */
+    private static boolean reference(List<DroneForServicePoint> availability, String droneId, DayOfWeek day,
+                                     LocalTime time, LngLat delivery, int maxMoves) {
+        for (DroneForServicePoint servicePoint : availability) {
+            DroneForServicePoint.DroneAvailability drone = servicePoint.getDrones().stream()
+                    .filter(d -> d.getId().equals(droneId))
+                    .findFirst()
+                    .orElse(null);
+            if (drone == null) {
+                continue;
+            }
+            for (DroneForServicePoint.AvailabilityWindow window : drone.getAvailability()) {
+                if (window.getDayOfWeek().equalsIgnoreCase(day.name()) &&
+                        !time.isBefore(LocalTime.parse(window.getFrom())) &&
+                        !time.isAfter(LocalTime.parse(window.getUntil()))) {
+                    LngLat location = SERVICE_POINTS.stream()
+                            .filter(sp -> sp.getId().equals(servicePoint.getServicePointId()))
+                            .findFirst().orElseThrow().getLocation();
+                    if (maxMoves >= (int) Math.ceil(location.distanceTo(delivery) / 0.00015) * 2) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    @Test
+    @DisplayName("Should agree with a full scan on random schedules")
+    void testMatchesScan() {
+        Random random = new Random(5);
+        List<DroneForServicePoint> availability = new ArrayList<>();
+        for (int sp = 1; sp <= 2; sp++) {
+            List<DroneForServicePoint.DroneAvailability> drones = new ArrayList<>();
+            for (int d = 1; d <= 6; d++) {
+                List<DroneForServicePoint.AvailabilityWindow> windows = new ArrayList<>();
+                for (int w = random.nextInt(6); w > 0; w--) {
+                    int from = random.nextInt(24 * 60);
+                    int until = Math.min(24 * 60 - 1, from + random.nextInt(300));
+                    windows.add(window(DayOfWeek.of(1 + random.nextInt(7)).name().toLowerCase(),
+                            LocalTime.ofSecondOfDay(from * 60L).toString(),
+                            LocalTime.ofSecondOfDay(until * 60L + 59).toString()));
+                }
+                drones.add(new DroneForServicePoint.DroneAvailability(String.valueOf(d), windows));
+            }
+            availability.add(new DroneForServicePoint(sp, drones));
+        }
+
+        AvailabilityIndex index = new AvailabilityIndex(availability, SERVICE_POINTS);
+
+        for (int check = 0; check < 5000; check++) {
+            String droneId = String.valueOf(1 + random.nextInt(7));
+            DayOfWeek day = DayOfWeek.of(1 + random.nextInt(7));
+            LocalTime time = LocalTime.ofSecondOfDay(random.nextInt(24 * 3600));
+            LngLat delivery = new LngLat(-3.19 + random.nextDouble() * 0.02, 55.94 + random.nextDouble() * 0.05);
+            int maxMoves = 200 + random.nextInt(600);
+
+            assertEquals(reference(availability, droneId, day, time, delivery, maxMoves),
+                    index.isAvailable(droneId, day, time, delivery, maxMoves),
+                    droneId + " " + day + " " + time);
+        }
+    }
+
+    @Test
+    @DisplayName("Window bounds should be inclusive and windows kept in order")
+    void testBounds() {
+        List<DroneForServicePoint> availability = List.of(new DroneForServicePoint(1, List.of(
+                new DroneForServicePoint.DroneAvailability("1", List.of(
+                        window("MONDAY", "12:00:00", "13:00:00"),
+                        window("MONDAY", "09:00:00", "10:00:00"),
+                        window("MONDAY", "10:00:01", "11:00:00"),
+                        window("MONDAY", "nonsense", "11:00:00"))))));
+        AvailabilityIndex index = new AvailabilityIndex(availability, SERVICE_POINTS);
+        LngLat delivery = new LngLat(-3.186874, 55.944494);
+
+        assertTrue(index.isAvailable("1", DayOfWeek.MONDAY, LocalTime.of(9, 0), delivery, 0));
+        assertTrue(index.isAvailable("1", DayOfWeek.MONDAY, LocalTime.of(10, 0, 1), delivery, 0));
+        assertFalse(index.isAvailable("1", DayOfWeek.MONDAY, LocalTime.of(10, 0, 0, 500_000_000), delivery, 0));
+        assertTrue(index.isAvailable("1", DayOfWeek.MONDAY, LocalTime.of(11, 0), delivery, 0));
+        assertFalse(index.isAvailable("1", DayOfWeek.MONDAY, LocalTime.of(11, 0, 1), delivery, 0));
+        assertTrue(index.isAvailable("1", DayOfWeek.MONDAY, LocalTime.of(13, 0), delivery, 0));
+        assertFalse(index.isAvailable("1", DayOfWeek.TUESDAY, LocalTime.of(9, 0), delivery, 0));
+        assertFalse(index.isAvailable("2", DayOfWeek.MONDAY, LocalTime.of(9, 0), delivery, 0));
+        assertFalse(index.isAvailable("1", DayOfWeek.MONDAY, LocalTime.of(9, 0), null, 0));
+    }
+}
@@ -0,0 +1,109 @@
+package ilp.submission.service.impl;
+
+import ilp.submission.model.Drone;
+import ilp.submission.model.DroneCapability;
+import ilp.submission.model.MedDispatchRec;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("DroneCandidateIndex Tests")
+class DroneCandidateIndexTest {
+
+    /**
+     * The per-drone check the index replaces.
+     */
+    private static boolean reference(DroneCapability cap, MedDispatchRec.Requirements requirements) {
+        if (cap == null) {
+            return false;
+        }
+        if (requirements == null) {
+            return true;
+        }
+        if (cap.getCapacity() < requirements.getCapacity()) {
+            return false;
+        }
+        if (requirements.requiresCooling() && !cap.isCooling()) {
+            return false;
+        }
+        if (requirements.requiresHeating() && !cap.isHeating()) {
+            return false;
+        }
+        if (requirements.requiresCooling() && requirements.requiresHeating()) {
+            return false;
+        }
+        return requirements.getMaxCost() == null
+                || !(requirements.getMaxCost() < cap.getCostInitial() + cap.getCostFinal());
+    }
+
+    private static double value(Random random, double bound) {
+        // Whole values so that thresholds often land exactly on a drone's value
+        return random.nextInt(20) == 0 ? Double.NaN : random.nextInt((int) bound);
+    }
+
+    @Test
+    @DisplayName("Should agree with a per-drone check on a random fleet")
+    void testMatchesScan() {
+        Random random = new Random(11);
+        List<Drone> drones = new ArrayList<>();
+        for (int i = 0; i < 150; i++) {
+            DroneCapability cap = random.nextInt(15) == 0 ? null : new DroneCapability(
+                    random.nextBoolean(), random.nextBoolean(), value(random, 12), 1000 + i,
+                    0.01, value(random, 5), value(random, 5), null);
+            drones.add(new Drone("Drone " + i, "D" + i, cap));
+        }
+        DroneCandidateIndex index = new DroneCandidateIndex(drones);
+
+        for (int check = 0; check < 2000; check++) {
+            MedDispatchRec.Requirements requirements = random.nextInt(20) == 0 ? null
+                    : new MedDispatchRec.Requirements(value(random, 14),
+                    random.nextInt(3) == 0 ? null : random.nextBoolean(),
+                    random.nextInt(3) == 0 ? null : random.nextBoolean(),
+                    random.nextBoolean() ? null : value(random, 10));
+
+            List<String> expected = new ArrayList<>();
+            for (Drone drone : drones) {
+                if (reference(drone.getCapability(), requirements)) {
+                    expected.add(drone.getId());
+                }
+            }
+            assertEquals(expected, index.ids(index.meeting(requirements)), "check " + check);
+        }
+    }
+
+    @Test
+    @DisplayName("Should combine sets and list IDs in drone order")
+    void testSetOperations() {
+        List<Drone> drones = new ArrayList<>();
+        for (int i = 0; i < 70; i++) {
+            drones.add(new Drone("Drone " + i, "D" + i,
+                    new DroneCapability(i % 2 == 0, false, i, 1000, 0.01, 1, 1, null)));
+        }
+        DroneCandidateIndex index = new DroneCandidateIndex(drones);
+
+        long[] set = index.meeting(new MedDispatchRec.Requirements(60, true, null, null));
+        assertEquals(List.of("D60", "D62", "D64", "D66", "D68"), index.ids(set));
+
+        DroneBitsets.clear(set, 64);
+        assertEquals(66, DroneBitsets.next(set, 63));
+        assertEquals(-1, DroneBitsets.next(set, 69));
+
+        DroneBitsets.and(set, index.meeting(new MedDispatchRec.Requirements(67, null, null, null)));
+        assertEquals(List.of("D68"), index.ids(set));
+        DroneBitsets.clear(set, 68);
+        assertTrue(DroneBitsets.isEmpty(set));
+    }
+
+    @Test
+    @DisplayName("Should reject a drone list with a repeated ID")
+    void testDuplicateId() {
+        DroneCapability cap = new DroneCapability(false, false, 4, 1000, 0.01, 1, 1, null);
+        assertThrows(IllegalStateException.class, () -> new DroneCandidateIndex(List.of(
+                new Drone("A", "D1", cap), new Drone("B", "D1", cap))));
+    }
+}
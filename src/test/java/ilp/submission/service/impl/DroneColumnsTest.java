@@ -0,0 +1,70 @@
+package ilp.submission.service.impl;
+
+import ilp.submission.model.Drone;
+import ilp.submission.model.DroneCapability;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("DroneColumns Tests")
+class DroneColumnsTest {
+
+    private static final double[] CAPACITIES = {4, -0.0, Double.NaN, 0.0, 12, 4, -3};
+
+    private static DroneColumns columns() {
+        List<Drone> drones = new ArrayList<>();
+        for (int i = 0; i < CAPACITIES.length; i++) {
+            drones.add(new Drone("Drone " + i, "D" + i,
+                    new DroneCapability(i % 2 == 0, false, CAPACITIES[i], 1000, 0.01, 1, 1, null)));
+        }
+        drones.add(new Drone("Drone 7", "D7", null));
+        return new DroneColumns(drones);
+    }
+
+    @Test
+    @DisplayName("Ranges should be binary searches that skip NaN values")
+    void testRanges() {
+        DroneColumns columns = columns();
+        SortedColumn capacity = columns.capacity();
+
+        assertEquals(List.of("D1", "D3", "D6"), columns.ids(capacity.lessThan(4)));
+        assertEquals(List.of("D0", "D1", "D3", "D5", "D6"), columns.ids(capacity.atMost(4)));
+        assertEquals(List.of("D4"), columns.ids(capacity.greaterThan(4)));
+        assertEquals(List.of("D0", "D4", "D5"), columns.ids(capacity.atLeast(4)));
+        assertEquals(List.of("D6"), columns.ids(capacity.lessThan(0.0)));
+        assertEquals(List.of("D1", "D3", "D6"), columns.ids(capacity.atMost(-0.0)));
+        assertTrue(columns.ids(capacity.atLeast(Double.NaN)).isEmpty());
+        assertTrue(columns.ids(capacity.lessThan(Double.NaN)).isEmpty());
+        assertTrue(columns.ids(capacity.atMost(Double.NaN)).isEmpty());
+        assertTrue(columns.ids(capacity.greaterThan(Double.NaN)).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Equality should follow Double.compare")
+    void testEquality() {
+        DroneColumns columns = columns();
+        SortedColumn capacity = columns.capacity();
+
+        assertEquals(List.of("D0", "D5"), columns.ids(capacity.equalTo(4)));
+        assertEquals(List.of("D1"), columns.ids(capacity.equalTo(-0.0)));
+        assertEquals(List.of("D3"), columns.ids(capacity.equalTo(0.0)));
+        assertEquals(List.of("D2"), columns.ids(capacity.equalTo(Double.NaN)));
+        assertEquals(List.of("D1", "D2", "D3", "D4", "D6"), columns.ids(capacity.notEqualTo(4)));
+        assertTrue(columns.ids(capacity.equalTo(5)).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Flags should leave out drones without capabilities")
+    void testFlags() {
+        DroneColumns columns = columns();
+
+        assertEquals(List.of("D0", "D2", "D4", "D6"), columns.ids(columns.cooling(true)));
+        assertEquals(List.of("D1", "D3", "D5"), columns.ids(columns.cooling(false)));
+        assertEquals(List.of("D7"), columns.ids(columns.id("D7", false)));
+        assertEquals(8, columns.ids(columns.all()).size());
+    }
+}
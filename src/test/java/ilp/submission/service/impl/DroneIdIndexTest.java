@@ -0,0 +1,53 @@
+package ilp.submission.service.impl;
+
+import ilp.submission.model.Drone;
+import ilp.submission.model.DroneCapability;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("DroneIdIndex Tests")
+class DroneIdIndexTest {
+
+    @Test
+    @DisplayName("Should find the first drone with an ID, as a scan would")
+    void testFind() {
+        Drone first = new Drone("First", "1", null);
+        List<Drone> drones = List.of(new Drone("No ID", null, null), first, new Drone("Second", "1", null),
+                new Drone("Other", "2", null));
+        DroneIdIndex index = new DroneIdIndex(drones);
+
+        assertSame(first, index.find("1").orElseThrow());
+        assertEquals("Other", index.find("2").orElseThrow().getName());
+        assertTrue(index.find("3").isEmpty());
+        assertTrue(index.find(null).isEmpty());
+        assertTrue(index.isFor(drones));
+        assertFalse(index.isFor(new ArrayList<>(drones)));
+    }
+
+    @Test
+    @DisplayName("Tags should depend only on the drone list's content")
+    void testTag() {
+        List<Drone> drones = List.of(
+                new Drone("Drone 1", "1", new DroneCapability(true, false, 4, 2000, 0.01, 4.3, 6.5, null)),
+                new Drone("Drone 2", "2", null));
+        List<Drone> copy = List.of(
+                new Drone("Drone 1", "1", new DroneCapability(true, false, 4, 2000, 0.01, 4.3, 6.5, null)),
+                new Drone("Drone 2", "2", null));
+        List<Drone> changed = List.of(
+                new Drone("Drone 1", "1", new DroneCapability(true, false, 4, 2000, 0.01, 4.3, 6.6, null)),
+                new Drone("Drone 2", "2", null));
+
+        String tag = new DroneIdIndex(drones).tag();
+
+        // Freshly fetched copies, as another replica or a restarted process would see them
+        assertEquals(tag, new DroneIdIndex(copy).tag());
+        assertNotEquals(tag, new DroneIdIndex(changed).tag());
+        assertNotEquals(tag, new DroneIdIndex(drones.subList(0, 1)).tag());
+        assertEquals(32, tag.length());
+    }
+}
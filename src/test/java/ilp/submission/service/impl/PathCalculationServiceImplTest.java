@@ -0,0 +1,82 @@
+package ilp.submission.service.impl;
+
+import ilp.submission.benchmark.FixtureClient;
+import ilp.submission.config.PathPlanningConfig;
+import ilp.submission.model.*;
+import ilp.submission.pathfinding.GridNoFlyZoneIndex;
+import ilp.submission.pathfinding.LegCache;
+import ilp.submission.pathfinding.PlanCache;
+import ilp.submission.service.AsyncIlpRestClient;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("PathCalculationService Tests")
+class PathCalculationServiceImplTest {
+
+    private static final int DRONES = 8;
+
+    private static final RestrictedArea GEORGE_SQUARE = new RestrictedArea("George Square Area", 1, null, List.of(
+            new LngLat(-3.190578818321228, 55.94402412577528),
+            new LngLat(-3.1899887323379517, 55.94284650540911),
+            new LngLat(-3.187097311019897, 55.94328811724263),
+            new LngLat(-3.187682032585144, 55.944477740393744),
+            new LngLat(-3.190578818321228, 55.94402412577528)));
+
+    private static DeliveryPathResult plan(int threads, List<MedDispatchRec> dispatches) {
+        Executor executor = PathPlanningConfig.planningExecutor(threads);
+        try {
+            AsyncIlpRestClient client = new AsyncIlpRestClientImpl(new FixtureClient(DRONES,
+                    i -> new DroneCapability(i % 2 == 0, false, 4 + i % 4, 2000, 0.01, 4.3, 6.5, null),
+                    List.of(GEORGE_SQUARE)), Runnable::run);
+            // Caches disabled, so both runs plan every leg themselves
+            PathCalculationServiceImpl service = new PathCalculationServiceImpl(client,
+                    new DroneAvailabilityServiceImpl(client), new LegCache(0, 0), new PlanCache(0, 0), executor);
+            return service.calculateDeliveryPaths(dispatches);
+        } finally {
+            if (executor instanceof ExecutorService pool) {
+                pool.shutdownNow();
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Planning on a thread pool should give the same result as planning serially")
+    void testParallelMatchesSerial() {
+        GridNoFlyZoneIndex zones = new GridNoFlyZoneIndex(List.of(GEORGE_SQUARE));
+        Random random = new Random(17);
+        List<MedDispatchRec> dispatches = new ArrayList<>();
+        for (int i = 0; i < 24; i++) {
+            int minute = 8 * 60 + i * 7;
+            dispatches.add(new MedDispatchRec(i + 1, "2025-12-22",
+                    String.format("%02d:%02d", minute / 60, minute % 60), "P",
+                    freePoint(random, zones), freePoint(random, zones),
+                    new MedDispatchRec.Requirements(1 + random.nextInt(4), random.nextInt(4) == 0, false, null)));
+        }
+
+        DeliveryPathResult serial = plan(1, dispatches);
+        DeliveryPathResult parallel = plan(4, dispatches);
+
+        assertTrue(serial.getDronePaths().size() > 1, "the fixture should keep several drones busy");
+        assertEquals(serial.getTotalCost(), parallel.getTotalCost());
+        assertEquals(serial.getTotalMoves(), parallel.getTotalMoves());
+        assertEquals(serial, parallel);
+    }
+
+    private static LngLat freePoint(Random random, GridNoFlyZoneIndex zones) {
+        while (true) {
+            double lng = -3.1935 + random.nextDouble() * 0.01;
+            double lat = 55.9415 + random.nextDouble() * 0.006;
+            if (!zones.isInside(lng, lat)) {
+                return new LngLat(lng, lat);
+            }
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package ilp.submission.service.impl;
+
+import ilp.submission.model.Drone;
+import ilp.submission.model.DroneCapability;
+import ilp.submission.model.QueryAttribute;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("QueryPlan Tests")
+class QueryPlanTest {
+
+    private static final String[] ATTRIBUTES = {"id", "Name", "cooling", "HEATING", "capacity", "maxMoves",
+            "costPerMove", "costInitial", "costFinal", "colour", null};
+    private static final String[] OPERATORS = {"=", "!=", "<", ">", "<=", ">=", "~"};
+    private static final String[] VALUES = {"D3", "Drone 4", "true", "false", "TRUE", "4", "4.0", "1000",
+            "0.5", "NaN", "-0.0", "abc", null};
+
+    @Test
+    @DisplayName("Should agree with attribute-by-attribute filtering on random queries")
+    void testMatchesScan() {
+        Random random = new Random(23);
+        List<Drone> drones = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            DroneCapability cap = i % 9 == 0 ? null : new DroneCapability(i % 2 == 0, i % 3 == 0,
+                    i % 7 == 0 ? Double.NaN : i % 8, 1000 + 250 * (i % 3), 0.5 * (i % 4),
+                    i % 5 == 0 ? -0.0 : i % 5, i % 6, null);
+            drones.add(new Drone(i % 10 == 0 ? null : "Drone " + i, i % 11 == 0 ? null : "D" + i, cap));
+        }
+
+        for (int check = 0; check < 3000; check++) {
+            List<QueryAttribute> queries = new ArrayList<>();
+            for (int q = 1 + random.nextInt(3); q > 0; q--) {
+                queries.add(new QueryAttribute(ATTRIBUTES[random.nextInt(ATTRIBUTES.length)],
+                        OPERATORS[random.nextInt(OPERATORS.length)], VALUES[random.nextInt(VALUES.length)]));
+            }
+
+            List<String> expected = new ArrayList<>();
+            for (Drone drone : drones) {
+                if (queries.stream().allMatch(query -> matchesAttribute(drone, query.getAttribute(),
+                        query.getOperator(), query.getValue()))) {
+                    expected.add(drone.getId());
+                }
+            }
+            QueryPlan plan = QueryPlan.compile(queries);
+            List<String> actual = plan.matchesNothing() ? List.of() : plan.select(new DroneColumns(drones));
+            assertEquals(expected, actual, queries.toString());
+        }
+    }
+
+    @Test
+    @DisplayName("Should match nothing when a condition can never hold")
+    void testMatchesNothing() {
+        assertTrue(QueryPlan.compile(List.of(new QueryAttribute("capacity", ">", "4"),
+                new QueryAttribute("colour", "red"))).matchesNothing());
+        assertTrue(QueryPlan.compile(List.of(new QueryAttribute("maxMoves", "2000.5"))).matchesNothing());
+        assertTrue(QueryPlan.compile(List.of(new QueryAttribute("id", null))).matchesNothing());
+        assertFalse(QueryPlan.compile(List.of(new QueryAttribute("capacity", "NaN"))).matchesNothing());
+    }
+
+    @Test
+    @DisplayName("Should treat a missing operator as equals")
+    void testMissingOperator() {
+        List<Drone> drones = List.of(
+                new Drone("Drone 1", "1", new DroneCapability(true, false, 4.0, 1000, 0.5, 1, 1, null)),
+                new Drone("Drone 2", "2", new DroneCapability(false, false, 8.0, 1000, 0.5, 1, 1, null)));
+        QueryPlan plan = QueryPlan.compile(List.of(new QueryAttribute("capacity", null, "4")));
+        assertEquals(List.of("1"), plan.select(new DroneColumns(drones)));
+    }
+
+    /**
+     * The per-drone check the plan replaces, which parses the attribute and value for every drone.
+     */
+    private static boolean matchesAttribute(Drone drone, String attribute, String operator, String value) {
+        if (attribute == null || value == null) {
+            return false;
+        }
+
+        String attrLower = attribute.toLowerCase();
+        DroneCapability cap = drone.getCapability();
+
+        switch (attrLower) {
+            case "id":
+                return compareString(drone.getId(), operator, value);
+            case "name":
+                return compareString(drone.getName(), operator, value);
+            case "cooling":
+                if (cap == null) return false;
+                return compareBoolean(cap.isCooling(), operator, value);
+            case "heating":
+                if (cap == null) return false;
+                return compareBoolean(cap.isHeating(), operator, value);
+            case "capacity":
+                if (cap == null) return false;
+                return compareDouble(cap.getCapacity(), operator, value);
+            case "maxmoves":
+                if (cap == null) return false;
+                return compareInt(cap.getMaxMoves(), operator, value);
+            case "costpermove":
+                if (cap == null) return false;
+                return compareDouble(cap.getCostPerMove(), operator, value);
+            case "costinitial":
+                if (cap == null) return false;
+                return compareDouble(cap.getCostInitial(), operator, value);
+            case "costfinal":
+                if (cap == null) return false;
+                return compareDouble(cap.getCostFinal(), operator, value);
+            default:
+                return false;
+        }
+    }
+
+    private static boolean compareString(String actual, String operator, String expected) {
+        if (actual == null) return false;
+        switch (operator) {
+            case "=":
+                return actual.equals(expected);
+            case "!=":
+                return !actual.equals(expected);
+            default:
+                return actual.equals(expected);
+        }
+    }
+
+    private static boolean compareBoolean(boolean actual, String operator, String expected) {
+        boolean expectedBool = Boolean.parseBoolean(expected);
+        switch (operator) {
+            case "=":
+                return actual == expectedBool;
+            case "!=":
+                return actual != expectedBool;
+            default:
+                return actual == expectedBool;
+        }
+    }
+
+    private static boolean compareDouble(double actual, String operator, String expected) {
+        try {
+            double expectedVal = Double.parseDouble(expected);
+            switch (operator) {
+                case "=":
+                    return Double.compare(actual, expectedVal) == 0;
+                case "!=":
+                    return Double.compare(actual, expectedVal) != 0;
+                case "<":
+                    return actual < expectedVal;
+                case ">":
+                    return actual > expectedVal;
+                case "<=":
+                    return actual <= expectedVal;
+                case ">=":
+                    return actual >= expectedVal;
+                default:
+                    return Double.compare(actual, expectedVal) == 0;
+            }
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    private static boolean compareInt(int actual, String operator, String expected) {
+        try {
+            int expectedVal = Integer.parseInt(expected);
+            switch (operator) {
+                case "=":
+                    return actual == expectedVal;
+                case "!=":
+                    return actual != expectedVal;
+                case "<":
+                    return actual < expectedVal;
+                case ">":
+                    return actual > expectedVal;
+                case "<=":
+                    return actual <= expectedVal;
+                case ">=":
+                    return actual >= expectedVal;
+                default:
+                    return actual == expectedVal;
+            }
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+}